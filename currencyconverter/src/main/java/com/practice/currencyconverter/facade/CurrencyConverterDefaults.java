@@ -0,0 +1,53 @@
+package com.practice.currencyconverter.facade;
+
+import com.practice.currencyconverter.model.CurrencyConverter;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class CurrencyConverterDefaults {
+
+    private CurrencyConverterDefaults() {
+    }
+
+    /**
+     * Default values of countries and currencies, served when the upstream
+     * API is unavailable and no last known good copy was ever saved.
+     *
+     * @return default values of countries and currencies
+     */
+    public static Map<String, String> countriesAndCurrencies() {
+        Map<String, String> defaultValues = new HashMap<>();
+        defaultValues.put("INR", "Indian Rupee");
+        defaultValues.put("HUF", "Hungarian Forint");
+        return defaultValues;
+    }
+
+    /**
+     * Default currency rates, marked stale, served when the upstream API is
+     * unavailable and no last known good copy was ever saved.
+     *
+     * @return default currency rates
+     */
+    public static CurrencyConverter currencyRate() {
+        final Double inr = 0.2357907805;
+        final Double idr = 45.60031709;
+        final Double gbp = 0.0025654372;
+
+        CurrencyConverter converter = new CurrencyConverter();
+        converter.setBase("HUF");
+        converter.setDate(LocalDate.now());
+
+        Map<String, Double> rates = new HashMap<>();
+        rates.put("GBP", gbp);
+        rates.put("IDR", idr);
+        rates.put("INR", inr);
+        rates.put("HUF", 1.0);
+
+        converter.setRates(rates);
+        converter.setStale(true);
+
+        return converter;
+    }
+}
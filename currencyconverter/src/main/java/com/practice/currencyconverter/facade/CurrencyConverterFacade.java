@@ -1,37 +1,34 @@
 package com.practice.currencyconverter.facade;
 
-import com.netflix.hystrix.contrib.javanica.annotation.HystrixCommand;
+import com.practice.currencyconverter.model.Countries;
 import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.RateRanking;
+import com.practice.currencyconverter.model.RateSnapshot;
+import com.practice.currencyconverter.service.CountriesService;
+import com.practice.currencyconverter.service.CrossRateEngine;
+import com.practice.currencyconverter.service.LastKnownGoodStore;
+import com.practice.currencyconverter.service.RateSnapshotStore;
+import com.practice.currencyconverter.service.SingleFlight;
+import com.practice.currencyconverter.service.UpstreamGuard;
 import com.practice.exception.ResourceNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheConfig;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.LocalDate;
-import java.util.Comparator;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 
 @Service
-@CacheConfig(cacheNames = "CurrencyConverterCache")
 public class CurrencyConverterFacade {
     /**
      * Logger Object to log the details.
      */
     private static final Logger LOGGER = LoggerFactory
             .getLogger(CurrencyConverterFacade.class);
-    /**
-     * URL to fetch the countries and their currencies.
-     */
-    @Value("${via.countries.api.url}")
-    private String countriesAndCurrenciesUrl;
     /**
      * URL to fetch the currency rate.
      */
@@ -47,156 +44,224 @@ public class CurrencyConverterFacade {
      * RestTemplate object.
      */
     private RestTemplate restTemplate;
+    /**
+     * RateSnapshotStore object.
+     */
+    private RateSnapshotStore rateSnapshotStore;
+    /**
+     * CrossRateEngine object.
+     */
+    private CrossRateEngine crossRateEngine;
+    /**
+     * UpstreamGuard object.
+     */
+    private UpstreamGuard upstreamGuard;
+    /**
+     * LastKnownGoodStore object.
+     */
+    private LastKnownGoodStore lastKnownGoodStore;
+    /**
+     * CountriesService object.
+     */
+    private CountriesService countriesService;
+    /**
+     * Shares one upstream fetch between concurrent misses on the same URL.
+     */
+    private final SingleFlight<String, CurrencyConverter> fetches =
+            new SingleFlight<>();
 
     /**
-     * Parameterized constructor to bind rest template object.
+     * Parameterized constructor to bind the objects.
      *
-     * @param restTemplate rest template object
+     * @param restTemplate       rest template object
+     * @param rateSnapshotStore  rate snapshot store object
+     * @param crossRateEngine    cross rate engine object
+     * @param upstreamGuard      upstream guard object
+     * @param lastKnownGoodStore last known good store object
+     * @param countriesService   countries service object
      */
-    public CurrencyConverterFacade(final RestTemplate restTemplate) {
+    public CurrencyConverterFacade(final RestTemplate restTemplate,
+                                   final RateSnapshotStore rateSnapshotStore,
+                                   final CrossRateEngine crossRateEngine,
+                                   final UpstreamGuard upstreamGuard,
+                                   final LastKnownGoodStore
+                                           lastKnownGoodStore,
+                                   final CountriesService countriesService) {
         this.restTemplate = restTemplate;
+        this.rateSnapshotStore = rateSnapshotStore;
+        this.crossRateEngine = crossRateEngine;
+        this.upstreamGuard = upstreamGuard;
+        this.lastKnownGoodStore = lastKnownGoodStore;
+        this.countriesService = countriesService;
     }
 
     /**
-     * Get Countries and their currencies from
-     * https://openexchangerates.org/api/currencies.json.
+     * Get Countries and their currencies, cached by the countries service.
+     * Falls back to the last known good copy, or the default values if none
+     * was ever saved, marked stale, if the call fails or is rejected by its
+     * guard. The fallback is applied outside the cache and never cached.
      *
      * @return Countries and their currencies
      */
-    @HystrixCommand(fallbackMethod = "getDefaultCountriesAndCurrencies")
-    @Cacheable(keyGenerator = "customKeyGenerator")
-    public Map<String, String> getCountriesAndCurrencies() {
-        LOGGER.debug("countriesAndCurrenciesUrl: {}",
-                countriesAndCurrenciesUrl);
-        Map<String, String> countries = restTemplate
-                .getForObject(countriesAndCurrenciesUrl, HashMap.class);
-        LOGGER.debug("Countries List: {}", countries);
-        return countries;
+    public Countries getCountriesAndCurrencies() {
+        try {
+            return countriesService.getCountries();
+        } catch (RuntimeException e) {
+            LOGGER.error("Countries fetch failed, serving the last known"
+                    + " good copy", e);
+            return new Countries(lastKnownGoodStore.getCountries().orElseGet(
+                    CurrencyConverterDefaults::countriesAndCurrencies), true);
+        }
     }
 
     /**
-     * Get Currency conversion rate from https://api.exchangeratesapi.io/latest.
+     * Get Currency conversion rate from the local rate snapshot, which is
+     * triangulated from a single pivot table refreshed in background from
+     * https://api.exchangeratesapi.io/latest. A base currency missing in the
+     * pivot table is fetched directly, and kept until the next snapshot
+     * load. Falls back to the last known good
+     * rates, or the default rates derived for the base, marked stale, if
+     * the call fails or is rejected by its guard, except on a bad request.
+     * The failure is rethrown if there are no such rates for the base.
      *
      * @param base base currency
      * @return currency rates for the base currency
      */
-    @HystrixCommand(fallbackMethod = "getDefaultCurrencyRate",
-            ignoreExceptions = HttpClientErrorException.BadRequest.class)
-    @Cacheable(key = "#base")
     public CurrencyConverter getCurrencyRate(final String base) {
-        String url = String.format(
-                currencyRateUrl, base);
-        LOGGER.debug("Currency Converter API URL: {}", url);
-        CurrencyConverter currencyRate = restTemplate
-                .getForObject(url, CurrencyConverter.class);
-        if (currencyRate != null) {
-            currencyRate.getRates().remove(base);
+        try {
+            CurrencyConverter currencyRate = rateSnapshotStore.getRates(base)
+                    .orElseGet(() -> fetchCurrencyRate(base));
+            LOGGER.debug("Currency Rate: {}", currencyRate);
+            return currencyRate;
+        } catch (HttpClientErrorException.BadRequest e) {
+            throw e;
+        } catch (RuntimeException e) {
+            LOGGER.error("Currency rate fetch failed for {}, serving the"
+                    + " last known good rates", base, e);
+            return lastKnownGoodStore.getRatesOrDefaults(base)
+                    .orElseThrow(() -> e);
         }
-        LOGGER.debug("Currency Rate: {}", currencyRate);
-        return currencyRate;
     }
 
     /**
-     * Get Currency conversion rate from https://api.exchangeratesapi.io/latest
-     * for specific targets.
+     * Get Currency conversion rate for specific targets from the local rate
+     * snapshot. Falls back to https://api.exchangeratesapi.io/latest if the
+     * base or any of the targets is missing in the pivot table, and to the
+     * last known good or default rates of the targets, marked stale, if
+     * that call fails or is rejected by its guard, except on a bad request.
+     * The failure is rethrown if there are no such rates for the targets.
      *
      * @param base    base currency code
      * @param targets set of targets
      * @return currency rates for the base currency
      */
-    @Cacheable(keyGenerator = "customKeyGenerator")
     public CurrencyConverter getCurrencyRateWithTarget(
             final String base, final Set<String> targets) {
+        try {
+            return rateSnapshotStore.getRates(base)
+                    .flatMap(rates ->
+                            crossRateEngine.withTargets(rates, targets))
+                    .orElseGet(() ->
+                            fetchCurrencyRateWithTarget(base, targets));
+        } catch (HttpClientErrorException.BadRequest e) {
+            throw e;
+        } catch (RuntimeException e) {
+            LOGGER.error("Currency rate fetch failed for {} to {}, serving"
+                    + " the last known good rates", base, targets, e);
+            return lastKnownGoodStore.getRatesOrDefaults(base)
+                    .flatMap(rates ->
+                            crossRateEngine.withTargets(rates, targets))
+                    .map(rates -> {
+                        rates.setStale(true);
+                        return rates;
+                    })
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private CurrencyConverter fetchCurrencyRate(final String base) {
+        String url = String.format(currencyRateUrl, base);
+        return fetches.execute(url, () -> {
+            CurrencyConverter currencyRate = guardedFetch(url, base);
+            rateSnapshotStore.addRates(currencyRate);
+            return currencyRate;
+        });
+    }
+
+    private CurrencyConverter fetchCurrencyRateWithTarget(
+            final String base, final Set<String> targets) {
         String target = String.join(",", targets);
         String url = String.format(currencyRateWithTargetsUrl, target, base);
-        LOGGER.debug("Currency Converter With Targets API URL: {}", url);
+        CurrencyConverter currencyRate = fetches
+                .execute(url, () -> guardedFetch(url, base));
+        LOGGER.debug("Currency Rate With Targets: {}", currencyRate);
+        return currencyRate;
+    }
+
+    private CurrencyConverter guardedFetch(final String url,
+                                           final String base) {
+        return upstreamGuard.call(UpstreamGuard.CURRENCY_RATE_API,
+                () -> fetch(url, base));
+    }
+
+    private CurrencyConverter fetch(final String url, final String base) {
+        LOGGER.debug("Currency Converter API URL: {}", url);
         CurrencyConverter currencyRate = restTemplate
                 .getForObject(url, CurrencyConverter.class);
-        if (currencyRate != null) {
-            currencyRate.getRates().remove(base);
+        if (currencyRate == null || currencyRate.getRates() == null) {
+            throw new RestClientException("Empty currency rates for " + base);
         }
-        LOGGER.debug("Currency Rate With Targets: {}", currencyRate);
+        currencyRate.setRates(currencyRate.getRates().without(base));
         return currencyRate;
     }
 
     /**
-     * Get Highest and Lowest currency rate countries for the base currency.
+     * Get the current rate snapshot, so that a whole batch of conversions
+     * reads one consistent set of rates.
      *
-     * @param base base currency
-     * @return highest and lowest currency rate countries
+     * @return current rate snapshot
      */
-    public Map<String, Double> getHighestAndLowestCurrencyRate(
-            final String base) {
-        CurrencyConverter currencyRate = getCurrencyRate(base);
-        Map<String, Double> rates = currencyRate.getRates();
-
-        Optional<Map.Entry<String, Double>> max = rates.entrySet().stream()
-                .max(Comparator.comparing(Map.Entry::getValue));
-
-        Optional<Map.Entry<String, Double>> min = rates.entrySet().stream()
-                .min(Comparator.comparing(Map.Entry::getValue));
-
-        Map<String, Double> highAndLowRates = new HashMap<>();
-        max.ifPresent(entry -> highAndLowRates
-                .put(entry.getKey(), entry.getValue()));
-        min.ifPresent(entry -> highAndLowRates
-                .put(entry.getKey(), entry.getValue()));
-
-        return highAndLowRates;
+    public RateSnapshot getRateSnapshot() {
+        return rateSnapshotStore.getSnapshot();
     }
 
     /**
-     * Get Country for Currency code.
+     * Get the highest currency rates for the base currency, from the
+     * ranking computed when the rate snapshot was loaded.
      *
-     * @param code currency
-     * @return country
-     * @throws ResourceNotFoundException currency code not found
+     * @param base base currency
+     * @param top  number of currencies
+     * @return currency rates from the highest
      */
-    public String getCountryForCurrencyCode(final String code)
-            throws ResourceNotFoundException {
-        Map<String, String> countries = getCountriesAndCurrencies();
-        return Optional.ofNullable(countries.get(code)).orElseThrow(() ->
-                new ResourceNotFoundException("Not a Valid currency code"));
+    public Map<String, Double> getTopCurrencyRates(final String base,
+                                                   final int top) {
+        return getCurrencyRateRanking(base).getTop(top);
     }
 
     /**
-     * Hystrix fallback method to getCountriesAndCurrencies.
+     * Get the currency rate ranking for the base currency, with its highest
+     * and lowest currency rate countries, computed when the rate snapshot
+     * was loaded. A base missing in the snapshot is ranked from its
+     * fetched, or fallen back, rates, and the ranking is stale if they are.
      *
-     * @return default values of countries and currencies
-     */
-    @SuppressWarnings("unused")
-    private Map<String, String> getDefaultCountriesAndCurrencies() {
-        Map<String, String> defaultValues = new HashMap<>();
-        defaultValues.put("INR", "Indian Rupee");
-        defaultValues.put("HUF", "Hungarian Forint");
-        return defaultValues;
+     * @param base base currency
+     * @return currency rate ranking
+     */
+    public RateRanking getCurrencyRateRanking(final String base) {
+        return rateSnapshotStore.getRanking(base).orElseGet(() ->
+                RateRanking.of(getCurrencyRate(base)));
     }
 
     /**
-     * Hystrix fallback method to getCurrencyRate.
+     * Get Country for Currency code.
      *
-     * @param base Base country
-     * @return default values of countries and currencies
+     * @param code currency
+     * @return country
+     * @throws ResourceNotFoundException currency code not found
      */
-    @SuppressWarnings("unused")
-    private CurrencyConverter getDefaultCurrencyRate(final String base) {
-        final Double inr = 0.2357907805;
-        final Double idr = 45.60031709;
-        final Double gbp = 0.0025654372;
-
-        CurrencyConverter converter = new CurrencyConverter();
-        converter.setBase("HUF");
-        converter.setDate(LocalDate.now());
-
-        Map<String, Double> rates = new HashMap<>();
-        rates.put("GBP", gbp);
-        rates.put("IDR", idr);
-        rates.put("INR", inr);
-        rates.put("HUF", 1.0);
-
-        converter.setRates(rates);
-
-        return converter;
+    public String getCountryForCurrencyCode(final String code)
+            throws ResourceNotFoundException {
+        return getCountriesAndCurrencies().getCountry(code).orElseThrow(() ->
+                new ResourceNotFoundException("Not a Valid currency code"));
     }
-
 }
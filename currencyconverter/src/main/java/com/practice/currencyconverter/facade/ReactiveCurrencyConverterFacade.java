@@ -0,0 +1,261 @@
+package com.practice.currencyconverter.facade;
+
+import com.practice.currencyconverter.model.Countries;
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.RateRanking;
+import com.practice.currencyconverter.model.RateSnapshot;
+import com.practice.currencyconverter.service.LastKnownGoodStore;
+import com.practice.currencyconverter.service.ReactiveUpstreamGuard;
+import com.practice.currencyconverter.service.RateSnapshotStore;
+import com.practice.currencyconverter.service.UpstreamGuard;
+import com.practice.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+@ConditionalOnProperty(name = "via.api.mode", havingValue = "reactive")
+public class ReactiveCurrencyConverterFacade {
+    /**
+     * Logger Object to log the details.
+     */
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(ReactiveCurrencyConverterFacade.class);
+    /**
+     * Type of the countries and their currencies.
+     */
+    private static final ParameterizedTypeReference<Map<String, String>>
+            COUNTRIES_TYPE = new ParameterizedTypeReference<>() {
+            };
+    /**
+     * URL to fetch the currency rate.
+     */
+    @Value("${via.currencyrate.api.url}")
+    private String currencyRateUrl;
+
+    /**
+     * WebClient object.
+     */
+    private final WebClient webClient;
+    /**
+     * RateSnapshotStore object.
+     */
+    private final RateSnapshotStore rateSnapshotStore;
+    /**
+     * LastKnownGoodStore object.
+     */
+    private final LastKnownGoodStore lastKnownGoodStore;
+    /**
+     * ReactiveUpstreamGuard object.
+     */
+    private final ReactiveUpstreamGuard upstreamGuard;
+    /**
+     * Countries and their currencies, fetched once per refresh TTL of the
+     * CurrencyConverterCache policy and shared by every subscriber.
+     */
+    private final Mono<Countries> countries;
+    /**
+     * Fetches in flight by URL, shared between concurrent misses.
+     */
+    private final ConcurrentMap<String, Mono<CurrencyConverter>> fetches =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Parameterized constructor to bind the objects.
+     *
+     * @param webClient                 web client object
+     * @param rateSnapshotStore         rate snapshot store object
+     * @param lastKnownGoodStore        last known good store object
+     * @param upstreamGuard             reactive upstream guard object
+     * @param countriesAndCurrenciesUrl URL to fetch the countries and their
+     *                                  currencies
+     * @param countriesTtl              time the countries are kept, the
+     *                                  refresh TTL of the
+     *                                  CurrencyConverterCache policy, or
+     *                                  else its TTL
+     */
+    public ReactiveCurrencyConverterFacade(
+            final WebClient webClient,
+            final RateSnapshotStore rateSnapshotStore,
+            final LastKnownGoodStore lastKnownGoodStore,
+            final ReactiveUpstreamGuard upstreamGuard,
+            @Value("${via.countries.api.url}")
+            final String countriesAndCurrenciesUrl,
+            @Value("${via.cache.policies.CurrencyConverterCache"
+                    + ".refresh-after-write:${via.cache.policies"
+                    + ".CurrencyConverterCache.expire-after-write:6h}}")
+            final Duration countriesTtl) {
+        this.webClient = webClient;
+        this.rateSnapshotStore = rateSnapshotStore;
+        this.lastKnownGoodStore = lastKnownGoodStore;
+        this.upstreamGuard = upstreamGuard;
+        this.countries = upstreamGuard.call(UpstreamGuard.COUNTRIES_API,
+                webClient.get().uri(countriesAndCurrenciesUrl)
+                        .retrieve()
+                        .bodyToMono(COUNTRIES_TYPE)
+                        .switchIfEmpty(Mono.error(() ->
+                                new RestClientException(
+                                        "Empty countries list"))))
+                .map(fetched -> {
+                    LOGGER.debug("Countries List: {}", fetched);
+                    save(() -> lastKnownGoodStore.saveCountries(fetched));
+                    return new Countries(fetched, false);
+                })
+                .cache(fetched -> countriesTtl, e -> Duration.ZERO,
+                        () -> Duration.ZERO);
+    }
+
+    /**
+     * Get Countries and their currencies without blocking the caller, the
+     * last known good copy, marked stale, if the upstream API fails or is
+     * rejected by its guard. Only fresh countries are kept for the TTL.
+     *
+     * @return Countries and their currencies
+     */
+    public Mono<Countries> getCountriesAndCurrencies() {
+        return countries.onErrorResume(e -> {
+            LOGGER.error("Countries fetch failed, serving the last known"
+                    + " good copy", e);
+            return Mono.just(new Countries(lastKnownGoodStore.getCountries()
+                    .orElseGet(
+                            CurrencyConverterDefaults::countriesAndCurrencies),
+                    true));
+        });
+    }
+
+    /**
+     * Get Country for Currency code.
+     *
+     * @param code currency
+     * @return country, ResourceNotFoundException if the code is unknown
+     */
+    public Mono<String> getCountryForCurrencyCode(final String code) {
+        return getCountriesAndCurrencies()
+                .flatMap(found -> Mono.justOrEmpty(found.getCountry(code)))
+                .switchIfEmpty(Mono.error(() ->
+                        new ResourceNotFoundException(
+                                "Not a Valid currency code")));
+    }
+
+    /**
+     * Get Currency conversion rate from the local rate snapshot, or from
+     * the upstream API if the base is not in the snapshot, keeping the
+     * fetched rates until the next snapshot load. Falls back to
+     * the last known good rates, or the default rates derived for the base,
+     * marked stale, if the upstream API fails or is rejected by its guard,
+     * except on a bad request. The failure is signalled if there are no
+     * such rates for the base.
+     *
+     * @param base base currency
+     * @return currency rates for the base currency
+     */
+    public Mono<CurrencyConverter> getCurrencyRate(final String base) {
+        return Mono.justOrEmpty(rateSnapshotStore.getRates(base))
+                .switchIfEmpty(Mono.defer(() -> fetchCurrencyRate(base)))
+                .onErrorResume(e -> !(e instanceof HttpClientErrorException),
+                        e -> {
+                            LOGGER.error("Currency rate fetch failed for {},"
+                                    + " serving the last known good rates",
+                                    base, e);
+                            return Mono.justOrEmpty(lastKnownGoodStore
+                                    .getRatesOrDefaults(base))
+                                    .switchIfEmpty(Mono.error(e));
+                        });
+    }
+
+    /**
+     * Get the highest currency rates for the base currency.
+     *
+     * @param base base currency
+     * @param top  number of currencies
+     * @return currency rates from the highest
+     */
+    public Mono<Map<String, Double>> getTopCurrencyRates(final String base,
+                                                         final int top) {
+        return getCurrencyRateRanking(base)
+                .map(ranking -> ranking.getTop(top));
+    }
+
+    /**
+     * Get the currency rate ranking for the base currency, with its highest
+     * and lowest currency rate countries, from the rate snapshot or else
+     * ranked from the fetched, or fallen back, rates of the base. The
+     * ranking is stale if the rates are.
+     *
+     * @param base base currency
+     * @return currency rate ranking
+     */
+    public Mono<RateRanking> getCurrencyRateRanking(final String base) {
+        return snapshot()
+                .flatMap(current -> Mono.justOrEmpty(current.getRanking(base)))
+                .switchIfEmpty(Mono.defer(() -> getCurrencyRate(base)
+                        .map(RateRanking::of)));
+    }
+
+    private Mono<RateSnapshot> snapshot() {
+        RateSnapshot current = rateSnapshotStore.getSnapshot();
+        return current.isEmpty() ? Mono.empty() : Mono.just(current);
+    }
+
+    private Mono<CurrencyConverter> fetchCurrencyRate(final String base) {
+        String url = String.format(currencyRateUrl, base);
+        return fetches.computeIfAbsent(url, key -> share(key,
+                fetch(key, base)));
+    }
+
+    private Mono<CurrencyConverter> share(final String url,
+                                          final Mono<CurrencyConverter>
+                                                  fetch) {
+        AtomicReference<Mono<CurrencyConverter>> shared =
+                new AtomicReference<>();
+        shared.set(fetch
+                .doFinally(signal -> fetches.remove(url, shared.get()))
+                .cache());
+        return shared.get();
+    }
+
+    private Mono<CurrencyConverter> fetch(final String url,
+                                          final String base) {
+        LOGGER.debug("Currency Converter API URL: {}", url);
+        return upstreamGuard.call(UpstreamGuard.CURRENCY_RATE_API,
+                webClient.get().uri(url)
+                        .retrieve()
+                        .bodyToMono(CurrencyConverter.class)
+                        .filter(currencyRate ->
+                                currencyRate.getRates() != null)
+                        .switchIfEmpty(Mono.error(() ->
+                                new RestClientException(
+                                        "Empty currency rates for "
+                                                + base))))
+                .map(currencyRate -> {
+                    currencyRate.setRates(
+                            currencyRate.getRates().without(base));
+                    rateSnapshotStore.addRates(currencyRate);
+                    return currencyRate;
+                })
+                .onErrorMap(WebClientResponseException.BadRequest.class,
+                        e -> HttpClientErrorException.create(
+                                e.getStatusCode(), e.getStatusText(),
+                                e.getHeaders(), e.getResponseBodyAsByteArray(),
+                                null));
+    }
+
+    private static void save(final Runnable save) {
+        Schedulers.boundedElastic().schedule(save);
+    }
+}
@@ -0,0 +1,94 @@
+package com.practice.currencyconverter.model;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+public class Countries {
+    /**
+     * Country names by currency code.
+     */
+    private final Map<String, String> countries;
+    /**
+     * Whether the countries are the last known good copy or the default
+     * values, served while the upstream API fails.
+     */
+    private final boolean stale;
+    /**
+     * Digest of the countries, computed once when they are loaded.
+     */
+    private final String digest;
+
+    /**
+     * Parameterized constructor, computing the digest of the countries.
+     *
+     * @param countries country names by currency code
+     * @param stale     whether the countries are not fresh from the upstream
+     *                  API
+     */
+    public Countries(final Map<String, String> countries,
+                     final boolean stale) {
+        this.countries = Collections.unmodifiableMap(
+                new HashMap<>(countries));
+        this.stale = stale;
+        this.digest = DigestUtils.md5DigestAsHex(new TreeMap<>(countries)
+                .toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Get the country names by currency code.
+     *
+     * @return country names by currency code
+     */
+    public Map<String, String> getCountries() {
+        return countries;
+    }
+
+    /**
+     * Get the country name of the currency code.
+     *
+     * @param code currency code
+     * @return country name, empty if the code is unknown
+     */
+    public Optional<String> getCountry(final String code) {
+        return Optional.ofNullable(countries.get(code));
+    }
+
+    /**
+     * Digest of the countries, the same for the same countries on every
+     * instance and across restarts.
+     *
+     * @return hex MD5 digest of the countries
+     */
+    public String getDigest() {
+        return digest;
+    }
+
+    /**
+     * Whether the countries are the last known good copy or the default
+     * values, served while the upstream API fails.
+     *
+     * @return true if the countries are stale
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Overridden toString method.
+     *
+     * @return String
+     */
+    @Override
+    public String toString() {
+        return "Countries{"
+                + "countries=" + countries
+                + ", stale=" + stale
+                + '}';
+    }
+}
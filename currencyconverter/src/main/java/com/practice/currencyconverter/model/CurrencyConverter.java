@@ -1,5 +1,8 @@
 package com.practice.currencyconverter.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
 import java.time.LocalDate;
 import java.util.Map;
 
@@ -8,7 +11,7 @@ public class CurrencyConverter {
     /**
      * to-do id.
      */
-    private Map<String, Double> rates;
+    private RateTable rates;
     /**
      * to-do title.
      */
@@ -17,23 +20,31 @@ public class CurrencyConverter {
      * to-do Status.
      */
     private LocalDate date;
+    /**
+     * Whether the rates are the last known good copy, served while the
+     * upstream API fails. Only written when set, fresh rates keep their
+     * format.
+     */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean stale;
 
     /**
      * Getter for rates.
      *
      * @return rates
      */
-    public Map<String, Double> getRates() {
+    public RateTable getRates() {
         return rates;
     }
 
     /**
-     * Setter for rates.
+     * Setter for rates, kept in a {@link RateTable}.
      *
      * @param rates rates
      */
+    @JsonDeserialize(as = RateTable.class)
     public void setRates(final Map<String, Double> rates) {
-        this.rates = rates;
+        this.rates = rates == null ? null : RateTable.of(rates);
     }
 
     /**
@@ -72,6 +83,38 @@ public class CurrencyConverter {
         this.date = date;
     }
 
+    /**
+     * Getter for the staleness marker.
+     *
+     * @return true if the rates are the last known good copy
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Setter for the staleness marker.
+     *
+     * @param stale true if the rates are the last known good copy
+     */
+    public void setStale(final boolean stale) {
+        this.stale = stale;
+    }
+
+    /**
+     * Copy of these currency rates. The rate table is immutable and shared.
+     *
+     * @return copy
+     */
+    public CurrencyConverter copy() {
+        CurrencyConverter copy = new CurrencyConverter();
+        copy.rates = rates;
+        copy.base = base;
+        copy.date = date;
+        copy.stale = stale;
+        return copy;
+    }
+
     /**
      * Overridden toString method.
      *
@@ -83,6 +126,7 @@ public class CurrencyConverter {
                 + "rates=" + rates
                 + ", base='" + base + '\''
                 + ", date='" + date + '\''
+                + ", stale=" + stale
                 + '}';
     }
 }
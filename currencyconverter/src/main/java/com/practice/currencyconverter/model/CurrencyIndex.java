@@ -0,0 +1,171 @@
+package com.practice.currencyconverter.model;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public final class CurrencyIndex {
+    /**
+     * Length of a currency code.
+     */
+    private static final int CODE_LENGTH = 3;
+    /**
+     * Number of letters a currency code is built from.
+     */
+    private static final int LETTERS = 26;
+    /**
+     * Number of possible three letter currency codes.
+     */
+    private static final int CODE_SPACE = LETTERS * LETTERS * LETTERS;
+    /**
+     * ISO 4217 currency codes, interned first so that they get the same
+     * index on every run.
+     */
+    private static final String[] ISO_4217 = {
+            "AED", "AFN", "ALL", "AMD", "ANG", "AOA", "ARS", "AUD", "AWG",
+            "AZN", "BAM", "BBD", "BDT", "BGN", "BHD", "BIF", "BMD", "BND",
+            "BOB", "BRL", "BSD", "BTN", "BWP", "BYN", "BZD", "CAD", "CDF",
+            "CHF", "CLP", "CNY", "COP", "CRC", "CUC", "CUP", "CVE", "CZK",
+            "DJF", "DKK", "DOP", "DZD", "EGP", "ERN", "ETB", "EUR", "FJD",
+            "FKP", "GBP", "GEL", "GHS", "GIP", "GMD", "GNF", "GTQ", "GYD",
+            "HKD", "HNL", "HRK", "HTG", "HUF", "IDR", "ILS", "INR", "IQD",
+            "IRR", "ISK", "JMD", "JOD", "JPY", "KES", "KGS", "KHR", "KMF",
+            "KPW", "KRW", "KWD", "KYD", "KZT", "LAK", "LBP", "LKR", "LRD",
+            "LSL", "LYD", "MAD", "MDL", "MGA", "MKD", "MMK", "MNT", "MOP",
+            "MRU", "MUR", "MVR", "MWK", "MXN", "MYR", "MZN", "NAD", "NGN",
+            "NIO", "NOK", "NPR", "NZD", "OMR", "PAB", "PEN", "PGK", "PHP",
+            "PKR", "PLN", "PYG", "QAR", "RON", "RSD", "RUB", "RWF", "SAR",
+            "SBD", "SCR", "SDG", "SEK", "SGD", "SHP", "SLL", "SOS", "SRD",
+            "SSP", "STN", "SVC", "SYP", "SZL", "THB", "TJS", "TMT", "TND",
+            "TOP", "TRY", "TTD", "TWD", "TZS", "UAH", "UGX", "USD", "UYU",
+            "UZS", "VES", "VND", "VUV", "WST", "XAF", "XCD", "XOF", "XPF",
+            "YER", "ZAR", "ZMW", "ZWL"
+    };
+    /**
+     * Index + 1 of every three letter code, 0 if the code is not interned.
+     */
+    private static final AtomicIntegerArray SLOTS =
+            new AtomicIntegerArray(CODE_SPACE);
+    /**
+     * Currency codes by index, replaced when a new code is interned.
+     */
+    private static volatile String[] codes = new String[0];
+
+    static {
+        for (String code : ISO_4217) {
+            intern(code);
+        }
+    }
+
+    /**
+     * Private constructor for utility class.
+     */
+    private CurrencyIndex() {
+    }
+
+    /**
+     * Get the index of a currency code.
+     *
+     * @param code currency code
+     * @return index, -1 if the code is not interned or not a valid code
+     */
+    public static int indexOf(final String code) {
+        int slot = slot(code);
+        return slot < 0 ? -1 : SLOTS.get(slot) - 1;
+    }
+
+    /**
+     * Get the index of a currency code, interning it if it is not known yet.
+     *
+     * @param code currency code
+     * @return index
+     * @throws IllegalArgumentException code is not three upper case letters
+     */
+    public static int intern(final String code) {
+        int slot = slot(code);
+        if (slot < 0) {
+            throw new IllegalArgumentException("Not a currency code: " + code);
+        }
+        int index = SLOTS.get(slot) - 1;
+        return index >= 0 ? index : register(slot, code);
+    }
+
+    /**
+     * Get the slot of a currency code, its letters read in base 26. Unlike
+     * the index, the slot is the same in every run, so it can be persisted.
+     *
+     * @param code currency code
+     * @return slot, -1 if the code is not a valid code
+     */
+    public static int slotOf(final String code) {
+        return slot(code);
+    }
+
+    /**
+     * Get the index of the currency code of a slot, interning it if it is not
+     * known yet.
+     *
+     * @param slot slot returned by {@link #slotOf(String)}
+     * @return index
+     */
+    public static int internSlot(final int slot) {
+        int index = SLOTS.get(slot) - 1;
+        if (index >= 0) {
+            return index;
+        }
+        char[] code = new char[CODE_LENGTH];
+        int letters = slot;
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            code[i] = (char) ('A' + letters % LETTERS);
+            letters /= LETTERS;
+        }
+        return register(slot, new String(code));
+    }
+
+    /**
+     * Get the currency code at an index.
+     *
+     * @param index index
+     * @return currency code
+     */
+    public static String codeOf(final int index) {
+        return codes[index];
+    }
+
+    /**
+     * Number of interned currency codes.
+     *
+     * @return number of interned currency codes
+     */
+    public static int size() {
+        return codes.length;
+    }
+
+    private static synchronized int register(final int slot,
+                                             final String code) {
+        int index = SLOTS.get(slot) - 1;
+        if (index < 0) {
+            String[] current = codes;
+            String[] next = Arrays.copyOf(current, current.length + 1);
+            index = current.length;
+            next[index] = code;
+            codes = next;
+            SLOTS.set(slot, index + 1);
+        }
+        return index;
+    }
+
+    private static int slot(final String code) {
+        if (code == null || code.length() != CODE_LENGTH) {
+            return -1;
+        }
+        int slot = 0;
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            int letter = code.charAt(i) - 'A';
+            if (letter < 0 || letter >= LETTERS) {
+                return -1;
+            }
+            slot = slot * LETTERS + letter;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,97 @@
+package com.practice.currencyconverter.model;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+public class LastKnownGood {
+    /**
+     * Countries and their currencies of the last successful fetch.
+     */
+    private Map<String, String> countries;
+    /**
+     * Pivot table of the last successful snapshot load.
+     */
+    private CurrencyConverter pivot;
+    /**
+     * Currency rates of the last successful direct fetch, by base currency
+     * code.
+     */
+    private Map<String, CurrencyConverter> rates = new HashMap<>();
+    /**
+     * Time of the last save.
+     */
+    private Instant savedAt;
+
+    /**
+     * Getter for countries.
+     *
+     * @return countries and their currencies
+     */
+    public Map<String, String> getCountries() {
+        return countries;
+    }
+
+    /**
+     * Setter for countries.
+     *
+     * @param countries countries and their currencies
+     */
+    public void setCountries(final Map<String, String> countries) {
+        this.countries = countries;
+    }
+
+    /**
+     * Getter for the pivot table.
+     *
+     * @return pivot table
+     */
+    public CurrencyConverter getPivot() {
+        return pivot;
+    }
+
+    /**
+     * Setter for the pivot table.
+     *
+     * @param pivot pivot table
+     */
+    public void setPivot(final CurrencyConverter pivot) {
+        this.pivot = pivot;
+    }
+
+    /**
+     * Getter for rates.
+     *
+     * @return currency rates by base currency code
+     */
+    public Map<String, CurrencyConverter> getRates() {
+        return rates;
+    }
+
+    /**
+     * Setter for rates.
+     *
+     * @param rates currency rates by base currency code
+     */
+    public void setRates(final Map<String, CurrencyConverter> rates) {
+        this.rates = rates;
+    }
+
+    /**
+     * Getter for savedAt.
+     *
+     * @return time of the last save
+     */
+    public Instant getSavedAt() {
+        return savedAt;
+    }
+
+    /**
+     * Setter for savedAt.
+     *
+     * @param savedAt time of the last save
+     */
+    public void setSavedAt(final Instant savedAt) {
+        this.savedAt = savedAt;
+    }
+}
@@ -0,0 +1,120 @@
+package com.practice.currencyconverter.model;
+
+public class RateAggregate {
+    /**
+     * Base currency code.
+     */
+    private final String base;
+    /**
+     * Target currency code.
+     */
+    private final String target;
+    /**
+     * Number of days with a rate in the window.
+     */
+    private final int days;
+    /**
+     * Lowest rate in the window.
+     */
+    private final double min;
+    /**
+     * Highest rate in the window.
+     */
+    private final double max;
+    /**
+     * Average rate over the days in the window.
+     */
+    private final double average;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param base    base currency code
+     * @param target  target currency code
+     * @param days    number of days with a rate in the window
+     * @param min     lowest rate
+     * @param max     highest rate
+     * @param average average rate
+     */
+    public RateAggregate(final String base, final String target,
+                         final int days, final double min, final double max,
+                         final double average) {
+        this.base = base;
+        this.target = target;
+        this.days = days;
+        this.min = min;
+        this.max = max;
+        this.average = average;
+    }
+
+    /**
+     * Getter for base currency code.
+     *
+     * @return base currency code
+     */
+    public String getBase() {
+        return base;
+    }
+
+    /**
+     * Getter for target currency code.
+     *
+     * @return target currency code
+     */
+    public String getTarget() {
+        return target;
+    }
+
+    /**
+     * Getter for number of days with a rate in the window.
+     *
+     * @return number of days
+     */
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Getter for lowest rate.
+     *
+     * @return lowest rate
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Getter for highest rate.
+     *
+     * @return highest rate
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Getter for average rate.
+     *
+     * @return average rate
+     */
+    public double getAverage() {
+        return average;
+    }
+
+    /**
+     * Overridden toString method.
+     *
+     * @return String
+     */
+    @Override
+    public String toString() {
+        return "RateAggregate{"
+                + "base='" + base + '\''
+                + ", target='" + target + '\''
+                + ", days=" + days
+                + ", min=" + min
+                + ", max=" + max
+                + ", average=" + average
+                + '}';
+    }
+}
@@ -0,0 +1,169 @@
+package com.practice.currencyconverter.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+@Entity
+@Table(indexes = {@Index(name = "rate_history_base_date",
+        columnList = "base, rate_date", unique = true)})
+public class RateHistory {
+    /**
+     * Currency code length.
+     */
+    private static final int CODE_LENGTH = 3;
+    /**
+     * Packed size of one rate: its currency code followed by the rate.
+     */
+    private static final int ENTRY_SIZE = CODE_LENGTH + Double.BYTES;
+    /**
+     * Maximum packed size, room for several hundred currencies.
+     */
+    private static final int MAX_PACKED_SIZE = 4096;
+    /**
+     * History id.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long historyId;
+    /**
+     * Date of the rates.
+     */
+    @Column(name = "rate_date", nullable = false)
+    private LocalDate rateDate;
+    /**
+     * Base currency code.
+     */
+    @Column(nullable = false, length = CODE_LENGTH)
+    private String base;
+    /**
+     * Rates packed as currency code and rate pairs, in currency index order.
+     */
+    @Column(nullable = false, length = MAX_PACKED_SIZE)
+    private byte[] rates;
+
+    /**
+     * Default constructor.
+     */
+    public RateHistory() {
+    }
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param base     base currency code
+     * @param rateDate date of the rates
+     */
+    public RateHistory(final String base, final LocalDate rateDate) {
+        this.base = base;
+        this.rateDate = rateDate;
+    }
+
+    /**
+     * Getter for date of the rates.
+     *
+     * @return date of the rates
+     */
+    public LocalDate getRateDate() {
+        return rateDate;
+    }
+
+    /**
+     * Getter for base currency code.
+     *
+     * @return base currency code
+     */
+    public String getBase() {
+        return base;
+    }
+
+    /**
+     * Getter for the packed rates.
+     *
+     * @return packed rates
+     */
+    public byte[] getRates() {
+        return rates;
+    }
+
+    /**
+     * Setter for the packed rates.
+     *
+     * @param rates packed rates
+     */
+    public void setRates(final byte[] rates) {
+        this.rates = rates;
+    }
+
+    /**
+     * Pack the rates as 3 ASCII bytes of currency code followed by the
+     * 8 bytes of the rate, per currency.
+     *
+     * @param rateTable rates
+     * @return packed rates
+     */
+    public static byte[] pack(final RateTable rateTable) {
+        ByteBuffer packed = ByteBuffer
+                .allocate(rateTable.size() * ENTRY_SIZE);
+        for (int i = rateTable.nextIndex(0); i >= 0;
+             i = rateTable.nextIndex(i + 1)) {
+            packed.put(CurrencyIndex.codeOf(i)
+                    .getBytes(StandardCharsets.US_ASCII));
+            packed.putDouble(rateTable.rate(i));
+        }
+        return packed.array();
+    }
+
+    /**
+     * Unpack rates packed by {@link #pack(RateTable)}.
+     *
+     * @param packed packed rates
+     * @return rates
+     */
+    public static RateTable unpack(final byte[] packed) {
+        ByteBuffer buffer = ByteBuffer.wrap(packed);
+        byte[] code = new byte[CODE_LENGTH];
+        RateTable.Builder rateTable = new RateTable.Builder();
+        while (buffer.remaining() >= ENTRY_SIZE) {
+            buffer.get(code);
+            rateTable.put(new String(code, StandardCharsets.US_ASCII),
+                    buffer.getDouble());
+        }
+        return rateTable.build();
+    }
+
+    /**
+     * Get the currency rates of this history entry.
+     *
+     * @return currency rates
+     */
+    public CurrencyConverter toCurrencyConverter() {
+        CurrencyConverter currencyRate = new CurrencyConverter();
+        currencyRate.setBase(base);
+        currencyRate.setDate(rateDate);
+        currencyRate.setRates(unpack(rates));
+        return currencyRate;
+    }
+
+    /**
+     * Overridden toString method.
+     *
+     * @return String
+     */
+    @Override
+    public String toString() {
+        return "RateHistory{"
+                + "historyId=" + historyId
+                + ", rateDate=" + rateDate
+                + ", base='" + base + '\''
+                + ", rates=" + rates.length + " bytes"
+                + '}';
+    }
+}
@@ -0,0 +1,138 @@
+package com.practice.currencyconverter.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class RateRanking {
+    /**
+     * Ranked currency rates.
+     */
+    private final RateTable rates;
+    /**
+     * Currency indexes ordered from the highest to the lowest rate.
+     */
+    private final int[] ranking;
+    /**
+     * Highest and lowest currency rates, built once.
+     */
+    private final Map<String, Double> highestAndLowest;
+    /**
+     * Whether the ranked rates are stale.
+     */
+    private final boolean stale;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param rates   ranked currency rates
+     * @param ranking currency indexes from the highest to the lowest rate
+     * @param stale   whether the ranked rates are stale
+     */
+    private RateRanking(final RateTable rates, final int[] ranking,
+                        final boolean stale) {
+        this.rates = rates;
+        this.ranking = ranking;
+        this.stale = stale;
+        Map<String, Double> highAndLowRates = new HashMap<>();
+        if (ranking.length > 0) {
+            put(highAndLowRates, ranking[0]);
+            put(highAndLowRates, ranking[ranking.length - 1]);
+        }
+        this.highestAndLowest = Collections.unmodifiableMap(highAndLowRates);
+    }
+
+    /**
+     * Rank the currency rates from the highest to the lowest.
+     *
+     * @param rates currency rates
+     * @return ranking
+     */
+    public static RateRanking of(final RateTable rates) {
+        return of(rates, false);
+    }
+
+    /**
+     * Rank the currency rates of a base currency from the highest to the
+     * lowest, keeping whether they are stale.
+     *
+     * @param currencyRate currency rates for the base currency
+     * @return ranking
+     */
+    public static RateRanking of(final CurrencyConverter currencyRate) {
+        return of(currencyRate.getRates(), currencyRate.isStale());
+    }
+
+    private static RateRanking of(final RateTable rates,
+                                  final boolean stale) {
+        int[] ranking = new int[rates.size()];
+        int ranked = 0;
+        for (int i = rates.nextIndex(0); i >= 0; i = rates.nextIndex(i + 1)) {
+            int position = ranked++;
+            while (position > 0
+                    && rates.rate(ranking[position - 1]) < rates.rate(i)) {
+                ranking[position] = ranking[position - 1];
+                position--;
+            }
+            ranking[position] = i;
+        }
+        return new RateRanking(rates, ranking, stale);
+    }
+
+    /**
+     * Highest and lowest currency rates.
+     *
+     * @return highest and lowest currency rates
+     */
+    public Map<String, Double> getHighestAndLowest() {
+        return highestAndLowest;
+    }
+
+    /**
+     * Highest currency rates, from the highest.
+     *
+     * @param top number of currencies
+     * @return currency rates in ranking order
+     */
+    public Map<String, Double> getTop(final int top) {
+        int limit = Math.min(Math.max(top, 0), ranking.length);
+        Map<String, Double> topRates = new LinkedHashMap<>();
+        for (int i = 0; i < limit; i++) {
+            put(topRates, ranking[i]);
+        }
+        return topRates;
+    }
+
+    /**
+     * Digest of the ranked rates.
+     *
+     * @return digest of the ranked rates
+     */
+    public String getDigest() {
+        return rates.getDigest();
+    }
+
+    /**
+     * Whether the ranked rates are stale, served from the last known good
+     * copy while the upstream API fails.
+     *
+     * @return true if the ranked rates are stale
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Number of ranked currencies.
+     *
+     * @return number of ranked currencies
+     */
+    public int size() {
+        return ranking.length;
+    }
+
+    private void put(final Map<String, Double> target, final int index) {
+        target.put(CurrencyIndex.codeOf(index), rates.rate(index));
+    }
+}
@@ -0,0 +1,193 @@
+package com.practice.currencyconverter.model;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public final class RateSnapshot {
+    /**
+     * Empty snapshot used before the first load.
+     */
+    private static final RateSnapshot EMPTY =
+            new RateSnapshot(Collections.emptyMap(), Collections.emptyMap(),
+                    new RateTable.Builder().build(), 0L, Instant.EPOCH,
+                    false);
+    /**
+     * Currency rates by base currency code.
+     */
+    private final Map<String, CurrencyConverter> ratesByBase;
+    /**
+     * Currency rate rankings by base currency code.
+     */
+    private final Map<String, RateRanking> rankingsByBase;
+    /**
+     * Rates of every currency for one unit of a reference currency, the
+     * reference itself at rate 1, from which any cross rate is derived.
+     */
+    private final RateTable unitRates;
+    /**
+     * Snapshot version, incremented on every swap.
+     */
+    private final long version;
+    /**
+     * Time at which the snapshot was built.
+     */
+    private final Instant loadedAt;
+    /**
+     * Whether the rates are the last known good copy, not a fresh load.
+     */
+    private final boolean stale;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param ratesByBase    currency rates by base currency code
+     * @param rankingsByBase currency rate rankings by base currency code
+     * @param unitRates      rates for one unit of a reference currency
+     * @param version        snapshot version
+     * @param loadedAt       time at which the snapshot was built
+     * @param stale          whether the rates are the last known good copy
+     */
+    private RateSnapshot(final Map<String, CurrencyConverter> ratesByBase,
+                         final Map<String, RateRanking> rankingsByBase,
+                         final RateTable unitRates,
+                         final long version, final Instant loadedAt,
+                         final boolean stale) {
+        this.ratesByBase = ratesByBase;
+        this.rankingsByBase = rankingsByBase;
+        this.unitRates = unitRates;
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.stale = stale;
+    }
+
+    /**
+     * Empty snapshot.
+     *
+     * @return snapshot without any rates
+     */
+    public static RateSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Get the currency rates for the base currency.
+     *
+     * @param base base currency code
+     * @return copy of the currency rates, empty if the base is not loaded
+     */
+    public Optional<CurrencyConverter> getRates(final String base) {
+        return Optional.ofNullable(ratesByBase.get(base))
+                .map(CurrencyConverter::copy);
+    }
+
+    /**
+     * Get the currency rate ranking for the base currency.
+     *
+     * @param base base currency code
+     * @return currency rate ranking, empty if the base is not loaded
+     */
+    public Optional<RateRanking> getRanking(final String base) {
+        return Optional.ofNullable(rankingsByBase.get(base));
+    }
+
+    /**
+     * Get the rate converting one unit of a currency into another, by
+     * currency index, with two array reads and no map lookup.
+     *
+     * @param fromIndex currency index to convert from
+     * @param toIndex   currency index to convert to
+     * @return rate, NaN if either currency is not in the snapshot
+     */
+    public double crossRate(final int fromIndex, final int toIndex) {
+        return unitRates.rate(toIndex) / unitRates.rate(fromIndex);
+    }
+
+    /**
+     * Base currency codes available in the snapshot.
+     *
+     * @return base currency codes
+     */
+    public Set<String> getBases() {
+        return ratesByBase.keySet();
+    }
+
+    /**
+     * Getter for version.
+     *
+     * @return version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Getter for loaded time.
+     *
+     * @return loaded time
+     */
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Whether the snapshot was never loaded.
+     *
+     * @return true if no rates are available
+     */
+    public boolean isEmpty() {
+        return ratesByBase.isEmpty();
+    }
+
+    /**
+     * Whether the rates are the last known good copy, served until the
+     * first successful load.
+     *
+     * @return true if any base has stale rates
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Next version of this snapshot, replacing all the rates. The rate
+     * ranking and the rate digest of every base are computed here, once
+     * per load, and the digest is shared by every copy of the rates.
+     *
+     * @param rates currency rates by base currency code
+     * @return new snapshot
+     */
+    public RateSnapshot next(final Map<String, CurrencyConverter> rates) {
+        Map<String, RateRanking> rankings = new HashMap<>();
+        rates.forEach((base, currencyRate) -> {
+            currencyRate.getRates().getDigest();
+            rankings.put(base, RateRanking.of(currencyRate));
+        });
+        RateTable.Builder unit = new RateTable.Builder();
+        rates.values().stream().findFirst().ifPresent(reference -> unit
+                .put(reference.getBase(), 1.0)
+                .putAll(reference.getRates()));
+        return new RateSnapshot(Collections.unmodifiableMap(
+                new HashMap<>(rates)), Collections.unmodifiableMap(rankings),
+                unit.build(), version + 1, Instant.now(),
+                rates.values().stream().anyMatch(CurrencyConverter::isStale));
+    }
+
+    /**
+     * Overridden toString method.
+     *
+     * @return String
+     */
+    @Override
+    public String toString() {
+        return "RateSnapshot{"
+                + "bases=" + ratesByBase.keySet()
+                + ", version=" + version
+                + ", loadedAt=" + loadedAt
+                + ", stale=" + stale
+                + '}';
+    }
+}
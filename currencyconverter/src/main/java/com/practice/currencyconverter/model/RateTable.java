@@ -0,0 +1,310 @@
+package com.practice.currencyconverter.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+@JsonSerialize(using = RateTableSerializer.class)
+@JsonDeserialize(using = RateTableDeserializer.class)
+public final class RateTable extends AbstractMap<String, Double> {
+    /**
+     * Rates by currency index, NaN where the currency is absent.
+     */
+    private final double[] rates;
+    /**
+     * Number of currencies present in the table.
+     */
+    private final int size;
+    /**
+     * Digest of the rates, computed once on first use.
+     */
+    private volatile String digest;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param rates rates by currency index
+     * @param size  number of currencies present
+     */
+    private RateTable(final double[] rates, final int size) {
+        this.rates = rates;
+        this.size = size;
+    }
+
+    /**
+     * Rate table holding the same rates as the map.
+     *
+     * @param rates rates by currency code
+     * @return rate table
+     */
+    public static RateTable of(final Map<String, Double> rates) {
+        if (rates instanceof RateTable) {
+            return (RateTable) rates;
+        }
+        Builder builder = new Builder();
+        rates.forEach((code, rate) -> builder.put(code, rate));
+        return builder.build();
+    }
+
+    /**
+     * Get the rate at a currency index.
+     *
+     * @param index currency index
+     * @return rate, NaN if the currency is absent
+     */
+    public double rate(final int index) {
+        return index >= 0 && index < rates.length ? rates[index] : Double.NaN;
+    }
+
+    /**
+     * Get the rate of a currency code.
+     *
+     * @param code currency code
+     * @return rate, NaN if the currency is absent
+     */
+    public double rate(final String code) {
+        return rate(CurrencyIndex.indexOf(code));
+    }
+
+    /**
+     * Whether the currency at an index is present.
+     *
+     * @param index currency index
+     * @return true if present
+     */
+    public boolean contains(final int index) {
+        return !Double.isNaN(rate(index));
+    }
+
+    /**
+     * First present currency index at or after an index, used to walk the
+     * table without boxing:
+     * {@code for (int i = t.nextIndex(0); i >= 0; i = t.nextIndex(i + 1))}.
+     *
+     * @param from index to start from
+     * @return currency index, -1 if there is none
+     */
+    public int nextIndex(final int from) {
+        for (int i = Math.max(from, 0); i < rates.length; i++) {
+            if (!Double.isNaN(rates[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copy of this table without a currency.
+     *
+     * @param code currency code
+     * @return rate table without the currency
+     */
+    public RateTable without(final String code) {
+        int index = CurrencyIndex.indexOf(code);
+        if (!contains(index)) {
+            return this;
+        }
+        double[] copy = rates.clone();
+        copy[index] = Double.NaN;
+        return new RateTable(copy, size - 1);
+    }
+
+    /**
+     * Digest of the rates by currency code, independent of the currency
+     * indexes, so the same rates have the same digest on every instance and
+     * across restarts. It is computed once per table, and the tables are
+     * built when the rates are loaded.
+     *
+     * @return hex MD5 digest of the rates
+     */
+    public String getDigest() {
+        String computed = digest;
+        if (computed == null) {
+            String[] codes = new String[size];
+            int present = 0;
+            for (int i = nextIndex(0); i >= 0; i = nextIndex(i + 1)) {
+                codes[present++] = CurrencyIndex.codeOf(i);
+            }
+            Arrays.sort(codes);
+            StringBuilder content = new StringBuilder();
+            for (String code : codes) {
+                content.append(code).append('=').append(rate(code))
+                        .append(';');
+            }
+            computed = DigestUtils.md5DigestAsHex(content.toString()
+                    .getBytes(StandardCharsets.UTF_8));
+            digest = computed;
+        }
+        return computed;
+    }
+
+    /**
+     * Number of currencies present in the table.
+     *
+     * @return number of currencies
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Boxed rate of a currency code.
+     *
+     * @param key currency code
+     * @return rate, null if the currency is absent
+     */
+    @Override
+    public Double get(final Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        double rate = rate((String) key);
+        return Double.isNaN(rate) ? null : rate;
+    }
+
+    /**
+     * Whether a currency code is present.
+     *
+     * @param key currency code
+     * @return true if present
+     */
+    @Override
+    public boolean containsKey(final Object key) {
+        return key instanceof String
+                && contains(CurrencyIndex.indexOf((String) key));
+    }
+
+    /**
+     * Entries of the table, boxed on access.
+     *
+     * @return entries
+     */
+    @Override
+    public Set<Entry<String, Double>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Double>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Iterator over the present currencies.
+     */
+    private final class EntryIterator
+            implements Iterator<Entry<String, Double>> {
+        /**
+         * Next present currency index.
+         */
+        private int next = nextIndex(0);
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public Entry<String, Double> next() {
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            Entry<String, Double> entry = new SimpleImmutableEntry<>(
+                    CurrencyIndex.codeOf(next), rates[next]);
+            next = nextIndex(next + 1);
+            return entry;
+        }
+    }
+
+    /**
+     * Builder of a rate table, not reusable after build.
+     */
+    public static final class Builder {
+        /**
+         * Rates by currency index.
+         */
+        private double[] rates = emptyRates(CurrencyIndex.size());
+        /**
+         * Number of currencies present.
+         */
+        private int size;
+
+        /**
+         * Put the rate of a currency index.
+         *
+         * @param index currency index
+         * @param rate  rate
+         * @return this builder
+         */
+        public Builder put(final int index, final double rate) {
+            if (Double.isNaN(rate)) {
+                return this;
+            }
+            if (index >= rates.length) {
+                double[] grown = emptyRates(CurrencyIndex.size());
+                System.arraycopy(rates, 0, grown, 0, rates.length);
+                rates = grown;
+            }
+            if (Double.isNaN(rates[index])) {
+                size++;
+            }
+            rates[index] = rate;
+            return this;
+        }
+
+        /**
+         * Put the rate of a currency code.
+         *
+         * @param code currency code
+         * @param rate rate
+         * @return this builder
+         */
+        public Builder put(final String code, final double rate) {
+            return put(CurrencyIndex.intern(code), rate);
+        }
+
+        /**
+         * Put all the rates of another table.
+         *
+         * @param rateTable rate table
+         * @return this builder
+         */
+        public Builder putAll(final RateTable rateTable) {
+            for (int i = rateTable.nextIndex(0); i >= 0;
+                 i = rateTable.nextIndex(i + 1)) {
+                put(i, rateTable.rate(i));
+            }
+            return this;
+        }
+
+        /**
+         * Build the rate table.
+         *
+         * @return rate table
+         */
+        public RateTable build() {
+            return new RateTable(rates, size);
+        }
+
+        private static double[] emptyRates(final int length) {
+            double[] empty = new double[length];
+            Arrays.fill(empty, Double.NaN);
+            return empty;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.practice.currencyconverter.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+public class RateTableDeserializer extends StdDeserializer<RateTable> {
+    /**
+     * Default constructor.
+     */
+    public RateTableDeserializer() {
+        super(RateTable.class);
+    }
+
+    /**
+     * Read a JSON object of currency code to rate straight into the
+     * primitive rates.
+     *
+     * @param p    json parser
+     * @param ctxt deserialization context
+     * @return rate table
+     * @throws IOException failed to read
+     */
+    @Override
+    public RateTable deserialize(final JsonParser p,
+                                 final DeserializationContext ctxt)
+            throws IOException {
+        if (!p.isExpectedStartObjectToken()) {
+            return (RateTable) ctxt.handleUnexpectedToken(RateTable.class, p);
+        }
+        RateTable.Builder builder = new RateTable.Builder();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String code = p.getCurrentName();
+            p.nextToken();
+            try {
+                builder.put(code, p.getDoubleValue());
+            } catch (IllegalArgumentException e) {
+                throw JsonMappingException.from(p, e.getMessage(), e);
+            }
+        }
+        return builder.build();
+    }
+}
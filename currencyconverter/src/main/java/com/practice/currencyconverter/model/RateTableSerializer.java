@@ -0,0 +1,38 @@
+package com.practice.currencyconverter.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+public class RateTableSerializer extends StdSerializer<RateTable> {
+    /**
+     * Default constructor.
+     */
+    public RateTableSerializer() {
+        super(RateTable.class);
+    }
+
+    /**
+     * Write the rate table as a JSON object of currency code to rate,
+     * straight from the primitive rates.
+     *
+     * @param rateTable rate table
+     * @param gen       json generator
+     * @param provider  serializer provider
+     * @throws IOException failed to write
+     */
+    @Override
+    public void serialize(final RateTable rateTable, final JsonGenerator gen,
+                          final SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject();
+        for (int i = rateTable.nextIndex(0); i >= 0;
+             i = rateTable.nextIndex(i + 1)) {
+            gen.writeFieldName(CurrencyIndex.codeOf(i));
+            gen.writeNumber(rateTable.rate(i));
+        }
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,37 @@
+package com.practice.currencyconverter.repository;
+
+import com.practice.currencyconverter.model.RateHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RateHistoryRepository extends
+        JpaRepository<RateHistory, Long> {
+
+    /**
+     * Find the history entry of the base currency on the date.
+     *
+     * @param base     base currency code
+     * @param rateDate date of the rates
+     * @return history entry, empty if none was recorded
+     */
+    Optional<RateHistory> findByBaseAndRateDate(String base,
+                                                LocalDate rateDate);
+
+    /**
+     * Find the history entries of the base currencies between the dates,
+     * both inclusive, by a range scan of the base and date index.
+     *
+     * @param bases base currency codes
+     * @param from  first date
+     * @param to    last date
+     * @return history entries ordered by date
+     */
+    List<RateHistory> findByBaseInAndRateDateBetweenOrderByRateDate(
+            Collection<String> bases, LocalDate from, LocalDate to);
+}
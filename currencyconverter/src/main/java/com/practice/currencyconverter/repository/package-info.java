@@ -0,0 +1,7 @@
+/*
+ * Copyright (c) 2020.
+ */
+/**
+ * Contains repository related classes & interfaces.
+ */
+package com.practice.currencyconverter.repository;
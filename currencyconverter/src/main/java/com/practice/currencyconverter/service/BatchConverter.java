@@ -0,0 +1,155 @@
+package com.practice.currencyconverter.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice.currencyconverter.model.CurrencyIndex;
+import com.practice.currencyconverter.model.RateSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+@Service
+public class BatchConverter {
+    /**
+     * Logger Object to log the details.
+     */
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(BatchConverter.class);
+    /**
+     * Field of the amount to convert.
+     */
+    private static final String AMOUNT = "amount";
+    /**
+     * Field of the currency code to convert from.
+     */
+    private static final String FROM = "from";
+    /**
+     * Field of the currency code to convert to.
+     */
+    private static final String TO = "to";
+    /**
+     * Field of the converted amount.
+     */
+    private static final String CONVERTED = "converted";
+    /**
+     * Field of the reason the rows stopped.
+     */
+    private static final String ERROR = "error";
+    /**
+     * Field of the index of the row the rows stopped at.
+     */
+    private static final String ROW = "row";
+    /**
+     * JsonFactory object.
+     */
+    private final JsonFactory jsonFactory;
+
+    /**
+     * Parameterized constructor to bind the objects.
+     *
+     * @param objectMapper object mapper object
+     */
+    public BatchConverter(final ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Convert a JSON array of {@code {"amount", "from", "to"}} rows against
+     * one rate snapshot. Each row is written back with its converted amount
+     * as soon as it is read, so neither the request nor the response is
+     * held in memory. The converted amount is null when either currency is
+     * not in the snapshot. A body that is not an array of rows ends the
+     * response with an {@code {"error", "row"}} record after the rows
+     * converted so far, so the response stays a valid JSON array.
+     *
+     * @param snapshot rate snapshot every row is converted with
+     * @param in       request body
+     * @param out      response body
+     * @return number of rows converted
+     * @throws IOException body not readable or response not writable
+     */
+    public long convert(final RateSnapshot snapshot, final InputStream in,
+                        final OutputStream out) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in);
+             JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.writeStartArray();
+            long rows = 0;
+            try {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new JsonParseException(parser,
+                            "Expected an array of conversions");
+                }
+                JsonToken token = parser.nextToken();
+                while (token == JsonToken.START_OBJECT) {
+                    convertRow(snapshot, parser, generator);
+                    rows++;
+                    token = parser.nextToken();
+                }
+                if (token != JsonToken.END_ARRAY) {
+                    throw new JsonParseException(parser,
+                            "Expected a conversion object");
+                }
+            } catch (JsonParseException e) {
+                LOGGER.warn("Batch conversion stopped at row {}: {}", rows,
+                        e.getOriginalMessage());
+                generator.writeStartObject();
+                generator.writeStringField(ERROR, e.getOriginalMessage());
+                generator.writeNumberField(ROW, rows);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            LOGGER.debug("Converted {} rows with rate snapshot {}", rows,
+                    snapshot.getVersion());
+            return rows;
+        }
+    }
+
+    private static void convertRow(final RateSnapshot snapshot,
+                                   final JsonParser parser,
+                                   final JsonGenerator generator)
+            throws IOException {
+        double amount = Double.NaN;
+        String from = null;
+        String to = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (AMOUNT.equals(field)) {
+                amount = parser.getValueAsDouble(Double.NaN);
+            } else if (FROM.equals(field)) {
+                from = parser.getValueAsString();
+            } else if (TO.equals(field)) {
+                to = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        double converted = amount * snapshot.crossRate(
+                CurrencyIndex.indexOf(from), CurrencyIndex.indexOf(to));
+        generator.writeStartObject();
+        writeNumberField(generator, AMOUNT, amount);
+        generator.writeStringField(FROM, from);
+        generator.writeStringField(TO, to);
+        writeNumberField(generator, CONVERTED, converted);
+        generator.writeEndObject();
+    }
+
+    private static void writeNumberField(final JsonGenerator generator,
+                                         final String field,
+                                         final double value)
+            throws IOException {
+        if (!Double.isFinite(value)) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, value);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.practice.currencyconverter.service;
+
+import com.practice.currencyconverter.model.Countries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@CacheConfig(cacheNames = "CurrencyConverterCache")
+public class CountriesService {
+    /**
+     * Logger Object to log the details.
+     */
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(CountriesService.class);
+    /**
+     * URL to fetch the countries and their currencies.
+     */
+    @Value("${via.countries.api.url}")
+    private String countriesAndCurrenciesUrl;
+    /**
+     * RestTemplate object.
+     */
+    private final RestTemplate restTemplate;
+    /**
+     * UpstreamGuard object.
+     */
+    private final UpstreamGuard upstreamGuard;
+    /**
+     * LastKnownGoodStore object.
+     */
+    private final LastKnownGoodStore lastKnownGoodStore;
+
+    /**
+     * Parameterized constructor to bind the objects.
+     *
+     * @param restTemplate       rest template object
+     * @param upstreamGuard      upstream guard object
+     * @param lastKnownGoodStore last known good store object
+     */
+    public CountriesService(final RestTemplate restTemplate,
+                            final UpstreamGuard upstreamGuard,
+                            final LastKnownGoodStore lastKnownGoodStore) {
+        this.restTemplate = restTemplate;
+        this.upstreamGuard = upstreamGuard;
+        this.lastKnownGoodStore = lastKnownGoodStore;
+    }
+
+    /**
+     * Get Countries and their currencies from
+     * https://openexchangerates.org/api/currencies.json and save them as the
+     * last known good copy. A failed call is thrown, never cached, so a
+     * failed reload keeps the countries already cached.
+     *
+     * @return fresh countries and their currencies
+     */
+    @Cacheable(keyGenerator = "customKeyGenerator", sync = true)
+    public Countries getCountries() {
+        LOGGER.debug("countriesAndCurrenciesUrl: {}",
+                countriesAndCurrenciesUrl);
+        Map<String, String> countries = upstreamGuard.call(
+                UpstreamGuard.COUNTRIES_API,
+                () -> restTemplate.getForObject(countriesAndCurrenciesUrl,
+                        HashMap.class));
+        LOGGER.debug("Countries List: {}", countries);
+        if (countries == null) {
+            throw new RestClientException("Empty countries list");
+        }
+        lastKnownGoodStore.saveCountries(countries);
+        return new Countries(countries, false);
+    }
+}
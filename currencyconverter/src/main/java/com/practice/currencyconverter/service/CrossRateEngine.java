@@ -0,0 +1,81 @@
+package com.practice.currencyconverter.service;
+
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.CurrencyIndex;
+import com.practice.currencyconverter.model.RateTable;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class CrossRateEngine {
+
+    /**
+     * Derive the currency rates of every currency in the pivot table by
+     * triangulation: rate(base, target) = pivot(target) / pivot(base).
+     *
+     * @param pivotTable currency rates for the pivot currency
+     * @return currency rates by base currency code
+     */
+    public Map<String, CurrencyConverter> triangulate(
+            final CurrencyConverter pivotTable) {
+        RateTable pivotRates = new RateTable.Builder()
+                .put(pivotTable.getBase(), 1.0)
+                .putAll(pivotTable.getRates())
+                .build();
+
+        Map<String, CurrencyConverter> ratesByBase = new HashMap<>();
+        for (int base = pivotRates.nextIndex(0); base >= 0;
+             base = pivotRates.nextIndex(base + 1)) {
+            double basePivotRate = pivotRates.rate(base);
+            RateTable.Builder rates = new RateTable.Builder();
+            for (int target = pivotRates.nextIndex(0); target >= 0;
+                 target = pivotRates.nextIndex(target + 1)) {
+                if (target != base) {
+                    rates.put(target, pivotRates.rate(target) / basePivotRate);
+                }
+            }
+            String code = CurrencyIndex.codeOf(base);
+            ratesByBase.put(code, converter(code, pivotTable, rates.build()));
+        }
+        return ratesByBase;
+    }
+
+    /**
+     * Restrict the currency rates of a base currency to the targets.
+     *
+     * @param currencyRate currency rates for the base currency
+     * @param targets      target currency codes
+     * @return currency rates for the targets, empty if any target is unknown
+     */
+    public Optional<CurrencyConverter> withTargets(
+            final CurrencyConverter currencyRate, final Set<String> targets) {
+        RateTable baseRates = currencyRate.getRates();
+        RateTable.Builder rates = new RateTable.Builder();
+        for (String target : targets) {
+            if (target.equals(currencyRate.getBase())) {
+                continue;
+            }
+            int index = CurrencyIndex.indexOf(target);
+            if (!baseRates.contains(index)) {
+                return Optional.empty();
+            }
+            rates.put(index, baseRates.rate(index));
+        }
+        return Optional.of(converter(currencyRate.getBase(), currencyRate,
+                rates.build()));
+    }
+
+    private CurrencyConverter converter(final String base,
+                                        final CurrencyConverter source,
+                                        final RateTable rates) {
+        CurrencyConverter converter = new CurrencyConverter();
+        converter.setBase(base);
+        converter.setDate(source.getDate());
+        converter.setRates(rates);
+        return converter;
+    }
+}
@@ -0,0 +1,232 @@
+package com.practice.currencyconverter.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice.currencyconverter.facade.CurrencyConverterDefaults;
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.LastKnownGood;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class LastKnownGoodStore {
+    /**
+     * Logger Object to log the details.
+     */
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(LastKnownGoodStore.class);
+    /**
+     * ObjectMapper object.
+     */
+    private final ObjectMapper objectMapper;
+    /**
+     * CrossRateEngine object.
+     */
+    private final CrossRateEngine crossRateEngine;
+    /**
+     * File the last known good copy is persisted to.
+     */
+    private final Path file;
+    /**
+     * Lock guarding the copy and its file, not a monitor so a virtual
+     * thread writing the file does not pin its carrier.
+     */
+    private final Lock lock = new ReentrantLock();
+    /**
+     * Last known good copy, guarded by the lock.
+     */
+    private LastKnownGood lastKnownGood;
+
+    /**
+     * Parameterized constructor reading the copy persisted by the previous
+     * run, if any.
+     *
+     * @param objectMapper    object mapper object
+     * @param crossRateEngine cross rate engine object
+     * @param file            file the copy is persisted to
+     */
+    public LastKnownGoodStore(
+            final ObjectMapper objectMapper,
+            final CrossRateEngine crossRateEngine,
+            @Value("${via.lastknowngood.file:last-known-good.json}")
+            final String file) {
+        this.objectMapper = objectMapper;
+        this.crossRateEngine = crossRateEngine;
+        this.file = Paths.get(file);
+        this.lastKnownGood = read();
+    }
+
+    /**
+     * Save the countries and their currencies of a successful fetch.
+     *
+     * @param countries countries and their currencies
+     */
+    public void saveCountries(final Map<String, String> countries) {
+        lock.lock();
+        try {
+            lastKnownGood.setCountries(new HashMap<>(countries));
+            write();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Save the pivot table of a successful snapshot load, from which the
+     * rates of every base in it are derived.
+     *
+     * @param pivotTable pivot table
+     */
+    public void savePivot(final CurrencyConverter pivotTable) {
+        lock.lock();
+        try {
+            lastKnownGood.setPivot(pivotTable);
+            write();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Save the currency rates of a successful direct fetch.
+     *
+     * @param currencyRate currency rates for the base currency
+     */
+    public void saveRates(final CurrencyConverter currencyRate) {
+        lock.lock();
+        try {
+            lastKnownGood.getRates().put(currencyRate.getBase(), currencyRate);
+            write();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the last known good countries and their currencies.
+     *
+     * @return countries and their currencies, empty if never saved
+     */
+    public Optional<Map<String, String>> getCountries() {
+        lock.lock();
+        try {
+            return Optional.ofNullable(lastKnownGood.getCountries())
+                    .map(HashMap::new);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the last known good currency rates for the base currency, from
+     * its last direct fetch or else derived from the last pivot table.
+     *
+     * @param base base currency code
+     * @return currency rates marked stale, empty if never saved
+     */
+    public Optional<CurrencyConverter> getRates(final String base) {
+        lock.lock();
+        try {
+            CurrencyConverter saved = lastKnownGood.getRates().get(base);
+            Optional<CurrencyConverter> rates = saved != null
+                    ? Optional.of(saved.copy())
+                    : Optional.ofNullable(lastKnownGood.getPivot())
+                    .map(pivotTable -> crossRateEngine.triangulate(pivotTable)
+                            .get(base));
+            rates.ifPresent(stale -> stale.setStale(true));
+            return rates;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the last known good currency rates for the base currency, or else
+     * the default rates derived for the base if nothing was ever saved for
+     * it.
+     *
+     * @param base base currency code
+     * @return currency rates marked stale, empty if the base is neither
+     * saved nor in the default rates
+     */
+    public Optional<CurrencyConverter> getRatesOrDefaults(final String base) {
+        return getRates(base).or(() -> Optional.ofNullable(crossRateEngine
+                .triangulate(CurrencyConverterDefaults.currencyRate())
+                .get(base))
+                .map(defaults -> {
+                    defaults.setStale(true);
+                    return defaults;
+                }));
+    }
+
+    /**
+     * Get the pivot table of the last successful snapshot load.
+     *
+     * @return pivot table marked stale, empty if never saved
+     */
+    public Optional<CurrencyConverter> getPivot() {
+        lock.lock();
+        try {
+            return Optional.ofNullable(lastKnownGood.getPivot()).map(pivot -> {
+                CurrencyConverter stale = pivot.copy();
+                stale.setStale(true);
+                return stale;
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private LastKnownGood read() {
+        if (Files.exists(file)) {
+            try {
+                return objectMapper.readValue(file.toFile(),
+                        LastKnownGood.class);
+            } catch (IOException e) {
+                LOGGER.error("Last known good copy {} unreadable, starting"
+                        + " empty", file, e);
+            }
+        }
+        return new LastKnownGood();
+    }
+
+    private void write() {
+        lastKnownGood.setSavedAt(Instant.now());
+        Path temp = null;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            temp = Files.createTempFile(parent, "last-known-good", ".tmp");
+            objectMapper.writeValue(temp.toFile(), lastKnownGood);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.error("Last known good copy {} not written", file, e);
+            deleteQuietly(temp);
+        }
+    }
+
+    private static void deleteQuietly(final Path temp) {
+        if (temp == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            LOGGER.warn("Temporary file {} not deleted", temp, e);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.practice.currencyconverter.service;
+
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.CurrencyIndex;
+import com.practice.currencyconverter.model.RateAggregate;
+import com.practice.currencyconverter.model.RateTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class RateArchive {
+    /**
+     * Logger Object to log the details.
+     */
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(RateArchive.class);
+    /**
+     * Marker of an archive file, "VIAR".
+     */
+    private static final int MAGIC = 0x56494152;
+    /**
+     * Version of the record format.
+     */
+    private static final int VERSION = 1;
+    /**
+     * Size of the header: marker, version, record size and a reserved int.
+     */
+    private static final int HEADER_SIZE = 16;
+    /**
+     * Offset of the version in the header.
+     */
+    private static final int VERSION_OFFSET = 4;
+    /**
+     * Offset of the record size in the header.
+     */
+    private static final int RECORD_SIZE_OFFSET = 8;
+    /**
+     * Size of a record: epoch day, currency slot and rate.
+     */
+    private static final int RECORD_SIZE = 16;
+    /**
+     * Offset of the currency slot in a record.
+     */
+    private static final int CURRENCY_OFFSET = 4;
+    /**
+     * Offset of the rate in a record.
+     */
+    private static final int RATE_OFFSET = 8;
+    /**
+     * Archive file.
+     */
+    private final Path file;
+    /**
+     * Channel records are appended through.
+     */
+    private final FileChannel channel;
+    /**
+     * Lock serializing the appends, not a monitor so a virtual thread
+     * writing the file does not pin its carrier.
+     */
+    private final Lock appendLock = new ReentrantLock();
+    /**
+     * Read only mapping of the whole file, replaced after every append.
+     * Only read with absolute gets, so it is shared by every reader.
+     */
+    private volatile ByteBuffer mapped;
+
+    /**
+     * Parameterized constructor opening the archive, created empty if it
+     * does not exist. A record cut short by a crash while appending is
+     * dropped.
+     *
+     * @param file archive file
+     * @throws IOException archive not readable or not an archive
+     */
+    public RateArchive(
+            @Value("${via.history.archive.file:rate-history.bin}")
+            final String file) throws IOException {
+        this.file = Paths.get(file);
+        Files.createDirectories(this.file.toAbsolutePath().getParent());
+        this.channel = FileChannel.open(this.file, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        if (channel.size() == 0) {
+            writeHeader();
+        } else {
+            checkHeader();
+        }
+        long whole = HEADER_SIZE + (channel.size() - HEADER_SIZE)
+                / RECORD_SIZE * RECORD_SIZE;
+        if (whole != channel.size()) {
+            LOGGER.warn("Rate archive {} ends in a partial record, dropping"
+                    + " it", this.file);
+            channel.truncate(whole);
+        }
+        remap();
+    }
+
+    /**
+     * Append the rates of a pivot table as one record per currency, the
+     * pivot itself at rate 1. Days are appended in order, so a table not
+     * newer than the last archived day is skipped.
+     *
+     * @param pivotTable currency rates for the pivot currency
+     * @return whether the table was appended
+     */
+    public boolean append(final CurrencyConverter pivotTable) {
+        int epochDay = Math.toIntExact(pivotTable.getDate().toEpochDay());
+        appendLock.lock();
+        try {
+            if (channel.size() != mapped.capacity()) {
+                remap();
+            }
+            ByteBuffer view = mapped;
+            int records = records(view);
+            if (records > 0 && view.getInt(offset(records - 1)) >= epochDay) {
+                return false;
+            }
+            RateTable rates = pivotTable.getRates();
+            int baseSlot = CurrencyIndex.slotOf(pivotTable.getBase());
+            ByteBuffer day = ByteBuffer
+                    .allocate((rates.size() + 1) * RECORD_SIZE);
+            putRecord(day, epochDay, baseSlot, 1.0);
+            for (int i = rates.nextIndex(0); i >= 0;
+                 i = rates.nextIndex(i + 1)) {
+                int slot = CurrencyIndex.slotOf(CurrencyIndex.codeOf(i));
+                if (slot != baseSlot) {
+                    putRecord(day, epochDay, slot, rates.rate(i));
+                }
+            }
+            day.flip();
+            long position = channel.size();
+            while (day.hasRemaining()) {
+                position += channel.write(day, position);
+            }
+            channel.force(false);
+            remap();
+            return true;
+        } catch (IOException e) {
+            LOGGER.error("Rate archive {} not appended for {}", file,
+                    pivotTable.getDate(), e);
+            return false;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Get the lowest, highest and average rate of the target currency for
+     * the base currency over the window, both dates inclusive, straight from
+     * the mapped records.
+     *
+     * @param base   base currency code
+     * @param target target currency code
+     * @param from   first date
+     * @param to     last date
+     * @return aggregate, empty if no archived day has both currencies
+     */
+    public Optional<RateAggregate> aggregate(final String base,
+                                             final String target,
+                                             final LocalDate from,
+                                             final LocalDate to) {
+        int baseSlot = CurrencyIndex.slotOf(base);
+        int targetSlot = CurrencyIndex.slotOf(target);
+        ByteBuffer view = mapped;
+        int records = records(view);
+        long lastDay = to.toEpochDay();
+        int days = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum = 0;
+        int start = firstRecord(view, records, from.toEpochDay());
+        while (start < records && view.getInt(offset(start)) <= lastDay) {
+            int end = dayEnd(view, records, start);
+            double rate = rateOf(view, start, end, targetSlot)
+                    / rateOf(view, start, end, baseSlot);
+            if (!Double.isNaN(rate)) {
+                days++;
+                min = Math.min(min, rate);
+                max = Math.max(max, rate);
+                sum += rate;
+            }
+            start = end;
+        }
+        return days == 0 ? Optional.empty() : Optional.of(new RateAggregate(
+                base, target, days, min, max, sum / days));
+    }
+
+    /**
+     * Get the currency rates of the base currency for every archived day
+     * between the dates, both inclusive, triangulated from that day's
+     * records.
+     *
+     * @param base base currency code
+     * @param from first date
+     * @param to   last date
+     * @return currency rates ordered by date, empty if the base was never
+     * archived in the window
+     */
+    public List<CurrencyConverter> getHistory(final String base,
+                                              final LocalDate from,
+                                              final LocalDate to) {
+        int baseSlot = CurrencyIndex.slotOf(base);
+        ByteBuffer view = mapped;
+        int records = records(view);
+        long lastDay = to.toEpochDay();
+        List<CurrencyConverter> history = new ArrayList<>();
+        int start = firstRecord(view, records, from.toEpochDay());
+        while (start < records && view.getInt(offset(start)) <= lastDay) {
+            int end = dayEnd(view, records, start);
+            double baseRate = rateOf(view, start, end, baseSlot);
+            if (!Double.isNaN(baseRate)) {
+                RateTable.Builder rates = new RateTable.Builder();
+                for (int i = start; i < end; i++) {
+                    int slot = view.getInt(offset(i) + CURRENCY_OFFSET);
+                    if (slot != baseSlot) {
+                        rates.put(CurrencyIndex.internSlot(slot),
+                                view.getDouble(offset(i) + RATE_OFFSET)
+                                        / baseRate);
+                    }
+                }
+                CurrencyConverter currencyRate = new CurrencyConverter();
+                currencyRate.setBase(base);
+                currencyRate.setDate(LocalDate.ofEpochDay(
+                        view.getInt(offset(start))));
+                currencyRate.setRates(rates.build());
+                history.add(currencyRate);
+            }
+            start = end;
+        }
+        return history;
+    }
+
+    /**
+     * Close the archive.
+     *
+     * @throws IOException archive not closed
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static int records(final ByteBuffer view) {
+        return (view.capacity() - HEADER_SIZE) / RECORD_SIZE;
+    }
+
+    private static int offset(final int record) {
+        return HEADER_SIZE + record * RECORD_SIZE;
+    }
+
+    private static void putRecord(final ByteBuffer day, final int epochDay,
+                                  final int slot, final double rate) {
+        if (slot >= 0) {
+            day.putInt(epochDay).putInt(slot).putDouble(rate);
+        }
+    }
+
+    private static int firstRecord(final ByteBuffer view, final int records,
+                                   final long epochDay) {
+        int low = 0;
+        int high = records;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (view.getInt(offset(middle)) < epochDay) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int dayEnd(final ByteBuffer view, final int records,
+                              final int start) {
+        int epochDay = view.getInt(offset(start));
+        int end = start + 1;
+        while (end < records && view.getInt(offset(end)) == epochDay) {
+            end++;
+        }
+        return end;
+    }
+
+    private static double rateOf(final ByteBuffer view, final int start,
+                                 final int end, final int slot) {
+        for (int i = start; i < end; i++) {
+            if (view.getInt(offset(i) + CURRENCY_OFFSET) == slot) {
+                return view.getDouble(offset(i) + RATE_OFFSET);
+            }
+        }
+        return Double.NaN;
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE);
+        header.clear();
+        channel.write(header, 0);
+        channel.force(false);
+    }
+
+    private void checkHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        if (header.getInt(0) != MAGIC
+                || header.getInt(VERSION_OFFSET) != VERSION
+                || header.getInt(RECORD_SIZE_OFFSET) != RECORD_SIZE) {
+            throw new IOException("Not a rate archive: " + file);
+        }
+    }
+
+    private void remap() throws IOException {
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                channel.size());
+    }
+}
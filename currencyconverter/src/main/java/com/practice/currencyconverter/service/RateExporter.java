@@ -0,0 +1,123 @@
+package com.practice.currencyconverter.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.CurrencyIndex;
+import com.practice.currencyconverter.model.RateSnapshot;
+import com.practice.currencyconverter.model.RateTable;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+@Service
+public class RateExporter {
+    /**
+     * Header line of the CSV export.
+     */
+    private static final String CSV_HEADER = "base,target,date,rate\n";
+    /**
+     * JsonFactory object.
+     */
+    private final JsonFactory jsonFactory;
+
+    /**
+     * Parameterized constructor to bind the objects.
+     *
+     * @param objectMapper object mapper object
+     */
+    public RateExporter(final ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Write the rates of every base in the snapshot as newline delimited
+     * JSON, one {@code {"base", "date", "rates"}} line per base in base
+     * order, with {@code "stale": true} on the last known good rates. Each
+     * line is written as it is built.
+     *
+     * @param snapshot rate snapshot
+     * @param out      response body
+     * @throws IOException response not writable
+     */
+    public void writeNdjson(final RateSnapshot snapshot,
+                            final OutputStream out) throws IOException {
+        Collection<CurrencyConverter> ratesByBase = rates(snapshot);
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            for (CurrencyConverter currencyRate : ratesByBase) {
+                RateTable rates = currencyRate.getRates();
+                generator.writeStartObject();
+                generator.writeStringField("base", currencyRate.getBase());
+                generator.writeStringField("date",
+                        Objects.toString(currencyRate.getDate(), null));
+                if (currencyRate.isStale()) {
+                    generator.writeBooleanField("stale", true);
+                }
+                generator.writeObjectFieldStart("rates");
+                for (int i = rates.nextIndex(0); i >= 0;
+                     i = rates.nextIndex(i + 1)) {
+                    generator.writeNumberField(CurrencyIndex.codeOf(i),
+                            rates.rate(i));
+                }
+                generator.writeEndObject();
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    /**
+     * Write the rates of every base in the snapshot as CSV, one
+     * {@code base,target,date,rate} line per currency pair in base order.
+     *
+     * @param snapshot rate snapshot
+     * @param out      response body
+     * @throws IOException response not writable
+     */
+    public void writeCsv(final RateSnapshot snapshot, final OutputStream out)
+            throws IOException {
+        Collection<CurrencyConverter> ratesByBase = rates(snapshot);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out,
+                StandardCharsets.UTF_8))) {
+            writer.write(CSV_HEADER);
+            for (CurrencyConverter currencyRate : ratesByBase) {
+                String base = currencyRate.getBase();
+                String date = Objects.toString(currencyRate.getDate(), "");
+                RateTable rates = currencyRate.getRates();
+                for (int i = rates.nextIndex(0); i >= 0;
+                     i = rates.nextIndex(i + 1)) {
+                    writer.write(base);
+                    writer.write(',');
+                    writer.write(CurrencyIndex.codeOf(i));
+                    writer.write(',');
+                    writer.write(date);
+                    writer.write(',');
+                    writer.write(Double.toString(rates.rate(i)));
+                    writer.write('\n');
+                }
+            }
+        }
+    }
+
+    private static Collection<CurrencyConverter> rates(
+            final RateSnapshot snapshot) {
+        SortedMap<String, CurrencyConverter> ratesByBase = new TreeMap<>();
+        for (String base : snapshot.getBases()) {
+            ratesByBase.put(base, snapshot.getRates(base).orElseThrow(() ->
+                    new IllegalStateException(
+                            "Base missing from the snapshot: " + base)));
+        }
+        return ratesByBase.values();
+    }
+}
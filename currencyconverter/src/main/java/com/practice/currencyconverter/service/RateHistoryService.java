@@ -0,0 +1,163 @@
+package com.practice.currencyconverter.service;
+
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.RateAggregate;
+import com.practice.currencyconverter.model.RateHistory;
+import com.practice.currencyconverter.repository.RateHistoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class RateHistoryService {
+    /**
+     * Logger Object to log the details.
+     */
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(RateHistoryService.class);
+    /**
+     * Pivot currency, whose history covers every base in its table.
+     */
+    @Value("${via.snapshot.pivot:EUR}")
+    private String pivot = "EUR";
+    /**
+     * RateHistoryRepository object.
+     */
+    private final RateHistoryRepository rateHistoryRepository;
+    /**
+     * CrossRateEngine object.
+     */
+    private final CrossRateEngine crossRateEngine;
+    /**
+     * RateArchive object.
+     */
+    private final RateArchive rateArchive;
+
+    /**
+     * Parameterized constructor to bind the objects.
+     *
+     * @param rateHistoryRepository rate history repository object
+     * @param crossRateEngine       cross rate engine object
+     * @param rateArchive           rate archive object
+     */
+    public RateHistoryService(
+            final RateHistoryRepository rateHistoryRepository,
+            final CrossRateEngine crossRateEngine,
+            final RateArchive rateArchive) {
+        this.rateHistoryRepository = rateHistoryRepository;
+        this.crossRateEngine = crossRateEngine;
+        this.rateArchive = rateArchive;
+    }
+
+    /**
+     * Record the currency rates of a successful fetch as the history entry
+     * of its base and date, and a pivot table in the rate archive too. A
+     * refetch of unchanged rates is not written, and a failed write is only
+     * logged, as the fetch itself succeeded.
+     *
+     * @param currencyRate currency rates for the base currency
+     */
+    public void record(final CurrencyConverter currencyRate) {
+        if (currencyRate.getBase() == null || currencyRate.getDate() == null
+                || currencyRate.getRates() == null) {
+            return;
+        }
+        if (currencyRate.getBase().equals(pivot)) {
+            rateArchive.append(currencyRate);
+        }
+        byte[] packed = RateHistory.pack(currencyRate.getRates());
+        try {
+            RateHistory history = rateHistoryRepository
+                    .findByBaseAndRateDate(currencyRate.getBase(),
+                            currencyRate.getDate())
+                    .orElseGet(() -> new RateHistory(currencyRate.getBase(),
+                            currencyRate.getDate()));
+            if (!Arrays.equals(history.getRates(), packed)) {
+                history.setRates(packed);
+                rateHistoryRepository.save(history);
+                LOGGER.debug("Rate history recorded: {}", history);
+            }
+        } catch (DataAccessException e) {
+            LOGGER.error("Rate history of {} on {} not recorded",
+                    currencyRate.getBase(), currencyRate.getDate(), e);
+        }
+    }
+
+    /**
+     * Get the currency rates of the base currency between the dates, both
+     * inclusive, merged by date from the rate archive and the history table.
+     * The archive is preferred on a date both have. In the history table, a
+     * date without an entry of its own is derived from the pivot entry of
+     * that date, if the base is in it.
+     *
+     * @param base base currency code
+     * @param from first date
+     * @param to   last date
+     * @return currency rates ordered by date
+     */
+    @Transactional(readOnly = true)
+    public List<CurrencyConverter> getHistory(final String base,
+                                              final LocalDate from,
+                                              final LocalDate to) {
+        Map<LocalDate, CurrencyConverter> byDate = new LinkedHashMap<>();
+        Map<LocalDate, RateHistory> pivotByDate = new LinkedHashMap<>();
+        for (RateHistory history : rateHistoryRepository
+                .findByBaseInAndRateDateBetweenOrderByRateDate(
+                        Set.copyOf(List.of(base, pivot)), from, to)) {
+            if (history.getBase().equals(base)) {
+                byDate.put(history.getRateDate(),
+                        history.toCurrencyConverter());
+            } else {
+                pivotByDate.put(history.getRateDate(), history);
+            }
+        }
+        pivotByDate.forEach((date, pivotHistory) -> {
+            if (!byDate.containsKey(date)) {
+                derive(pivotHistory, base)
+                        .ifPresent(rates -> byDate.put(date, rates));
+            }
+        });
+        rateArchive.getHistory(base, from, to).forEach(archived ->
+                byDate.put(archived.getDate(), archived));
+        List<CurrencyConverter> history = new ArrayList<>(byDate.values());
+        history.sort(Comparator.comparing(CurrencyConverter::getDate));
+        return history;
+    }
+
+    /**
+     * Get the lowest, highest and average rate of the target currency for
+     * the base currency between the dates, both inclusive, from the rate
+     * archive.
+     *
+     * @param base   base currency code
+     * @param target target currency code
+     * @param from   first date
+     * @param to     last date
+     * @return aggregate, empty if no archived day has both currencies
+     */
+    public Optional<RateAggregate> getAggregate(final String base,
+                                                final String target,
+                                                final LocalDate from,
+                                                final LocalDate to) {
+        return rateArchive.aggregate(base, target, from, to);
+    }
+
+    private Optional<CurrencyConverter> derive(
+            final RateHistory pivotHistory, final String base) {
+        return Optional.ofNullable(crossRateEngine
+                .triangulate(pivotHistory.toCurrencyConverter()).get(base));
+    }
+}
@@ -0,0 +1,219 @@
+package com.practice.currencyconverter.service;
+
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.RateRanking;
+import com.practice.currencyconverter.model.RateSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+public class RateSnapshotStore {
+    /**
+     * Logger Object to log the details.
+     */
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(RateSnapshotStore.class);
+    /**
+     * URL to fetch the currency rate.
+     */
+    @Value("${via.currencyrate.api.url}")
+    private String currencyRateUrl;
+    /**
+     * Pivot currency, the only base fetched from the upstream API.
+     */
+    @Value("${via.snapshot.pivot:EUR}")
+    private String pivot = "EUR";
+    /**
+     * RestTemplate object.
+     */
+    private final RestTemplate restTemplate;
+    /**
+     * CrossRateEngine object.
+     */
+    private final CrossRateEngine crossRateEngine;
+    /**
+     * UpstreamGuard object.
+     */
+    private final UpstreamGuard upstreamGuard;
+    /**
+     * LastKnownGoodStore object.
+     */
+    private final LastKnownGoodStore lastKnownGoodStore;
+    /**
+     * RateHistoryService object.
+     */
+    private final RateHistoryService rateHistoryService;
+    /**
+     * Executor saving the directly fetched rates off the request thread.
+     */
+    private final Executor rateRecordExecutor;
+    /**
+     * Current snapshot, swapped atomically after every load.
+     */
+    private final AtomicReference<RateSnapshot> snapshot;
+    /**
+     * Rates of the bases missing in the pivot table, fetched directly and
+     * kept until the next load.
+     */
+    private final Map<String, CurrencyConverter> fetched =
+            new ConcurrentHashMap<>();
+    /**
+     * Shares one pivot table fetch between concurrent loads.
+     */
+    private final SingleFlight<String, RateSnapshot> loads =
+            new SingleFlight<>();
+
+    /**
+     * Parameterized constructor to bind the objects. The snapshot is seeded
+     * with the last known good pivot table, marked stale, so the rates are
+     * served from the start until the first load succeeds.
+     *
+     * @param restTemplate       rest template object
+     * @param crossRateEngine    cross rate engine object
+     * @param upstreamGuard      upstream guard object
+     * @param lastKnownGoodStore last known good store object
+     * @param rateHistoryService rate history service object
+     * @param rateRecordExecutor executor saving the directly fetched rates
+     */
+    public RateSnapshotStore(final RestTemplate restTemplate,
+                             final CrossRateEngine crossRateEngine,
+                             final UpstreamGuard upstreamGuard,
+                             final LastKnownGoodStore lastKnownGoodStore,
+                             final RateHistoryService rateHistoryService,
+                             @Qualifier("rateRecordExecutor")
+                             final Executor rateRecordExecutor) {
+        this.restTemplate = restTemplate;
+        this.crossRateEngine = crossRateEngine;
+        this.upstreamGuard = upstreamGuard;
+        this.lastKnownGoodStore = lastKnownGoodStore;
+        this.rateHistoryService = rateHistoryService;
+        this.rateRecordExecutor = rateRecordExecutor;
+        this.snapshot = new AtomicReference<>(lastKnownGoodStore.getPivot()
+                .map(pivotTable -> {
+                    Map<String, CurrencyConverter> ratesByBase =
+                            crossRateEngine.triangulate(pivotTable);
+                    ratesByBase.values().forEach(stale ->
+                            stale.setStale(true));
+                    return RateSnapshot.empty().next(ratesByBase);
+                })
+                .orElseGet(RateSnapshot::empty));
+    }
+
+    /**
+     * Get the current snapshot. It is never loaded on the caller thread.
+     *
+     * @return current snapshot, empty if it was never loaded and there is no
+     * last known good copy
+     */
+    public RateSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Get the currency rates for the base currency from the snapshot, or
+     * from the rates fetched directly since the last load.
+     *
+     * @param base base currency code
+     * @return copy of the currency rates, empty if the base is neither in
+     * the pivot table nor fetched since the last load
+     */
+    public Optional<CurrencyConverter> getRates(final String base) {
+        return getSnapshot().getRates(base).or(() -> Optional
+                .ofNullable(fetched.get(base)).map(CurrencyConverter::copy));
+    }
+
+    /**
+     * Keep the rates of a base missing in the pivot table, fetched directly,
+     * until the next load, and save them to the last known good copy and
+     * the rate history in background.
+     *
+     * @param currencyRate currency rates for the base currency
+     */
+    public void addRates(final CurrencyConverter currencyRate) {
+        CurrencyConverter kept = currencyRate.copy();
+        fetched.put(kept.getBase(), kept);
+        rateRecordExecutor.execute(() -> {
+            lastKnownGoodStore.saveRates(kept);
+            rateHistoryService.record(kept);
+        });
+    }
+
+    /**
+     * Get the currency rate ranking for the base currency from the snapshot.
+     *
+     * @param base base currency code
+     * @return currency rate ranking, empty if the base is not in the pivot
+     * table
+     */
+    public Optional<RateRanking> getRanking(final String base) {
+        return getSnapshot().getRanking(base);
+    }
+
+    /**
+     * Load the snapshot once the application is ready, before it serves
+     * requests, unless the first scheduled refresh already did. A load in
+     * flight is joined rather than repeated.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        RateSnapshot current = snapshot.get();
+        if (current.isEmpty() || current.isStale()) {
+            refresh();
+        }
+    }
+
+    /**
+     * Refresh the pivot table from the upstream API, through the same guard
+     * as the other currency rate calls, and swap the new snapshot in. The
+     * old snapshot is kept if the upstream call fails or is rejected by its
+     * guard. The first run starts with the scheduler.
+     */
+    @Scheduled(fixedRateString = "${via.scheduler.snapshot.refresh.value:"
+            + "600000}", initialDelay = 0)
+    public void refresh() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            LOGGER.error("Rate snapshot refresh failed, keeping version {}",
+                    snapshot.get().getVersion(), e);
+        }
+    }
+
+    private void load() {
+        loads.execute(pivot, this::fetch);
+    }
+
+    private RateSnapshot fetch() {
+        String url = String.format(currencyRateUrl, pivot);
+        LOGGER.debug("Currency Converter API URL: {}", url);
+        CurrencyConverter pivotTable = upstreamGuard.call(
+                UpstreamGuard.CURRENCY_RATE_API, () -> restTemplate
+                        .getForObject(url, CurrencyConverter.class));
+        if (pivotTable == null || pivotTable.getRates() == null) {
+            throw new RestClientException("Empty pivot table for " + pivot);
+        }
+        Map<String, CurrencyConverter> ratesByBase =
+                crossRateEngine.triangulate(pivotTable);
+        lastKnownGoodStore.savePivot(pivotTable);
+        rateHistoryService.record(pivotTable);
+        RateSnapshot refreshed = snapshot.updateAndGet(current ->
+                current.next(ratesByBase));
+        fetched.clear();
+        LOGGER.debug("Rate snapshot refreshed: {}", refreshed);
+        return refreshed;
+    }
+}
@@ -0,0 +1,65 @@
+package com.practice.currencyconverter.service;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.ratelimiter.operator.RateLimiterOperator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+@Component
+@ConditionalOnProperty(name = "via.api.mode", havingValue = "reactive")
+public class ReactiveUpstreamGuard {
+    /**
+     * Circuit breakers by upstream API.
+     */
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    /**
+     * Semaphore bulkheads by upstream API.
+     */
+    private final BulkheadRegistry bulkheadRegistry;
+    /**
+     * Rate limiters by upstream API.
+     */
+    private final RateLimiterRegistry rateLimiterRegistry;
+
+    /**
+     * Parameterized constructor to bind the registries.
+     *
+     * @param circuitBreakerRegistry circuit breaker registry
+     * @param bulkheadRegistry       bulkhead registry
+     * @param rateLimiterRegistry    rate limiter registry
+     */
+    public ReactiveUpstreamGuard(
+            final CircuitBreakerRegistry circuitBreakerRegistry,
+            final BulkheadRegistry bulkheadRegistry,
+            final RateLimiterRegistry rateLimiterRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+    }
+
+    /**
+     * Guard a reactive call to the upstream API with the same circuit
+     * breaker, rate limiter and semaphore bulkhead as the blocking calls of
+     * {@link UpstreamGuard}. The permissions are acquired on subscription,
+     * without blocking.
+     *
+     * @param api  upstream API name
+     * @param call upstream call
+     * @param <T>  type of the result
+     * @return guarded call
+     */
+    public <T> Mono<T> call(final String api, final Mono<T> call) {
+        return call
+                .transform(BulkheadOperator.of(
+                        bulkheadRegistry.bulkhead(api)))
+                .transform(RateLimiterOperator.of(
+                        rateLimiterRegistry.rateLimiter(api)))
+                .transform(CircuitBreakerOperator.of(
+                        circuitBreakerRegistry.circuitBreaker(api)));
+    }
+}
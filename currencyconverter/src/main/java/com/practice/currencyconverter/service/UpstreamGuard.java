@@ -0,0 +1,73 @@
+package com.practice.currencyconverter.service;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+@Component
+public class UpstreamGuard {
+    /**
+     * Name of the guard of the countries API.
+     */
+    public static final String COUNTRIES_API = "countriesApi";
+    /**
+     * Name of the guard of the currency rate API.
+     */
+    public static final String CURRENCY_RATE_API = "currencyRateApi";
+    /**
+     * Circuit breakers by upstream API.
+     */
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    /**
+     * Semaphore bulkheads by upstream API.
+     */
+    private final BulkheadRegistry bulkheadRegistry;
+    /**
+     * Rate limiters by upstream API.
+     */
+    private final RateLimiterRegistry rateLimiterRegistry;
+
+    /**
+     * Parameterized constructor to bind the registries.
+     *
+     * @param circuitBreakerRegistry circuit breaker registry
+     * @param bulkheadRegistry       bulkhead registry
+     * @param rateLimiterRegistry    rate limiter registry
+     */
+    public UpstreamGuard(final CircuitBreakerRegistry circuitBreakerRegistry,
+                         final BulkheadRegistry bulkheadRegistry,
+                         final RateLimiterRegistry rateLimiterRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+    }
+
+    /**
+     * Call the upstream API on the caller thread, guarded by the circuit
+     * breaker, the rate limiter and the semaphore bulkhead configured for
+     * the API. A call is time limited by the timeouts of the HTTP client,
+     * and counted as slow by the circuit breaker above its slow call
+     * threshold.
+     *
+     * @param api  upstream API name
+     * @param call upstream call
+     * @param <T>  type of the result
+     * @return result of the call
+     */
+    public <T> T call(final String api, final Supplier<T> call) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry
+                .circuitBreaker(api);
+        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter(api);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(api);
+        return CircuitBreaker.decorateSupplier(circuitBreaker,
+                RateLimiter.decorateSupplier(rateLimiter,
+                        Bulkhead.decorateSupplier(bulkhead, call)))
+                .get();
+    }
+}
@@ -0,0 +1,7 @@
+/*
+ * Copyright (c) 2020.
+ */
+/**
+ * Contains service layer classes.
+ */
+package com.practice.currencyconverter.service;
@@ -0,0 +1,108 @@
+package com.practice.currencyconverter.unit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.RateSnapshot;
+import com.practice.currencyconverter.service.BatchConverter;
+import com.practice.currencyconverter.service.CrossRateEngine;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final BatchConverter batchConverter = new BatchConverter(objectMapper);
+
+    private static RateSnapshot snapshot() {
+        CurrencyConverter pivotTable = new CurrencyConverter();
+        pivotTable.setBase("EUR");
+        pivotTable.setDate(LocalDate.of(2020, 1, 13));
+        pivotTable.setRates(Map.of("HUF", 334.29, "INR", 78.8225));
+        return RateSnapshot.empty().next(new CrossRateEngine().triangulate(pivotTable));
+    }
+
+    private String convert(final String body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        batchConverter.convert(snapshot(),
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void convertRows() throws IOException {
+        //GIVEN
+        String body = "[{\"amount\":10,\"from\":\"EUR\",\"to\":\"HUF\"},"
+                + "{\"from\":\"HUF\",\"to\":\"INR\",\"amount\":1000.5,\"note\":{\"id\":1}},"
+                + "{\"amount\":7,\"from\":\"INR\",\"to\":\"INR\"}]";
+
+        //WHEN
+        JsonNode rows = objectMapper.readTree(convert(body));
+
+        //THEN
+        assertEquals(3, rows.size());
+        assertEquals(3342.9, rows.get(0).get("converted").asDouble(), 1e-9);
+        assertEquals("EUR", rows.get(0).get("from").asText());
+        assertEquals(1000.5 * 78.8225 / 334.29, rows.get(1).get("converted").asDouble(), 1e-9);
+        assertFalse(rows.get(1).has("note"));
+        assertEquals(7.0, rows.get(2).get("converted").asDouble(), 1e-12);
+    }
+
+    @Test
+    void convertUnknownCurrencyOrAmount() throws IOException {
+        //GIVEN
+        String body = "[{\"amount\":10,\"from\":\"EUR\",\"to\":\"JPY\"},"
+                + "{\"amount\":10,\"from\":\"euro\",\"to\":\"HUF\"},"
+                + "{\"from\":\"EUR\",\"to\":\"HUF\"}]";
+
+        //WHEN
+        JsonNode rows = objectMapper.readTree(convert(body));
+
+        //THEN
+        assertEquals(3, rows.size());
+        rows.forEach(row -> assertTrue(row.get("converted").isNull()));
+        assertTrue(rows.get(2).get("amount").isNull());
+    }
+
+    @Test
+    void convertEmptyBatch() throws IOException {
+        //GIVEN
+        //WHEN
+        String converted = convert("[]");
+
+        //THEN
+        assertEquals("[]", converted);
+    }
+
+    @Test
+    void convertNotAnArray() throws IOException {
+        //GIVEN
+        //WHEN
+        JsonNode notArray = objectMapper.readTree(convert("{\"amount\":10}"));
+        JsonNode badRow = objectMapper.readTree(convert(
+                "[{\"amount\":10,\"from\":\"EUR\",\"to\":\"HUF\"}, 5]"));
+        JsonNode truncated = objectMapper.readTree(convert(
+                "[{\"amount\":10,\"from\":\"EUR\",\"to\":\"HUF\"},{\"amount\""));
+
+        //THEN
+        assertEquals(1, notArray.size());
+        assertEquals("Expected an array of conversions", notArray.get(0).get("error").asText());
+        assertEquals(0, notArray.get(0).get("row").asInt());
+        assertEquals(2, badRow.size());
+        assertEquals(3342.9, badRow.get(0).get("converted").asDouble(), 1e-9);
+        assertEquals("Expected a conversion object", badRow.get(1).get("error").asText());
+        assertEquals(1, badRow.get(1).get("row").asInt());
+        assertEquals(2, truncated.size());
+        assertTrue(truncated.get(1).has("error"));
+        assertEquals(1, truncated.get(1).get("row").asInt());
+    }
+}
@@ -0,0 +1,75 @@
+package com.practice.currencyconverter.unit;
+
+import com.practice.currencyconverter.model.Countries;
+import com.practice.currencyconverter.service.CountriesService;
+import com.practice.currencyconverter.service.LastKnownGoodStore;
+import com.practice.currencyconverter.service.UpstreamGuard;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CountriesServiceTest {
+
+    private static final String COUNTRIES_AND_CURRENCIES_URL =
+            "https://openexchangerates.org/api/currencies.json";
+
+    @Mock
+    RestTemplate restTemplate;
+
+    @Mock
+    LastKnownGoodStore lastKnownGoodStore;
+
+    CountriesService countriesService;
+
+    @BeforeEach
+    void setup() {
+        countriesService = new CountriesService(restTemplate, new UpstreamGuard(
+                CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(),
+                RateLimiterRegistry.ofDefaults()), lastKnownGoodStore);
+        ReflectionTestUtils.setField(countriesService, "countriesAndCurrenciesUrl",
+                COUNTRIES_AND_CURRENCIES_URL);
+    }
+
+    @Test
+    void getCountriesSavesThem() {
+        //GIVEN
+        HashMap<String, String> countries = new HashMap<>(Map.of("HUF", "Hungarian Forint"));
+        when(restTemplate.getForObject(COUNTRIES_AND_CURRENCIES_URL, HashMap.class)).thenReturn(countries);
+
+        //WHEN
+        Countries fresh = countriesService.getCountries();
+
+        //THEN
+        assertEquals("Hungarian Forint", fresh.getCountries().get("HUF"));
+        assertFalse(fresh.isStale());
+        verify(lastKnownGoodStore).saveCountries(countries);
+    }
+
+    @Test
+    void getCountriesThrowsInsteadOfFallingBack() {
+        //GIVEN
+        when(restTemplate.getForObject(COUNTRIES_AND_CURRENCIES_URL, HashMap.class)).thenReturn(null);
+
+        //WHEN
+        //THEN
+        assertThrows(RestClientException.class, () -> countriesService.getCountries());
+        verifyNoInteractions(lastKnownGoodStore);
+    }
+}
@@ -0,0 +1,73 @@
+package com.practice.currencyconverter.unit;
+
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.service.CrossRateEngine;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrossRateEngineTest {
+
+    private final CrossRateEngine crossRateEngine = new CrossRateEngine();
+    private final CurrencyConverter pivotTable;
+
+    CrossRateEngineTest() {
+        Map<String, Double> rates = new HashMap<>();
+        rates.put("HUF", 334.29);
+        rates.put("INR", 79.12);
+        rates.put("USD", 1.1126);
+
+        pivotTable = new CurrencyConverter();
+        pivotTable.setBase("EUR");
+        pivotTable.setDate(LocalDate.of(2020, 1, 13));
+        pivotTable.setRates(rates);
+    }
+
+    @Test
+    void triangulate() {
+        //GIVEN
+        //WHEN
+        Map<String, CurrencyConverter> ratesByBase = crossRateEngine.triangulate(pivotTable);
+
+        //THEN
+        assertEquals(Set.of("EUR", "HUF", "INR", "USD"), ratesByBase.keySet());
+        CurrencyConverter huf = ratesByBase.get("HUF");
+        assertEquals("HUF", huf.getBase());
+        assertEquals(pivotTable.getDate(), huf.getDate());
+        assertEquals(3, huf.getRates().size());
+        assertNull(huf.getRates().get("HUF"));
+        assertEquals(1 / 334.29, huf.getRates().get("EUR"), 1e-12);
+        assertEquals(79.12 / 334.29, huf.getRates().get("INR"), 1e-12);
+        assertEquals(334.29, ratesByBase.get("EUR").getRates().get("HUF"), 1e-12);
+    }
+
+    @Test
+    void withTargets() {
+        //GIVEN
+        CurrencyConverter huf = crossRateEngine.triangulate(pivotTable).get("HUF");
+
+        //WHEN
+        Optional<CurrencyConverter> withTargets = crossRateEngine
+                .withTargets(huf, Set.of("INR", "EUR", "HUF"));
+
+        //THEN
+        assertTrue(withTargets.isPresent());
+        assertEquals(Set.of("INR", "EUR"), withTargets.get().getRates().keySet());
+    }
+
+    @Test
+    void withUnknownTarget() {
+        //GIVEN
+        CurrencyConverter huf = crossRateEngine.triangulate(pivotTable).get("HUF");
+
+        //WHEN
+        //THEN
+        assertTrue(crossRateEngine.withTargets(huf, Set.of("INR", "HHH")).isEmpty());
+    }
+}
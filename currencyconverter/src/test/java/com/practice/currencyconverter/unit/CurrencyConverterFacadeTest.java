@@ -1,8 +1,18 @@
 package com.practice.currencyconverter.unit;
 
 import com.practice.currencyconverter.facade.CurrencyConverterFacade;
+import com.practice.currencyconverter.model.Countries;
 import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.RateRanking;
+import com.practice.currencyconverter.service.CountriesService;
+import com.practice.currencyconverter.service.CrossRateEngine;
+import com.practice.currencyconverter.service.LastKnownGoodStore;
+import com.practice.currencyconverter.service.RateSnapshotStore;
+import com.practice.currencyconverter.service.UpstreamGuard;
 import com.practice.exception.ResourceNotFoundException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -11,14 +21,19 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +42,22 @@ class CurrencyConverterFacadeTest {
     @Mock
     RestTemplate restTemplate;
 
+    @Mock
+    RateSnapshotStore rateSnapshotStore;
+
+    @Mock
+    LastKnownGoodStore lastKnownGoodStore;
+
+    @Mock
+    CountriesService countriesService;
+
+    @Spy
+    CrossRateEngine crossRateEngine;
+
+    @Spy
+    UpstreamGuard upstreamGuard = new UpstreamGuard(CircuitBreakerRegistry.ofDefaults(),
+            BulkheadRegistry.ofDefaults(), RateLimiterRegistry.ofDefaults());
+
     @InjectMocks
     CurrencyConverterFacade currencyConverterFacade;
 
@@ -34,8 +65,6 @@ class CurrencyConverterFacadeTest {
     @InjectMocks
     CurrencyConverterFacade spyCurrencyConverterFacade;
 
-    private static final String COUNTRIES_AND_CURRENCIES_URL =
-            "https://openexchangerates.org/api/currencies.json";
     private static final String CURRENCY_RATE_URL =
             "https://api.exchangeratesapi.io/latest?";
 
@@ -64,25 +93,52 @@ class CurrencyConverterFacadeTest {
     @Test
     void getCountriesAndCurrencies() {
         //GIVEN
-        ReflectionTestUtils.setField(currencyConverterFacade, "countriesAndCurrenciesUrl",
-                "https://openexchangerates.org/api/currencies.json");
-        when(restTemplate.getForObject(COUNTRIES_AND_CURRENCIES_URL, HashMap.class)).thenReturn(countries);
+        when(countriesService.getCountries()).thenReturn(new Countries(countries, false));
 
         //WHEN
-        Map countriesAndCurrencies = currencyConverterFacade.getCountriesAndCurrencies();
+        Countries countriesAndCurrencies = currencyConverterFacade.getCountriesAndCurrencies();
 
         //THEN
-        assertEquals(countries.size(), countriesAndCurrencies.size());
-        assertEquals(countries.get("HUF"), countriesAndCurrencies.get("HUF"));
+        assertEquals(countries.size(), countriesAndCurrencies.getCountries().size());
+        assertEquals(countries.get("HUF"), countriesAndCurrencies.getCountries().get("HUF"));
+        assertFalse(countriesAndCurrencies.isStale());
+        verifyNoInteractions(lastKnownGoodStore);
+    }
+
+    @Test
+    void getCountriesAndCurrenciesLastKnownGood() {
+        //GIVEN
+        when(countriesService.getCountries()).thenThrow(new RestClientException("upstream down"));
+        when(lastKnownGoodStore.getCountries()).thenReturn(Optional.of(countries));
+
+        //WHEN
+        Countries countriesAndCurrencies = currencyConverterFacade.getCountriesAndCurrencies();
+
+        //THEN
+        assertEquals("US Dollar", countriesAndCurrencies.getCountries().get("USD"));
+        assertTrue(countriesAndCurrencies.isStale());
     }
 
     @Test
     void getCurrencyRate() {
         //GIVEN
-        ArgumentCaptor captor = ArgumentCaptor.forClass(String.class);
+        when(rateSnapshotStore.getRates(base)).thenReturn(Optional.of(converter));
 
+        //WHEN
+        CurrencyConverter currencyRate = currencyConverterFacade.getCurrencyRate(base);
+
+        //THEN
+        verifyNoInteractions(restTemplate);
+        assertEquals(base, currencyRate.getBase());
+        assertNotNull(currencyRate.getRates());
+    }
+
+    @Test
+    void getCurrencyRateNotInSnapshot() {
+        //GIVEN
         ReflectionTestUtils.setField(currencyConverterFacade, "currencyRateUrl",
                 "https://api.exchangeratesapi.io/latest?base=%s");
+        when(rateSnapshotStore.getRates(base)).thenReturn(Optional.empty());
         when(restTemplate.getForObject(CURRENCY_RATE_URL + "base=" + base, CurrencyConverter.class))
                 .thenReturn(converter);
 
@@ -90,33 +146,98 @@ class CurrencyConverterFacadeTest {
         CurrencyConverter currencyRate = currencyConverterFacade.getCurrencyRate(base);
 
         //THEN
-        verify(restTemplate).getForObject((String) captor.capture(), eq(CurrencyConverter.class));
-        assertEquals(CURRENCY_RATE_URL + "base=" + base, captor.getValue());
-        assertNotNull(currencyRate.getRates());
+        assertEquals(base, currencyRate.getBase());
         assertNull(currencyRate.getRates().get("HUF"));
+        verify(rateSnapshotStore).addRates(currencyRate);
     }
 
     @Test
-    void getHighestAndLowestCurrencyRate() {
+    void getCurrencyRateLastKnownGoodWhenUpstreamReturnsNoRates() {
         //GIVEN
+        converter.setStale(true);
         ReflectionTestUtils.setField(currencyConverterFacade, "currencyRateUrl",
                 "https://api.exchangeratesapi.io/latest?base=%s");
+        when(rateSnapshotStore.getRates(base)).thenReturn(Optional.empty());
         when(restTemplate.getForObject(CURRENCY_RATE_URL + "base=" + base, CurrencyConverter.class))
-                .thenReturn(converter);
+                .thenReturn(null, new CurrencyConverter());
+        when(lastKnownGoodStore.getRatesOrDefaults(base)).thenReturn(Optional.of(converter));
 
         //WHEN
-        Map<String, Double> highestAndLowestCurrencyRate = currencyConverterFacade
-                .getHighestAndLowestCurrencyRate(base);
+        CurrencyConverter emptyBody = currencyConverterFacade.getCurrencyRate(base);
+        CurrencyConverter noRates = currencyConverterFacade.getCurrencyRate(base);
+
         //THEN
+        assertTrue(emptyBody.isStale());
+        assertTrue(noRates.isStale());
+        verify(rateSnapshotStore, never()).addRates(any());
+    }
+
+    @Test
+    void getCurrencyRateRanking() {
+        //GIVEN
+        when(rateSnapshotStore.getRates(base)).thenReturn(Optional.of(converter));
+
+        //WHEN
+        RateRanking ranking = currencyConverterFacade.getCurrencyRateRanking(base);
+
+        //THEN
+        Map<String, Double> highestAndLowestCurrencyRate = ranking.getHighestAndLowest();
         assertNotNull(highestAndLowestCurrencyRate.get("GBP"));
         assertNotNull(highestAndLowestCurrencyRate.get("IDR"));
         assertNull(highestAndLowestCurrencyRate.get("HUF"));
+        assertFalse(ranking.isStale());
+    }
+
+    @Test
+    void getCurrencyRateRankingStaleWithFallbackRates() {
+        //GIVEN
+        converter.setStale(true);
+        ReflectionTestUtils.setField(currencyConverterFacade, "currencyRateUrl",
+                "https://api.exchangeratesapi.io/latest?base=%s");
+        when(rateSnapshotStore.getRates(base)).thenReturn(Optional.empty());
+        when(restTemplate.getForObject(CURRENCY_RATE_URL + "base=" + base, CurrencyConverter.class))
+                .thenThrow(new RestClientException("Upstream down"));
+        when(lastKnownGoodStore.getRatesOrDefaults(base)).thenReturn(Optional.of(converter));
+
+        //WHEN
+        RateRanking ranking = currencyConverterFacade.getCurrencyRateRanking(base);
+
+        //THEN
+        assertTrue(ranking.isStale());
+        assertEquals(converter.getRates().getDigest(), ranking.getDigest());
+    }
+
+    @Test
+    void getCurrencyRateRankingFromSnapshot() {
+        //GIVEN
+        when(rateSnapshotStore.getRanking(base)).thenReturn(
+                Optional.of(RateRanking.of(converter.getRates().without(base))));
+
+        //WHEN
+        RateRanking ranking = currencyConverterFacade.getCurrencyRateRanking(base);
+
+        //THEN
+        verify(rateSnapshotStore, never()).getRates(base);
+        assertEquals(Set.of("GBP", "IDR"), ranking.getHighestAndLowest().keySet());
+    }
+
+    @Test
+    void getTopCurrencyRates() {
+        //GIVEN
+        when(rateSnapshotStore.getRanking(base)).thenReturn(
+                Optional.of(RateRanking.of(converter.getRates().without(base))));
+
+        //WHEN
+        Map<String, Double> topCurrencyRates = currencyConverterFacade.getTopCurrencyRates(base, 2);
+
+        //THEN
+        assertEquals(List.of("IDR", "INR"), List.copyOf(topCurrencyRates.keySet()));
     }
 
     @Test
     void getCountryForCurrencyCode() throws ResourceNotFoundException {
         //GIVEN
-        when(spyCurrencyConverterFacade.getCountriesAndCurrencies()).thenReturn(countries);
+        doReturn(new Countries(countries, false)).when(spyCurrencyConverterFacade).getCountriesAndCurrencies();
 
         //WHEN
         String country = spyCurrencyConverterFacade.getCountryForCurrencyCode(base);
@@ -128,7 +249,7 @@ class CurrencyConverterFacadeTest {
     @Test
     void getCountryForCurrencyCodeWithInvalidCode() {
         //GIVEN
-        when(spyCurrencyConverterFacade.getCountriesAndCurrencies()).thenReturn(countries);
+        doReturn(new Countries(countries, false)).when(spyCurrencyConverterFacade).getCountriesAndCurrencies();
 
         //WHEN
         //THEN
@@ -137,9 +258,25 @@ class CurrencyConverterFacadeTest {
 
     }
 
+    @Test
+    void getCurrencyRateWithTargetFromSnapshot() {
+        //GIVEN
+        SortedSet<String> sortedSet = new TreeSet<>(Set.of("INR", "GBP"));
+        when(rateSnapshotStore.getRates(base)).thenReturn(Optional.of(converter));
+
+        //WHEN
+        CurrencyConverter currencyRateWithTarget = currencyConverterFacade
+                .getCurrencyRateWithTarget(base, sortedSet);
+
+        //THEN
+        verifyNoInteractions(restTemplate);
+        assertEquals(Set.of("INR", "GBP"), currencyRateWithTarget.getRates().keySet());
+    }
+
     @Test
     void getCurrencyRateWithTarget() {
         //GIVEN
+        when(rateSnapshotStore.getRates(base)).thenReturn(Optional.empty());
         ArgumentCaptor captor = ArgumentCaptor.forClass(String.class);
         ReflectionTestUtils.setField(currencyConverterFacade, "currencyRateWithTargetsUrl",
                 "https://api.exchangeratesapi.io/latest?symbols=%s&base=%s");
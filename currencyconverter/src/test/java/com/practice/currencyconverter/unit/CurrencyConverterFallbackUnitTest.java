@@ -1,35 +1,56 @@
 package com.practice.currencyconverter.unit;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.practice.currencyconverter.facade.CurrencyConverterFacade;
+import com.practice.currencyconverter.model.Countries;
 import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.service.CountriesService;
+import com.practice.currencyconverter.service.CrossRateEngine;
+import com.practice.currencyconverter.service.LastKnownGoodStore;
+import com.practice.currencyconverter.service.RateHistoryService;
+import com.practice.currencyconverter.service.RateSnapshotStore;
+import com.practice.currencyconverter.service.UpstreamGuard;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.cloud.netflix.hystrix.EnableHystrix;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
 @TestPropertySource(properties = {
         "via.countries.api.url = https://openexchangerates.org/api/currencies.json",
         "via.currencyrate.api.url = https://api.exchangeratesapi.io/latest?base=%s",
-        "via.rateswithtargets.api.url = https://api.exchangeratesapi.io/latest?symbols=%s&base=%s"
+        "via.rateswithtargets.api.url = https://api.exchangeratesapi.io/latest?symbols=%s&base=%s",
+        "resilience4j.circuitbreaker.instances.currencyRateApi.sliding-window-size = 2",
+        "resilience4j.circuitbreaker.instances.currencyRateApi.minimum-number-of-calls = 2"
 })
 public class CurrencyConverterFallbackUnitTest {
     @Configuration
     @EnableAutoConfiguration
-    @EnableHystrix
     public static class SpringConfig {
         @Bean
         RestTemplate restTemplate() {
@@ -37,17 +58,75 @@ public class CurrencyConverterFallbackUnitTest {
         }
 
         @Bean
-        public CurrencyConverterFacade currencyConverterFacade() {
-            return new CurrencyConverterFacade(restTemplate());
+        CrossRateEngine crossRateEngine() {
+            return new CrossRateEngine();
+        }
+
+        @Bean
+        LastKnownGoodStore lastKnownGoodStore(final ObjectMapper objectMapper) throws IOException {
+            return new LastKnownGoodStore(objectMapper, crossRateEngine(),
+                    Files.createTempDirectory("via").resolve("last-known-good.json").toString());
+        }
+
+        @Bean
+        RateSnapshotStore rateSnapshotStore(final UpstreamGuard upstreamGuard,
+                                            final LastKnownGoodStore lastKnownGoodStore,
+                                            final RateHistoryService rateHistoryService) {
+            return new RateSnapshotStore(restTemplate(), crossRateEngine(), upstreamGuard,
+                    lastKnownGoodStore, rateHistoryService, Runnable::run);
+        }
+
+        @Bean
+        UpstreamGuard upstreamGuard(final CircuitBreakerRegistry circuitBreakerRegistry,
+                                    final BulkheadRegistry bulkheadRegistry,
+                                    final RateLimiterRegistry rateLimiterRegistry) {
+            return new UpstreamGuard(circuitBreakerRegistry, bulkheadRegistry, rateLimiterRegistry);
+        }
+
+        @Bean
+        CountriesService countriesService(final UpstreamGuard upstreamGuard,
+                                          final LastKnownGoodStore lastKnownGoodStore) {
+            return new CountriesService(restTemplate(), upstreamGuard, lastKnownGoodStore);
+        }
+
+        @Bean
+        public CurrencyConverterFacade currencyConverterFacade(final RateSnapshotStore rateSnapshotStore,
+                                                               final UpstreamGuard upstreamGuard,
+                                                               final LastKnownGoodStore lastKnownGoodStore,
+                                                               final CountriesService countriesService) {
+            return new CurrencyConverterFacade(restTemplate(), rateSnapshotStore, crossRateEngine(),
+                    upstreamGuard, lastKnownGoodStore, countriesService);
         }
     }
 
     @MockBean
     private RestTemplate restTemplate;
 
+    @MockBean
+    private RateHistoryService rateHistoryService;
+
     @Autowired
     private CurrencyConverterFacade currencyConverterFacade;
 
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private RateSnapshotStore rateSnapshotStore;
+
+    private void givenPivotTableWithoutBase() {
+        CurrencyConverter pivot = new CurrencyConverter();
+        pivot.setBase("EUR");
+        pivot.setRates(Map.of("GBP", 0.8576));
+        when(restTemplate.getForObject("https://api.exchangeratesapi.io/latest?base=EUR", CurrencyConverter.class))
+                .thenReturn(pivot);
+    }
+
+    @AfterEach
+    void resetCircuitBreakers() {
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(CircuitBreaker::reset);
+    }
+
     @Test
     void getCountriesAndCurrenciesFallBackMethod() {
         //GIVEN
@@ -55,12 +134,12 @@ public class CurrencyConverterFallbackUnitTest {
                 .thenThrow(RuntimeException.class);
 
         //WHEN
-        Map countriesAndCurrencies = currencyConverterFacade.getCountriesAndCurrencies();
+        Countries countriesAndCurrencies = currencyConverterFacade.getCountriesAndCurrencies();
 
         //THEN
-        assertNotNull(countriesAndCurrencies);
-        assertNotNull(countriesAndCurrencies.get("INR"));
-        assertNotNull(countriesAndCurrencies.get("HUF"));
+        assertTrue(countriesAndCurrencies.isStale());
+        assertNotNull(countriesAndCurrencies.getCountries().get("INR"));
+        assertNotNull(countriesAndCurrencies.getCountries().get("HUF"));
     }
 
     @Test
@@ -75,5 +154,83 @@ public class CurrencyConverterFallbackUnitTest {
         //THEN
         assertNotNull(currencyRate);
         assertEquals("HUF", currencyRate.getBase());
+        assertTrue(currencyRate.isStale());
+    }
+
+    @Test
+    void getCurrencyRateWithTargetFallBackMethod() {
+        //GIVEN
+        when(restTemplate.getForObject("https://api.exchangeratesapi.io/latest?symbols=INR&base=HUF",
+                CurrencyConverter.class)).thenThrow(RuntimeException.class);
+
+        //WHEN
+        CurrencyConverter currencyRate = currencyConverterFacade.getCurrencyRateWithTarget("HUF", Set.of("INR"));
+
+        //THEN
+        assertEquals("HUF", currencyRate.getBase());
+        assertEquals(Set.of("INR"), currencyRate.getRates().keySet());
+    }
+
+    @Test
+    void getCurrencyRateBadRequestNotFallenBack() {
+        //GIVEN
+        givenPivotTableWithoutBase();
+        when(restTemplate.getForObject("https://api.exchangeratesapi.io/latest?base=HHH", CurrencyConverter.class))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request",
+                        HttpHeaders.EMPTY, new byte[0], null));
+
+        //WHEN
+        //THEN
+        assertThrows(HttpClientErrorException.BadRequest.class, () -> currencyConverterFacade.getCurrencyRate("HHH"));
+    }
+
+    @Test
+    void openCircuitBreakerSkipsUpstream() {
+        //GIVEN
+        givenPivotTableWithoutBase();
+        String url = "https://api.exchangeratesapi.io/latest?base=INR";
+        when(restTemplate.getForObject(url, CurrencyConverter.class)).thenThrow(RuntimeException.class);
+
+        //WHEN
+        currencyConverterFacade.getCurrencyRate("INR");
+        currencyConverterFacade.getCurrencyRate("INR");
+        CurrencyConverter currencyRate = currencyConverterFacade.getCurrencyRate("INR");
+
+        //THEN
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakerRegistry.circuitBreaker("currencyRateApi").getState());
+        assertTrue(currencyRate.isStale());
+        verify(restTemplate, times(2)).getForObject(url, CurrencyConverter.class);
+    }
+
+    @Test
+    void lastKnownGoodServedWhenUpstreamFails() {
+        //GIVEN
+        givenPivotTableWithoutBase();
+        String url = "https://api.exchangeratesapi.io/latest?base=JPY";
+        CurrencyConverter jpy = new CurrencyConverter();
+        jpy.setBase("JPY");
+        jpy.setRates(Map.of("USD", 0.0091, "EUR", 0.0083));
+        when(restTemplate.getForObject(url, CurrencyConverter.class))
+                .thenReturn(jpy)
+                .thenThrow(RuntimeException.class);
+        when(restTemplate.getForObject("https://api.exchangeratesapi.io/latest?symbols=USD&base=JPY",
+                CurrencyConverter.class)).thenThrow(RuntimeException.class);
+        CurrencyConverter fresh = currencyConverterFacade.getCurrencyRate("JPY");
+        CurrencyConverter kept = currencyConverterFacade.getCurrencyRate("JPY");
+        rateSnapshotStore.refresh();
+
+        //WHEN
+        CurrencyConverter lastKnownGood = currencyConverterFacade.getCurrencyRate("JPY");
+        CurrencyConverter lastKnownGoodTargets = currencyConverterFacade.getCurrencyRateWithTarget("JPY",
+                Set.of("USD"));
+
+        //THEN
+        assertFalse(fresh.isStale());
+        assertFalse(kept.isStale());
+        assertEquals("JPY", lastKnownGood.getBase());
+        assertEquals(0.0091, lastKnownGood.getRates().get("USD"));
+        assertTrue(lastKnownGood.isStale());
+        assertEquals(Set.of("USD"), lastKnownGoodTargets.getRates().keySet());
+        assertTrue(lastKnownGoodTargets.isStale());
     }
 }
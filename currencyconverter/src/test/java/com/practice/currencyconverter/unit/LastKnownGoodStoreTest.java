@@ -0,0 +1,116 @@
+package com.practice.currencyconverter.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.service.CrossRateEngine;
+import com.practice.currencyconverter.service.LastKnownGoodStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LastKnownGoodStoreTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    private String file;
+
+    @BeforeEach
+    void setup() {
+        file = directory.resolve("last-known-good.json").toString();
+    }
+
+    private LastKnownGoodStore store() {
+        return new LastKnownGoodStore(objectMapper, new CrossRateEngine(), file);
+    }
+
+    private static CurrencyConverter rates(final String base, final Map<String, Double> rates) {
+        CurrencyConverter converter = new CurrencyConverter();
+        converter.setBase(base);
+        converter.setDate(LocalDate.of(2020, 1, 13));
+        converter.setRates(rates);
+        return converter;
+    }
+
+    @Test
+    void getRatesDerivedFromPersistedPivot() {
+        //GIVEN
+        store().savePivot(rates("EUR", Map.of("HUF", 334.29, "INR", 78.8225)));
+
+        //WHEN
+        CurrencyConverter huf = store().getRates("HUF").orElseThrow();
+
+        //THEN
+        assertEquals("HUF", huf.getBase());
+        assertEquals(LocalDate.of(2020, 1, 13), huf.getDate());
+        assertEquals(78.8225 / 334.29, huf.getRates().get("INR"), 1e-12);
+        assertTrue(huf.isStale());
+        assertTrue(store().getRates("JPY").isEmpty());
+    }
+
+    @Test
+    void getRatesOfDirectFetchBeforePivot() {
+        //GIVEN
+        LastKnownGoodStore store = store();
+        store.savePivot(rates("EUR", Map.of("HUF", 334.29, "INR", 78.8225)));
+        store.saveRates(rates("INR", Map.of("HUF", 4.25)));
+
+        //WHEN
+        CurrencyConverter inr = store().getRates("INR").orElseThrow();
+
+        //THEN
+        assertEquals(Map.of("HUF", 4.25), Map.copyOf(inr.getRates()));
+        assertTrue(inr.isStale());
+    }
+
+    @Test
+    void getRatesOrDefaultsDerivedForBase() {
+        //GIVEN
+        LastKnownGoodStore store = store();
+
+        //WHEN
+        CurrencyConverter inr = store.getRatesOrDefaults("INR").orElseThrow();
+
+        //THEN
+        assertEquals("INR", inr.getBase());
+        assertEquals(1 / 0.2357907805, inr.getRates().get("HUF"), 1e-9);
+        assertTrue(inr.isStale());
+        assertTrue(store.getRatesOrDefaults("XYZ").isEmpty());
+    }
+
+    @Test
+    void getCountriesPersisted() {
+        //GIVEN
+        assertTrue(store().getCountries().isEmpty());
+        store().saveCountries(Map.of("HUF", "Hungarian Forint"));
+
+        //WHEN
+        Map<String, String> countries = store().getCountries().orElseThrow();
+
+        //THEN
+        assertEquals(Map.of("HUF", "Hungarian Forint"), countries);
+    }
+
+    @Test
+    void unreadableFileStartsEmpty() throws IOException {
+        //GIVEN
+        Files.writeString(Path.of(file), "not json");
+
+        //WHEN
+        LastKnownGoodStore store = store();
+
+        //THEN
+        assertTrue(store.getCountries().isEmpty());
+        assertTrue(store.getRates("HUF").isEmpty());
+    }
+}
@@ -0,0 +1,138 @@
+package com.practice.currencyconverter.unit;
+
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.RateAggregate;
+import com.practice.currencyconverter.service.RateArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateArchiveTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2020, 1, 13);
+    private static final LocalDate TUESDAY = LocalDate.of(2020, 1, 14);
+    private static final LocalDate WEDNESDAY = LocalDate.of(2020, 1, 15);
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+
+    private RateArchive rateArchive;
+
+    @BeforeEach
+    void setup() throws IOException {
+        file = directory.resolve("rate-history.bin");
+        rateArchive = new RateArchive(file.toString());
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        rateArchive.close();
+    }
+
+    private static CurrencyConverter pivotTable(final LocalDate date, final double huf, final double inr) {
+        CurrencyConverter converter = new CurrencyConverter();
+        converter.setBase("EUR");
+        converter.setDate(date);
+        converter.setRates(Map.of("HUF", huf, "INR", inr));
+        return converter;
+    }
+
+    @Test
+    void appendInDateOrderOnly() throws IOException {
+        //GIVEN
+        assertTrue(rateArchive.append(pivotTable(TUESDAY, 330.0, 79.0)));
+
+        //WHEN
+        boolean sameDay = rateArchive.append(pivotTable(TUESDAY, 331.0, 79.0));
+        boolean earlierDay = rateArchive.append(pivotTable(MONDAY, 334.29, 78.8225));
+
+        //THEN
+        assertFalse(sameDay);
+        assertFalse(earlierDay);
+        assertEquals(16 + 3 * 16, Files.size(file));
+    }
+
+    @Test
+    void getHistoryTriangulated() {
+        //GIVEN
+        rateArchive.append(pivotTable(MONDAY, 334.29, 78.8225));
+        rateArchive.append(pivotTable(TUESDAY, 330.0, 79.0));
+        rateArchive.append(pivotTable(WEDNESDAY, 332.0, 80.0));
+
+        //WHEN
+        List<CurrencyConverter> history = rateArchive.getHistory("HUF", TUESDAY, WEDNESDAY);
+
+        //THEN
+        assertEquals(2, history.size());
+        assertEquals("HUF", history.get(0).getBase());
+        assertEquals(TUESDAY, history.get(0).getDate());
+        assertEquals(79.0 / 330.0, history.get(0).getRates().get("INR"), 1e-12);
+        assertEquals(1 / 330.0, history.get(0).getRates().get("EUR"), 1e-12);
+        assertNull(history.get(0).getRates().get("HUF"));
+        assertEquals(WEDNESDAY, history.get(1).getDate());
+        assertTrue(rateArchive.getHistory("JPY", MONDAY, WEDNESDAY).isEmpty());
+    }
+
+    @Test
+    void aggregateOverWindow() {
+        //GIVEN
+        rateArchive.append(pivotTable(MONDAY, 334.29, 78.8225));
+        rateArchive.append(pivotTable(TUESDAY, 330.0, 79.0));
+        rateArchive.append(pivotTable(WEDNESDAY, 332.0, 80.0));
+
+        //WHEN
+        RateAggregate eurHuf = rateArchive.aggregate("EUR", "HUF", MONDAY, TUESDAY).orElseThrow();
+        RateAggregate inrHuf = rateArchive.aggregate("INR", "HUF", MONDAY, WEDNESDAY).orElseThrow();
+
+        //THEN
+        assertEquals(2, eurHuf.getDays());
+        assertEquals(330.0, eurHuf.getMin());
+        assertEquals(334.29, eurHuf.getMax());
+        assertEquals((334.29 + 330.0) / 2, eurHuf.getAverage(), 1e-12);
+        assertEquals(3, inrHuf.getDays());
+        assertEquals(332.0 / 80.0, inrHuf.getMin(), 1e-12);
+        assertEquals(334.29 / 78.8225, inrHuf.getMax(), 1e-12);
+        assertTrue(rateArchive.aggregate("EUR", "JPY", MONDAY, WEDNESDAY).isEmpty());
+        assertTrue(rateArchive.aggregate("EUR", "HUF", WEDNESDAY.plusDays(1), WEDNESDAY.plusDays(2)).isEmpty());
+    }
+
+    @Test
+    void reopenDropsPartialRecord() throws IOException {
+        //GIVEN
+        rateArchive.append(pivotTable(MONDAY, 334.29, 78.8225));
+        rateArchive.close();
+        Files.write(file, new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+
+        //WHEN
+        rateArchive = new RateArchive(file.toString());
+
+        //THEN
+        assertEquals(16 + 3 * 16, Files.size(file));
+        assertEquals(1, rateArchive.getHistory("EUR", MONDAY, MONDAY).size());
+        assertTrue(rateArchive.append(pivotTable(TUESDAY, 330.0, 79.0)));
+    }
+
+    @Test
+    void notAnArchive() throws IOException {
+        //GIVEN
+        Path other = directory.resolve("other.bin");
+        Files.writeString(other, "not an archive, just text");
+
+        //WHEN
+        //THEN
+        assertThrows(IOException.class, () -> new RateArchive(other.toString()));
+    }
+}
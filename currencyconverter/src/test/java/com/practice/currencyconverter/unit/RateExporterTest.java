@@ -0,0 +1,108 @@
+package com.practice.currencyconverter.unit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.RateSnapshot;
+import com.practice.currencyconverter.service.CrossRateEngine;
+import com.practice.currencyconverter.service.RateExporter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final RateExporter rateExporter = new RateExporter(objectMapper);
+
+    private static RateSnapshot snapshot() {
+        CurrencyConverter pivotTable = new CurrencyConverter();
+        pivotTable.setBase("EUR");
+        pivotTable.setDate(LocalDate.of(2020, 1, 13));
+        pivotTable.setRates(Map.of("HUF", 334.29, "INR", 78.8225));
+        return RateSnapshot.empty().next(new CrossRateEngine().triangulate(pivotTable));
+    }
+
+    @Test
+    void writeNdjson() throws IOException {
+        //GIVEN
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //WHEN
+        rateExporter.writeNdjson(snapshot(), out);
+
+        //THEN
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        JsonNode eur = objectMapper.readTree(lines[0]);
+        assertEquals("EUR", eur.get("base").asText());
+        assertEquals("2020-01-13", eur.get("date").asText());
+        assertEquals(334.29, eur.get("rates").get("HUF").asDouble());
+        assertEquals(2, eur.get("rates").size());
+        assertEquals("HUF", objectMapper.readTree(lines[1]).get("base").asText());
+        assertEquals("INR", objectMapper.readTree(lines[2]).get("base").asText());
+    }
+
+    @Test
+    void writeCsv() throws IOException {
+        //GIVEN
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //WHEN
+        rateExporter.writeCsv(snapshot(), out);
+
+        //THEN
+        List<String> lines = List.of(out.toString(StandardCharsets.UTF_8).split("\n"));
+        assertEquals(1 + 3 * 2, lines.size());
+        assertEquals("base,target,date,rate", lines.get(0));
+        assertTrue(lines.contains("EUR,HUF,2020-01-13,334.29"));
+        assertTrue(lines.contains("HUF,INR,2020-01-13," + 78.8225 / 334.29));
+    }
+
+    @Test
+    void writeNdjsonStale() throws IOException {
+        //GIVEN
+        CurrencyConverter pivotTable = new CurrencyConverter();
+        pivotTable.setBase("EUR");
+        pivotTable.setDate(LocalDate.of(2020, 1, 13));
+        pivotTable.setRates(Map.of("HUF", 334.29));
+        Map<String, CurrencyConverter> ratesByBase = new CrossRateEngine().triangulate(pivotTable);
+        ratesByBase.values().forEach(rates -> rates.setStale(true));
+        RateSnapshot stale = RateSnapshot.empty().next(ratesByBase);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //WHEN
+        rateExporter.writeNdjson(stale, out);
+        rateExporter.writeNdjson(snapshot(), out);
+
+        //THEN
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2 + 3, lines.length);
+        assertTrue(objectMapper.readTree(lines[0]).get("stale").asBoolean());
+        assertTrue(objectMapper.readTree(lines[1]).get("stale").asBoolean());
+        assertFalse(objectMapper.readTree(lines[2]).has("stale"));
+    }
+
+    @Test
+    void writeEmptySnapshot() throws IOException {
+        //GIVEN
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+
+        //WHEN
+        rateExporter.writeNdjson(RateSnapshot.empty(), ndjson);
+        rateExporter.writeCsv(RateSnapshot.empty(), csv);
+
+        //THEN
+        assertEquals("", ndjson.toString(StandardCharsets.UTF_8));
+        assertEquals("base,target,date,rate\n", csv.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,193 @@
+package com.practice.currencyconverter.unit;
+
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.RateHistory;
+import com.practice.currencyconverter.model.RateTable;
+import com.practice.currencyconverter.repository.RateHistoryRepository;
+import com.practice.currencyconverter.service.CrossRateEngine;
+import com.practice.currencyconverter.service.RateArchive;
+import com.practice.currencyconverter.service.RateHistoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RateHistoryServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2020, 1, 13);
+    private static final LocalDate TUESDAY = LocalDate.of(2020, 1, 14);
+
+    @Mock
+    RateHistoryRepository rateHistoryRepository;
+
+    @Mock
+    RateArchive rateArchive;
+
+    private RateHistoryService rateHistoryService;
+
+    @BeforeEach
+    void setup() {
+        rateHistoryService = new RateHistoryService(rateHistoryRepository, new CrossRateEngine(),
+                rateArchive);
+    }
+
+    private static CurrencyConverter rates(final String base, final LocalDate date,
+                                           final Map<String, Double> rates) {
+        CurrencyConverter converter = new CurrencyConverter();
+        converter.setBase(base);
+        converter.setDate(date);
+        converter.setRates(rates);
+        return converter;
+    }
+
+    private static RateHistory history(final CurrencyConverter currencyRate) {
+        RateHistory history = new RateHistory(currencyRate.getBase(), currencyRate.getDate());
+        history.setRates(RateHistory.pack(currencyRate.getRates()));
+        return history;
+    }
+
+    @Test
+    void packRoundTrip() {
+        //GIVEN
+        RateTable rates = RateTable.of(Map.of("HUF", 334.29, "INR", 78.8225, "USD", 1.1));
+
+        //WHEN
+        byte[] packed = RateHistory.pack(rates);
+
+        //THEN
+        assertEquals(3 * 11, packed.length);
+        assertEquals(rates, RateHistory.unpack(packed));
+    }
+
+    @Test
+    void recordNewDate() {
+        //GIVEN
+        CurrencyConverter eur = rates("EUR", MONDAY, Map.of("HUF", 334.29));
+        when(rateHistoryRepository.findByBaseAndRateDate("EUR", MONDAY)).thenReturn(Optional.empty());
+
+        //WHEN
+        rateHistoryService.record(eur);
+
+        //THEN
+        verify(rateArchive).append(eur);
+        ArgumentCaptor<RateHistory> saved = ArgumentCaptor.forClass(RateHistory.class);
+        verify(rateHistoryRepository).save(saved.capture());
+        assertEquals("EUR", saved.getValue().getBase());
+        assertEquals(MONDAY, saved.getValue().getRateDate());
+        assertEquals(Map.of("HUF", 334.29), RateHistory.unpack(saved.getValue().getRates()));
+    }
+
+    @Test
+    void recordUnchangedRatesNotWritten() {
+        //GIVEN
+        CurrencyConverter eur = rates("EUR", MONDAY, Map.of("HUF", 334.29));
+        when(rateHistoryRepository.findByBaseAndRateDate("EUR", MONDAY))
+                .thenReturn(Optional.of(history(eur)));
+
+        //WHEN
+        rateHistoryService.record(eur);
+
+        //THEN
+        verify(rateHistoryRepository, never()).save(any());
+    }
+
+    @Test
+    void recordFailureOnlyLogged() {
+        //GIVEN
+        CurrencyConverter eur = rates("EUR", MONDAY, Map.of("HUF", 334.29));
+        when(rateHistoryRepository.findByBaseAndRateDate("EUR", MONDAY)).thenReturn(Optional.empty());
+        when(rateHistoryRepository.save(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        //WHEN
+        //THEN
+        assertDoesNotThrow(() -> rateHistoryService.record(eur));
+    }
+
+    @Test
+    void getHistoryPrefersOwnEntryOverPivot() {
+        //GIVEN
+        CurrencyConverter eurMonday = rates("EUR", MONDAY, Map.of("HUF", 334.29, "INR", 78.8225));
+        CurrencyConverter eurTuesday = rates("EUR", TUESDAY, Map.of("HUF", 330.0, "INR", 79.0));
+        CurrencyConverter hufMonday = rates("HUF", MONDAY, Map.of("INR", 0.2357));
+        when(rateHistoryRepository.findByBaseInAndRateDateBetweenOrderByRateDate(
+                Set.of("HUF", "EUR"), MONDAY, TUESDAY))
+                .thenReturn(List.of(history(eurMonday), history(hufMonday), history(eurTuesday)));
+
+        //WHEN
+        List<CurrencyConverter> history = rateHistoryService.getHistory("HUF", MONDAY, TUESDAY);
+
+        //THEN
+        assertEquals(2, history.size());
+        assertEquals(MONDAY, history.get(0).getDate());
+        assertEquals(Map.of("INR", 0.2357), history.get(0).getRates());
+        assertEquals(TUESDAY, history.get(1).getDate());
+        assertEquals("HUF", history.get(1).getBase());
+        assertEquals(79.0 / 330.0, history.get(1).getRates().get("INR"), 1e-12);
+        assertEquals(1 / 330.0, history.get(1).getRates().get("EUR"), 1e-12);
+    }
+
+    @Test
+    void getHistoryOfPivot() {
+        //GIVEN
+        CurrencyConverter eurMonday = rates("EUR", MONDAY, Map.of("HUF", 334.29));
+        when(rateHistoryRepository.findByBaseInAndRateDateBetweenOrderByRateDate(
+                Set.of("EUR"), MONDAY, TUESDAY))
+                .thenReturn(List.of(history(eurMonday)));
+
+        //WHEN
+        List<CurrencyConverter> history = rateHistoryService.getHistory("EUR", MONDAY, TUESDAY);
+
+        //THEN
+        assertEquals(1, history.size());
+        assertEquals(Map.of("HUF", 334.29), history.get(0).getRates());
+    }
+
+    @Test
+    void recordDirectFetchNotArchived() {
+        //GIVEN
+        CurrencyConverter huf = rates("HUF", MONDAY, Map.of("INR", 0.2357));
+
+        //WHEN
+        rateHistoryService.record(huf);
+
+        //THEN
+        verify(rateArchive, never()).append(any());
+    }
+
+    @Test
+    void getHistoryMergesArchiveAndTable() {
+        //GIVEN
+        CurrencyConverter archived = rates("HUF", MONDAY, Map.of("INR", 0.2357));
+        when(rateArchive.getHistory("HUF", MONDAY, TUESDAY)).thenReturn(List.of(archived));
+        CurrencyConverter hufMonday = rates("HUF", MONDAY, Map.of("INR", 0.25));
+        CurrencyConverter hufTuesday = rates("HUF", TUESDAY, Map.of("INR", 0.24));
+        when(rateHistoryRepository.findByBaseInAndRateDateBetweenOrderByRateDate(
+                Set.of("HUF", "EUR"), MONDAY, TUESDAY))
+                .thenReturn(List.of(history(hufMonday), history(hufTuesday)));
+
+        //WHEN
+        List<CurrencyConverter> history = rateHistoryService.getHistory("HUF", MONDAY, TUESDAY);
+
+        //THEN
+        assertEquals(2, history.size());
+        assertSame(archived, history.get(0));
+        assertEquals(TUESDAY, history.get(1).getDate());
+        assertEquals(Map.of("INR", 0.24), history.get(1).getRates());
+    }
+}
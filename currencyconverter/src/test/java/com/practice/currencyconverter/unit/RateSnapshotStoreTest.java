@@ -0,0 +1,206 @@
+package com.practice.currencyconverter.unit;
+
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.service.CrossRateEngine;
+import com.practice.currencyconverter.service.LastKnownGoodStore;
+import com.practice.currencyconverter.service.RateHistoryService;
+import com.practice.currencyconverter.service.RateSnapshotStore;
+import com.practice.currencyconverter.service.UpstreamGuard;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RateSnapshotStoreTest {
+
+    private static final String PIVOT_URL =
+            "https://api.exchangeratesapi.io/latest?base=EUR";
+
+    @Mock
+    RestTemplate restTemplate;
+
+    @Mock
+    LastKnownGoodStore lastKnownGoodStore;
+
+    @Mock
+    RateHistoryService rateHistoryService;
+
+    CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+
+    UpstreamGuard upstreamGuard = new UpstreamGuard(circuitBreakerRegistry,
+            BulkheadRegistry.ofDefaults(), RateLimiterRegistry.ofDefaults());
+
+    RateSnapshotStore rateSnapshotStore;
+
+    @BeforeEach
+    void setup() {
+        rateSnapshotStore = new RateSnapshotStore(restTemplate, new CrossRateEngine(), upstreamGuard,
+                lastKnownGoodStore, rateHistoryService, Runnable::run);
+        ReflectionTestUtils.setField(rateSnapshotStore, "currencyRateUrl",
+                "https://api.exchangeratesapi.io/latest?base=%s");
+    }
+
+    private CurrencyConverter pivotTable(double huf) {
+        Map<String, Double> rates = new HashMap<>();
+        rates.put("HUF", huf);
+        rates.put("USD", 1.11);
+
+        CurrencyConverter converter = new CurrencyConverter();
+        converter.setBase("EUR");
+        converter.setDate(LocalDate.now());
+        converter.setRates(rates);
+        return converter;
+    }
+
+    @Test
+    void getRatesFromLoadedSnapshot() {
+        //GIVEN
+        when(restTemplate.getForObject(PIVOT_URL, CurrencyConverter.class))
+                .thenReturn(pivotTable(333.0));
+        rateSnapshotStore.loadOnStartup();
+
+        //WHEN
+        CurrencyConverter huf = rateSnapshotStore.getRates("HUF").orElseThrow();
+        CurrencyConverter usd = rateSnapshotStore.getRates("USD").orElseThrow();
+
+        //THEN
+        verify(restTemplate, times(1)).getForObject(PIVOT_URL, CurrencyConverter.class);
+        verify(rateHistoryService, times(1)).record(any(CurrencyConverter.class));
+        assertNull(huf.getRates().get("HUF"));
+        assertEquals(1.11 / 333.0, huf.getRates().get("USD"));
+        assertEquals(333.0 / 1.11, usd.getRates().get("HUF"));
+        assertTrue(rateSnapshotStore.getRates("HHH").isEmpty());
+        assertEquals(Map.of("HUF", 333.0, "USD", 1.11),
+                rateSnapshotStore.getRanking("EUR").orElseThrow().getHighestAndLowest());
+        assertEquals(1L, rateSnapshotStore.getSnapshot().getVersion());
+        assertFalse(huf.isStale());
+    }
+
+    @Test
+    void addedRatesKeptUntilNextLoad() {
+        //GIVEN
+        when(restTemplate.getForObject(PIVOT_URL, CurrencyConverter.class))
+                .thenReturn(pivotTable(333.0));
+        CurrencyConverter xau = new CurrencyConverter();
+        xau.setBase("XAU");
+        xau.setRates(Map.of("USD", 1550.0));
+        rateSnapshotStore.addRates(xau);
+
+        //WHEN
+        CurrencyConverter added = rateSnapshotStore.getRates("XAU").orElseThrow();
+        added.setStale(true);
+        CurrencyConverter again = rateSnapshotStore.getRates("XAU").orElseThrow();
+        rateSnapshotStore.refresh();
+
+        //THEN
+        assertEquals(1550.0, again.getRates().get("USD"));
+        assertFalse(again.isStale());
+        assertTrue(rateSnapshotStore.getRates("XAU").isEmpty());
+        verify(lastKnownGoodStore).saveRates(any(CurrencyConverter.class));
+        verify(rateHistoryService, times(2)).record(any(CurrencyConverter.class));
+    }
+
+    @Test
+    void getRatesNeverLoadsOnCaller() {
+        //GIVEN
+        //WHEN
+        boolean found = rateSnapshotStore.getRates("HUF").isPresent();
+
+        //THEN
+        assertFalse(found);
+        assertTrue(rateSnapshotStore.getSnapshot().isEmpty());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void seededWithLastKnownGoodPivot() {
+        //GIVEN
+        CurrencyConverter lastKnownGood = pivotTable(320.0);
+        lastKnownGood.setStale(true);
+        when(lastKnownGoodStore.getPivot()).thenReturn(Optional.of(lastKnownGood));
+        when(restTemplate.getForObject(PIVOT_URL, CurrencyConverter.class))
+                .thenReturn(pivotTable(333.0));
+
+        //WHEN
+        RateSnapshotStore seeded = new RateSnapshotStore(restTemplate, new CrossRateEngine(),
+                upstreamGuard, lastKnownGoodStore, rateHistoryService, Runnable::run);
+        ReflectionTestUtils.setField(seeded, "currencyRateUrl",
+                "https://api.exchangeratesapi.io/latest?base=%s");
+        CurrencyConverter stale = seeded.getRates("EUR").orElseThrow();
+        seeded.loadOnStartup();
+
+        //THEN
+        assertTrue(stale.isStale());
+        assertEquals(320.0, stale.getRates().get("HUF"));
+        assertFalse(seeded.getSnapshot().isStale());
+        assertEquals(333.0, seeded.getRates("EUR").orElseThrow().getRates().get("HUF"));
+    }
+
+    @Test
+    void refreshSwapsSnapshot() {
+        //GIVEN
+        when(restTemplate.getForObject(PIVOT_URL, CurrencyConverter.class))
+                .thenReturn(pivotTable(333.0))
+                .thenReturn(pivotTable(330.0));
+        rateSnapshotStore.refresh();
+
+        //WHEN
+        rateSnapshotStore.refresh();
+
+        //THEN
+        assertEquals(330.0, rateSnapshotStore.getRates("EUR").orElseThrow().getRates().get("HUF"));
+        assertEquals(2L, rateSnapshotStore.getSnapshot().getVersion());
+    }
+
+    @Test
+    void refreshKeepsOldSnapshotOnFailure() {
+        //GIVEN
+        when(restTemplate.getForObject(PIVOT_URL, CurrencyConverter.class))
+                .thenReturn(pivotTable(333.0))
+                .thenThrow(new RestClientException("upstream down"));
+        rateSnapshotStore.refresh();
+
+        //WHEN
+        rateSnapshotStore.refresh();
+
+        //THEN
+        assertEquals(333.0, rateSnapshotStore.getRates("EUR").orElseThrow().getRates().get("HUF"));
+        assertEquals(1L, rateSnapshotStore.getSnapshot().getVersion());
+    }
+
+    @Test
+    void refreshSkipsUpstreamWhileCircuitOpen() {
+        //GIVEN
+        when(restTemplate.getForObject(PIVOT_URL, CurrencyConverter.class))
+                .thenReturn(pivotTable(333.0));
+        rateSnapshotStore.refresh();
+        circuitBreakerRegistry.circuitBreaker(UpstreamGuard.CURRENCY_RATE_API).transitionToOpenState();
+
+        //WHEN
+        rateSnapshotStore.refresh();
+
+        //THEN
+        assertEquals(1L, rateSnapshotStore.getSnapshot().getVersion());
+        verify(restTemplate, times(1)).getForObject(PIVOT_URL, CurrencyConverter.class);
+    }
+}
@@ -0,0 +1,149 @@
+package com.practice.currencyconverter.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.CurrencyIndex;
+import com.practice.currencyconverter.model.RateRanking;
+import com.practice.currencyconverter.model.RateTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateTableTest {
+
+    private static final String JSON = "{\"rates\":{\"GBP\":0.0025654372,"
+            + "\"IDR\":45.60031709,\"INR\":0.2357907805},"
+            + "\"base\":\"HUF\",\"date\":\"2020-01-13\"}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void currencyIndex() {
+        //GIVEN
+        //WHEN
+        int huf = CurrencyIndex.indexOf("HUF");
+        int xyz = CurrencyIndex.intern("XYZ");
+
+        //THEN
+        assertEquals("HUF", CurrencyIndex.codeOf(huf));
+        assertEquals(xyz, CurrencyIndex.indexOf("XYZ"));
+        assertEquals(-1, CurrencyIndex.indexOf("huf"));
+        assertEquals(-1, CurrencyIndex.indexOf("HUFF"));
+        assertThrows(IllegalArgumentException.class, () -> CurrencyIndex.intern("H1F"));
+    }
+
+    @Test
+    void of() {
+        //GIVEN
+        Map<String, Double> rates = new LinkedHashMap<>();
+        rates.put("INR", 0.2357907805);
+        rates.put("HUF", 1.0);
+
+        //WHEN
+        RateTable rateTable = RateTable.of(rates);
+
+        //THEN
+        assertEquals(rates, rateTable);
+        assertEquals(2, rateTable.size());
+        assertEquals(0.2357907805, rateTable.rate("INR"));
+        assertTrue(Double.isNaN(rateTable.rate("USD")));
+        assertNull(rateTable.get("USD"));
+        assertSame(rateTable, RateTable.of(rateTable));
+    }
+
+    @Test
+    void without() {
+        //GIVEN
+        RateTable rateTable = new RateTable.Builder()
+                .put("INR", 0.2357907805)
+                .put("HUF", 1.0)
+                .build();
+
+        //WHEN
+        RateTable withoutHuf = rateTable.without("HUF");
+
+        //THEN
+        assertEquals(Map.of("INR", 0.2357907805), withoutHuf);
+        assertTrue(rateTable.containsKey("HUF"));
+        assertSame(withoutHuf, withoutHuf.without("HUF"));
+    }
+
+    @Test
+    void jsonRoundTrip() throws Exception {
+        //GIVEN
+        //WHEN
+        CurrencyConverter converter = objectMapper.readValue(JSON, CurrencyConverter.class);
+
+        //THEN
+        assertEquals(45.60031709, converter.getRates().rate("IDR"));
+        assertEquals(3, converter.getRates().size());
+        assertEquals(objectMapper.readTree(JSON),
+                objectMapper.readTree(objectMapper.writeValueAsString(converter)));
+    }
+
+    @Test
+    void digest() {
+        //GIVEN
+        RateTable rateTable = new RateTable.Builder()
+                .put("INR", 0.2357907805)
+                .put("GBP", 0.0025654372)
+                .build();
+        Map<String, Double> rates = new LinkedHashMap<>();
+        rates.put("GBP", 0.0025654372);
+        rates.put("INR", 0.2357907805);
+
+        //WHEN
+        String digest = rateTable.getDigest();
+
+        //THEN
+        assertEquals(32, digest.length());
+        assertEquals(digest, RateTable.of(rates).getDigest());
+        assertNotEquals(digest, rateTable.without("GBP").getDigest());
+    }
+
+    @Test
+    void staleRanking() {
+        //GIVEN
+        CurrencyConverter currencyRate = new CurrencyConverter();
+        currencyRate.setRates(Map.of("GBP", 0.0025654372, "IDR", 45.60031709));
+        currencyRate.setStale(true);
+
+        //WHEN
+        RateRanking ranking = RateRanking.of(currencyRate);
+
+        //THEN
+        assertTrue(ranking.isStale());
+        assertFalse(RateRanking.of(currencyRate.getRates()).isStale());
+        assertEquals(currencyRate.getRates().getDigest(), ranking.getDigest());
+    }
+
+    @Test
+    void ranking() {
+        //GIVEN
+        RateTable rateTable = new RateTable.Builder()
+                .put("GBP", 0.0025654372)
+                .put("IDR", 45.60031709)
+                .put("INR", 0.2357907805)
+                .put("KRW", 3.8532112836)
+                .build();
+
+        //WHEN
+        RateRanking ranking = RateRanking.of(rateTable);
+
+        //THEN
+        assertEquals(4, ranking.size());
+        assertEquals(Map.of("IDR", 45.60031709, "GBP", 0.0025654372),
+                ranking.getHighestAndLowest());
+        assertEquals(List.of("IDR", "KRW", "INR"), List.copyOf(ranking.getTop(3).keySet()));
+        assertEquals(4, ranking.getTop(10).size());
+        assertTrue(RateRanking.of(new RateTable.Builder().build()).getHighestAndLowest().isEmpty());
+    }
+}
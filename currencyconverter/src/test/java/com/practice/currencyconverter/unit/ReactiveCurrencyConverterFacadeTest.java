@@ -0,0 +1,254 @@
+package com.practice.currencyconverter.unit;
+
+import com.practice.currencyconverter.facade.ReactiveCurrencyConverterFacade;
+import com.practice.currencyconverter.model.Countries;
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.RateSnapshot;
+import com.practice.currencyconverter.service.CrossRateEngine;
+import com.practice.currencyconverter.service.LastKnownGoodStore;
+import com.practice.currencyconverter.service.ReactiveUpstreamGuard;
+import com.practice.currencyconverter.service.RateSnapshotStore;
+import com.practice.currencyconverter.service.UpstreamGuard;
+import com.practice.exception.ResourceNotFoundException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveCurrencyConverterFacadeTest {
+
+    private static final String COUNTRIES_URL = "http://localhost/api/currencies.json";
+    private static final String CURRENCY_RATE_URL = "http://localhost/latest?base=%s";
+    private static final String COUNTRIES = "{\"HUF\":\"Hungarian Forint\",\"INR\":\"Indian Rupee\"}";
+    private static final String HUF_RATES = "{\"base\":\"HUF\",\"date\":\"2020-01-13\","
+            + "\"rates\":{\"GBP\":0.0025654372,\"INR\":0.2357907805,\"HUF\":1.0}}";
+
+    @Mock
+    RateSnapshotStore rateSnapshotStore;
+
+    @Mock
+    LastKnownGoodStore lastKnownGoodStore;
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private final Map<String, ClientResponse> responses = new HashMap<>();
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+
+    private ReactiveCurrencyConverterFacade facade;
+
+    @BeforeEach
+    void setup() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.justOrEmpty(responses.get(request.url().toString()))
+                            .switchIfEmpty(Mono.error(new IllegalStateException("upstream down")));
+                })
+                .build();
+        ReactiveUpstreamGuard upstreamGuard = new ReactiveUpstreamGuard(circuitBreakerRegistry,
+                BulkheadRegistry.ofDefaults(), RateLimiterRegistry.ofDefaults());
+        facade = new ReactiveCurrencyConverterFacade(webClient, rateSnapshotStore,
+                lastKnownGoodStore, upstreamGuard, COUNTRIES_URL,
+                Duration.ofHours(6));
+        ReflectionTestUtils.setField(facade, "currencyRateUrl", CURRENCY_RATE_URL);
+    }
+
+    private void respond(final String url, final HttpStatus status, final String body) {
+        responses.put(url, ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+
+    private static RateSnapshot snapshot() {
+        CurrencyConverter pivot = new CurrencyConverter();
+        pivot.setBase("EUR");
+        pivot.setRates(Map.of("HUF", 334.29, "INR", 78.8225, "GBP", 0.8576));
+        return RateSnapshot.empty().next(new CrossRateEngine().triangulate(pivot));
+    }
+
+    @Test
+    void getCountriesAndCurrenciesFetchedOnce() {
+        //GIVEN
+        respond(COUNTRIES_URL, HttpStatus.OK, COUNTRIES);
+
+        //WHEN
+        Countries countries = facade.getCountriesAndCurrencies().block();
+        String country = facade.getCountryForCurrencyCode("INR").block();
+
+        //THEN
+        assertEquals("Hungarian Forint", countries.getCountries().get("HUF"));
+        assertEquals("Indian Rupee", country);
+        assertFalse(countries.isStale());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void getCountriesAndCurrenciesDefaultsWhenUpstreamFails() {
+        //GIVEN
+        //WHEN
+        Countries countries = facade.getCountriesAndCurrencies().block();
+
+        //THEN
+        assertEquals("Indian Rupee", countries.getCountries().get("INR"));
+        assertTrue(countries.isStale());
+        Exception notFound = assertThrows(Exception.class,
+                () -> facade.getCountryForCurrencyCode("USD").block());
+        assertTrue(Exceptions.unwrap(notFound) instanceof ResourceNotFoundException);
+    }
+
+    @Test
+    void getCurrencyRateFromSnapshot() {
+        //GIVEN
+        when(rateSnapshotStore.getSnapshot()).thenReturn(snapshot());
+        when(rateSnapshotStore.getRates("HUF")).thenReturn(snapshot().getRates("HUF"));
+
+        //WHEN
+        CurrencyConverter rates = facade.getCurrencyRate("HUF").block();
+        Map<String, Double> top = facade.getTopCurrencyRates("HUF", 1).block();
+
+        //THEN
+        assertEquals("HUF", rates.getBase());
+        assertEquals(78.8225 / 334.29, rates.getRates().get("INR"), 1e-12);
+        assertEquals(List.of("INR"), new ArrayList<>(top.keySet()));
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    void getCurrencyRateFetchedWhenBaseNotInSnapshot() {
+        //GIVEN
+        respond(String.format(CURRENCY_RATE_URL, "HUF"), HttpStatus.OK, HUF_RATES);
+
+        //WHEN
+        CurrencyConverter rates = facade.getCurrencyRate("HUF").block();
+
+        //THEN
+        assertEquals("HUF", rates.getBase());
+        assertEquals(2, rates.getRates().size());
+        assertFalse(rates.getRates().containsKey("HUF"));
+        assertEquals(1, requests.size());
+        verify(rateSnapshotStore).addRates(rates);
+    }
+
+    @Test
+    void getCurrencyRateBadRequest() {
+        //GIVEN
+        respond(String.format(CURRENCY_RATE_URL, "HHH"), HttpStatus.BAD_REQUEST,
+                "{\"error\":\"Base 'HHH' is not supported.\"}");
+
+        //WHEN
+        //THEN
+        assertThrows(HttpClientErrorException.BadRequest.class,
+                () -> facade.getCurrencyRate("HHH").block());
+    }
+
+    @Test
+    void getCurrencyRateFailsWithoutFallbackForBase() {
+        //GIVEN
+        when(lastKnownGoodStore.getRatesOrDefaults("XYZ")).thenReturn(Optional.empty());
+
+        //WHEN
+        //THEN
+        assertThrows(RuntimeException.class,
+                () -> facade.getCurrencyRate("XYZ").block());
+    }
+
+    @Test
+    void getCurrencyRateLastKnownGoodWhenUpstreamFails() {
+        //GIVEN
+        CurrencyConverter lastKnownGood = new CurrencyConverter();
+        lastKnownGood.setBase("XYZ");
+        lastKnownGood.setRates(Map.of("INR", 2.0));
+        lastKnownGood.setStale(true);
+        when(lastKnownGoodStore.getRatesOrDefaults("XYZ")).thenReturn(Optional.of(lastKnownGood));
+
+        //WHEN
+        CurrencyConverter rates = facade.getCurrencyRate("XYZ").block();
+
+        //THEN
+        assertEquals("XYZ", rates.getBase());
+        assertTrue(rates.isStale());
+    }
+
+    @Test
+    void getCurrencyRateLastKnownGoodWhenUpstreamReturnsNoRates() {
+        //GIVEN
+        respond(String.format(CURRENCY_RATE_URL, "XYZ"), HttpStatus.OK, "{\"base\":\"XYZ\"}");
+        CurrencyConverter lastKnownGood = new CurrencyConverter();
+        lastKnownGood.setBase("XYZ");
+        lastKnownGood.setRates(Map.of("INR", 2.0));
+        lastKnownGood.setStale(true);
+        when(lastKnownGoodStore.getRatesOrDefaults("XYZ")).thenReturn(Optional.of(lastKnownGood));
+
+        //WHEN
+        CurrencyConverter rates = facade.getCurrencyRate("XYZ").block();
+
+        //THEN
+        assertTrue(rates.isStale());
+        verify(rateSnapshotStore, never()).addRates(any());
+    }
+
+    @Test
+    void getCurrencyRateLastKnownGoodWhileCircuitOpen() {
+        //GIVEN
+        respond(String.format(CURRENCY_RATE_URL, "HUF"), HttpStatus.OK, HUF_RATES);
+        circuitBreakerRegistry.circuitBreaker(UpstreamGuard.CURRENCY_RATE_API)
+                .transitionToOpenState();
+        CurrencyConverter lastKnownGood = new CurrencyConverter();
+        lastKnownGood.setBase("HUF");
+        lastKnownGood.setRates(Map.of("INR", 0.23));
+        lastKnownGood.setStale(true);
+        when(lastKnownGoodStore.getRatesOrDefaults("HUF")).thenReturn(Optional.of(lastKnownGood));
+
+        //WHEN
+        CurrencyConverter rates = facade.getCurrencyRate("HUF").block();
+
+        //THEN
+        assertTrue(rates.isStale());
+        assertEquals(0.23, rates.getRates().get("INR"));
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    void getCountriesAndCurrenciesLastKnownGoodWhileCircuitOpen() {
+        //GIVEN
+        respond(COUNTRIES_URL, HttpStatus.OK, COUNTRIES);
+        circuitBreakerRegistry.circuitBreaker(UpstreamGuard.COUNTRIES_API)
+                .transitionToOpenState();
+
+        //WHEN
+        Countries countries = facade.getCountriesAndCurrencies().block();
+
+        //THEN
+        assertTrue(countries.isStale());
+        assertEquals("Indian Rupee", countries.getCountries().get("INR"));
+        assertTrue(requests.isEmpty());
+    }
+}
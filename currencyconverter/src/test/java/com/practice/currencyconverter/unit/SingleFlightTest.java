@@ -0,0 +1,103 @@
+package com.practice.currencyconverter.unit;
+
+import com.practice.currencyconverter.service.SingleFlight;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void concurrentCallsShareOneLoad() throws Exception {
+        //GIVEN
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        List<Future<String>> results = new ArrayList<>();
+
+        //WHEN
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("USD", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "rates";
+            })));
+        }
+        while (loads.get() == 0) {
+            Thread.onSpinWait();
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        //THEN
+        for (Future<String> result : results) {
+            assertEquals("rates", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.inFlight());
+        executor.shutdown();
+    }
+
+    @Test
+    void errorIsNotCached() {
+        //GIVEN
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("USD", () -> {
+            throw new IllegalStateException("upstream down");
+        }));
+
+        //WHEN
+        String value = singleFlight.execute("USD", () -> "rates");
+
+        //THEN
+        assertEquals("rates", value);
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void followerGetsLeaderError() throws Exception {
+        //GIVEN
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<String> leader = executor.submit(() -> singleFlight.execute("USD", () -> {
+            loads.incrementAndGet();
+            await(release);
+            throw new IllegalStateException("upstream down");
+        }));
+        while (loads.get() == 0) {
+            Thread.onSpinWait();
+        }
+
+        //WHEN
+        Future<String> follower = executor.submit(() -> singleFlight.execute("USD", () -> "unused"));
+        Thread.sleep(100);
+        release.countDown();
+
+        //THEN
+        Exception followerError = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertTrue(followerError.getCause() instanceof IllegalStateException);
+        assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        executor.shutdown();
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
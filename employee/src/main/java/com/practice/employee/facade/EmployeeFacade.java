@@ -220,7 +220,7 @@ public class EmployeeFacade {
      * @return Employee
      * @throws ResourceNotFoundException id not found
      */
-    @Cacheable(cacheNames = "employeeCache")
+    @Cacheable(cacheNames = "employeeCache", sync = true)
     public Employee getEmployeeById(final Long id)
             throws ResourceNotFoundException {
         Employee employee = employeeRepository.findById(id).orElseThrow(
@@ -256,7 +256,7 @@ public class EmployeeFacade {
      * @return List of Employees
      * @throws ResourceNotFoundException email not found
      */
-    @Cacheable(cacheNames = "employeeCache", key = "#email")
+    @Cacheable(cacheNames = "employeeCache", key = "#email", sync = true)
     public List<Employee> getEmployeeByEmail(final String email)
             throws ResourceNotFoundException {
         return employeeRepository.findByEmail(email).orElseThrow(
@@ -0,0 +1,209 @@
+package com.practice.employee.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+
+@Entity
+@Table(indexes = {@Index(name = "alert_delivery_run_group",
+        columnList = "run_date, base, targets", unique = true)})
+public class AlertDelivery {
+    /**
+     * Currency code length.
+     */
+    private static final int CODE_LENGTH = 3;
+    /**
+     * Maximum length of the joined target codes, room for every currency.
+     */
+    private static final int MAX_TARGETS_LENGTH = 1024;
+    /**
+     * Delivery id.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long deliveryId;
+    /**
+     * Date of the alert run, identifying the run.
+     */
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+    /**
+     * Base currency code of the alert group.
+     */
+    @Column(nullable = false, length = CODE_LENGTH)
+    private String base;
+    /**
+     * Sorted target currency codes of the alert group, joined by commas.
+     */
+    @Column(nullable = false, length = MAX_TARGETS_LENGTH)
+    private String targets;
+    /**
+     * Status of the last attempt.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeliveryStatus status;
+    /**
+     * Number of attempts.
+     */
+    @Column(nullable = false)
+    private int attempts;
+    /**
+     * Recipients of the group not reached yet, joined by commas, when an
+     * attempt reached only some of them. Null while every recipient is due.
+     */
+    @Column(columnDefinition = "TEXT")
+    private String unreachedRecipients;
+    /**
+     * Time of the last attempt.
+     */
+    private Instant updatedAt;
+
+    /**
+     * Default constructor.
+     */
+    public AlertDelivery() {
+    }
+
+    /**
+     * Parameterized constructor of a group not attempted yet.
+     *
+     * @param runDate date of the alert run
+     * @param base    base currency code
+     * @param targets sorted target currency codes joined by commas
+     */
+    public AlertDelivery(final LocalDate runDate, final String base,
+                         final String targets) {
+        this.runDate = runDate;
+        this.base = base;
+        this.targets = targets;
+    }
+
+    /**
+     * Record an attempt to send the alert mail of the group.
+     *
+     * @param sent whether the mail was sent
+     */
+    public void recordAttempt(final boolean sent) {
+        this.status = sent ? DeliveryStatus.SENT : DeliveryStatus.FAILED;
+        if (sent) {
+            this.unreachedRecipients = null;
+        }
+        this.attempts++;
+        this.updatedAt = Instant.now();
+    }
+
+    /**
+     * Record an attempt that reached only some of the recipients, so that
+     * the next attempt is sent to the others only.
+     *
+     * @param unreached recipients the mail could not be sent to
+     */
+    public void recordAttempt(final Collection<String> unreached) {
+        if (unreached.isEmpty()) {
+            recordAttempt(true);
+            return;
+        }
+        recordAttempt(false);
+        this.unreachedRecipients = String.join(",", unreached);
+    }
+
+    /**
+     * Getter for delivery id.
+     *
+     * @return delivery id
+     */
+    public Long getDeliveryId() {
+        return deliveryId;
+    }
+
+    /**
+     * Getter for date of the alert run.
+     *
+     * @return date of the alert run
+     */
+    public LocalDate getRunDate() {
+        return runDate;
+    }
+
+    /**
+     * Getter for base currency code.
+     *
+     * @return base currency code
+     */
+    public String getBase() {
+        return base;
+    }
+
+    /**
+     * Getter for sorted target currency codes joined by commas.
+     *
+     * @return target currency codes
+     */
+    public String getTargets() {
+        return targets;
+    }
+
+    /**
+     * Getter for status of the last attempt, null if not attempted.
+     *
+     * @return status of the last attempt
+     */
+    public DeliveryStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Getter for number of attempts.
+     *
+     * @return number of attempts
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Getter for recipients not reached yet, null while every recipient is
+     * due.
+     *
+     * @return recipients not reached yet, joined by commas
+     */
+    public String getUnreachedRecipients() {
+        return unreachedRecipients;
+    }
+
+    /**
+     * Getter for time of the last attempt.
+     *
+     * @return time of the last attempt
+     */
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Overridden toString method.
+     *
+     * @return String
+     */
+    @Override
+    public String toString() {
+        return "AlertDelivery{"
+                + "deliveryId=" + deliveryId
+                + ", runDate=" + runDate
+                + ", base='" + base + '\''
+                + ", targets='" + targets + '\''
+                + ", status=" + status
+                + ", attempts=" + attempts
+                + '}';
+    }
+}
@@ -0,0 +1,12 @@
+package com.practice.employee.model;
+
+public enum DeliveryStatus {
+    /**
+     * Alert mail sent.
+     */
+    SENT,
+    /**
+     * Alert mail failed, retried by a later run of the day.
+     */
+    FAILED
+}
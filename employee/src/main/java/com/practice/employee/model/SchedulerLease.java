@@ -0,0 +1,63 @@
+package com.practice.employee.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.Instant;
+
+@Entity
+public class SchedulerLease {
+    /**
+     * Maximum length of a lease name or owner.
+     */
+    private static final int MAX_NAME_LENGTH = 64;
+    /**
+     * Lease name, the work it guards.
+     */
+    @Id
+    @Column(length = MAX_NAME_LENGTH)
+    private String leaseName;
+    /**
+     * Claim token of the owner holding the lease.
+     */
+    @Column(nullable = false, length = MAX_NAME_LENGTH)
+    private String leaseOwner;
+    /**
+     * Time the lease may be taken over by another owner.
+     */
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * Default constructor.
+     */
+    public SchedulerLease() {
+    }
+
+    /**
+     * Getter for lease name.
+     *
+     * @return lease name
+     */
+    public String getLeaseName() {
+        return leaseName;
+    }
+
+    /**
+     * Getter for claim token of the owner holding the lease.
+     *
+     * @return claim token of the owner
+     */
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    /**
+     * Getter for time the lease may be taken over by another owner.
+     *
+     * @return expiry time
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
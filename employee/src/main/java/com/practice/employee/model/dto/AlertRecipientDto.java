@@ -0,0 +1,87 @@
+package com.practice.employee.model.dto;
+
+public class AlertRecipientDto {
+    /**
+     * Registration id.
+     */
+    private final Integer registrationId;
+    /**
+     * Base currency code.
+     */
+    private final String base;
+    /**
+     * Email of the registered employee.
+     */
+    private final String email;
+    /**
+     * One target currency code of the registration.
+     */
+    private final String target;
+
+    /**
+     * Parameterized constructor, used by the projection query.
+     *
+     * @param registrationId registration id
+     * @param base           base currency code
+     * @param email          email of the registered employee
+     * @param target         one target currency code
+     */
+    public AlertRecipientDto(final Integer registrationId, final String base,
+                             final String email, final String target) {
+        this.registrationId = registrationId;
+        this.base = base;
+        this.email = email;
+        this.target = target;
+    }
+
+    /**
+     * Getter for registration id.
+     *
+     * @return registration id
+     */
+    public Integer getRegistrationId() {
+        return registrationId;
+    }
+
+    /**
+     * Getter for base currency code.
+     *
+     * @return base currency code
+     */
+    public String getBase() {
+        return base;
+    }
+
+    /**
+     * Getter for email of the registered employee.
+     *
+     * @return email
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Getter for one target currency code of the registration.
+     *
+     * @return target currency code
+     */
+    public String getTarget() {
+        return target;
+    }
+
+    /**
+     * Overridden toString method.
+     *
+     * @return String
+     */
+    @Override
+    public String toString() {
+        return "AlertRecipientDto{"
+                + "registrationId=" + registrationId
+                + ", base='" + base + '\''
+                + ", email='" + email + '\''
+                + ", target='" + target + '\''
+                + '}';
+    }
+}
@@ -0,0 +1,43 @@
+package com.practice.employee.repository;
+
+import com.practice.employee.model.AlertDelivery;
+import com.practice.employee.model.DeliveryStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AlertDeliveryRepository extends
+        JpaRepository<AlertDelivery, Long> {
+    /**
+     * To retrieve the alert groups of a base attempted in a run.
+     *
+     * @param runDate date of the alert run
+     * @param base    base currency code
+     * @return attempted alert groups
+     */
+    List<AlertDelivery> findByRunDateAndBase(LocalDate runDate, String base);
+
+    /**
+     * To check whether any alert group was attempted in a run.
+     *
+     * @param runDate date of the alert run
+     * @return true if a group was attempted
+     */
+    boolean existsByRunDate(LocalDate runDate);
+
+    /**
+     * To check whether an alert group of a run has the status below a
+     * number of attempts.
+     *
+     * @param runDate  date of the alert run
+     * @param status   status of the last attempt
+     * @param attempts number of attempts
+     * @return true if such a group exists
+     */
+    boolean existsByRunDateAndStatusAndAttemptsLessThan(LocalDate runDate,
+                                                        DeliveryStatus status,
+                                                        int attempts);
+}
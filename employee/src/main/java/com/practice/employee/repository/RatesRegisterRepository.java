@@ -1,10 +1,35 @@
 package com.practice.employee.repository;
 
 import com.practice.employee.model.RatesRegister;
+import com.practice.employee.model.dto.AlertRecipientDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface RatesRegisterRepository extends
         JpaRepository<RatesRegister, Integer> {
+    /**
+     * To read one page of rows per registration and target with the employee
+     * email, from a single joined query ordered by base and registration,
+     * after the given registration.
+     *
+     * @param base           base currency code of the last registration read
+     * @param registrationId id of the last registration read
+     * @param page           number of rows
+     * @return alert recipients
+     */
+    @Query("SELECT new com.practice.employee.model.dto.AlertRecipientDto("
+            + "r.registrationId, r.base, e.email, t) FROM RatesRegister r"
+            + " JOIN r.employee e JOIN r.target t"
+            + " WHERE r.base > :base OR (r.base = :base"
+            + " AND r.registrationId > :registrationId)"
+            + " ORDER BY r.base, r.registrationId")
+    List<AlertRecipientDto> findAlertRecipientsAfter(
+            @Param("base") String base,
+            @Param("registrationId") Integer registrationId, Pageable page);
 }
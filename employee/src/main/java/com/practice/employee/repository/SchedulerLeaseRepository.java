@@ -0,0 +1,92 @@
+package com.practice.employee.repository;
+
+import com.practice.employee.model.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface SchedulerLeaseRepository extends
+        JpaRepository<SchedulerLease, String> {
+    /**
+     * To extend a lease held by the owner, or take over an expired one, in
+     * its own transaction.
+     *
+     * @param leaseName lease name
+     * @param owner     owner acquiring the lease
+     * @param now       current time
+     * @param expiresAt new expiry time
+     * @return 1 if acquired, 0 if held by another owner or missing
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.leaseOwner = :owner,"
+            + " l.expiresAt = :expiresAt WHERE l.leaseName = :leaseName"
+            + " AND (l.leaseOwner = :owner OR l.expiresAt < :now)")
+    int renew(@Param("leaseName") String leaseName,
+              @Param("owner") String owner,
+              @Param("now") Instant now,
+              @Param("expiresAt") Instant expiresAt);
+
+    /**
+     * To create a lease in its own transaction, failing on the primary key
+     * if another owner created it first.
+     *
+     * @param leaseName lease name
+     * @param owner     owner acquiring the lease
+     * @param expiresAt expiry time
+     * @return 1
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO scheduler_lease(lease_name, lease_owner,"
+            + " expires_at) VALUES (:leaseName, :owner, :expiresAt)",
+            nativeQuery = true)
+    int create(@Param("leaseName") String leaseName,
+               @Param("owner") String owner,
+               @Param("expiresAt") Instant expiresAt);
+
+    /**
+     * To extend a lease still held by the owner, in its own transaction.
+     *
+     * @param leaseName lease name
+     * @param owner     owner holding the lease
+     * @param expiresAt new expiry time
+     * @return 1 if extended, 0 if held by another owner or missing
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.expiresAt = :expiresAt"
+            + " WHERE l.leaseName = :leaseName AND l.leaseOwner = :owner")
+    int extend(@Param("leaseName") String leaseName,
+               @Param("owner") String owner,
+               @Param("expiresAt") Instant expiresAt);
+
+    /**
+     * To delete a lease held by the owner, in its own transaction.
+     *
+     * @param leaseName lease name
+     * @param owner     owner holding the lease
+     * @return 1 if released, 0 if held by another owner or missing
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("DELETE FROM SchedulerLease l WHERE l.leaseName = :leaseName"
+            + " AND l.leaseOwner = :owner")
+    int release(@Param("leaseName") String leaseName,
+                @Param("owner") String owner);
+
+    /**
+     * To check whether any lease whose name starts with the prefix is held.
+     *
+     * @param prefix lease name prefix
+     * @return true if such a lease exists
+     */
+    boolean existsByLeaseNameStartingWith(String prefix);
+}
@@ -0,0 +1,267 @@
+package com.practice.employee.service;
+
+import com.practice.employee.model.AlertDelivery;
+import com.practice.employee.model.DeliveryStatus;
+import com.practice.employee.model.dto.AlertRecipientDto;
+import com.practice.employee.repository.AlertDeliveryRepository;
+import com.practice.employee.repository.RatesRegisterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+
+@Service
+public class AlertDeliveryStore {
+    /**
+     * Logger Object to log the details.
+     */
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(AlertDeliveryStore.class);
+    /**
+     * RatesRegisterRepository object.
+     */
+    private final RatesRegisterRepository registerRepository;
+    /**
+     * AlertDeliveryRepository object.
+     */
+    private final AlertDeliveryRepository deliveryRepository;
+    /**
+     * EntityManager object, to detach the loaded deliveries.
+     */
+    private final EntityManager entityManager;
+    /**
+     * Number of attempts of an alert group in a run before it is given up.
+     */
+    private final int maxAttempts;
+    /**
+     * Number of registration rows read per query.
+     */
+    private final int pageSize;
+
+    /**
+     * Parameterized constructor to bind the objects.
+     *
+     * @param registerRepository RatesRegisterRepository object
+     * @param deliveryRepository AlertDeliveryRepository object
+     * @param entityManager      EntityManager object
+     * @param maxAttempts        attempts of an alert group in a run
+     * @param pageSize           registration rows read per query
+     */
+    public AlertDeliveryStore(final RatesRegisterRepository registerRepository,
+                              final AlertDeliveryRepository deliveryRepository,
+                              final EntityManager entityManager,
+                              @Value("${via.scheduler.alert.max-attempts:3}")
+                              final int maxAttempts,
+                              @Value("${via.scheduler.alert.page-size:500}")
+                              final int pageSize) {
+        this.registerRepository = registerRepository;
+        this.deliveryRepository = deliveryRepository;
+        this.entityManager = entityManager;
+        this.maxAttempts = maxAttempts;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Read the registrations page by page and hand them to the consumer base
+     * by base, grouped by target codes with the emails of each group joined
+     * by commas. No transaction is held while the consumer runs.
+     *
+     * @param consumer consumer of the alert groups of a base
+     */
+    public void forEachBase(
+            final BiConsumer<String, Map<Set<String>, StringJoiner>>
+                    consumer) {
+        groupByBase(new RecipientPages(), consumer);
+    }
+
+    private static void groupByBase(
+            final Iterator<AlertRecipientDto> recipients,
+            final BiConsumer<String, Map<Set<String>, StringJoiner>>
+                    consumer) {
+        Map<Set<String>, StringJoiner> groups = new HashMap<>();
+        Set<String> targets = new HashSet<>();
+        AlertRecipientDto registration = null;
+        while (recipients.hasNext()) {
+            AlertRecipientDto recipient = recipients.next();
+            if (registration != null && !registration.getRegistrationId()
+                    .equals(recipient.getRegistrationId())) {
+                addRecipient(groups, targets, registration.getEmail());
+                targets = new HashSet<>();
+                if (!registration.getBase().equals(recipient.getBase())) {
+                    consumer.accept(registration.getBase(), groups);
+                    groups = new HashMap<>();
+                }
+            }
+            registration = recipient;
+            targets.add(recipient.getTarget());
+        }
+        if (registration != null) {
+            addRecipient(groups, targets, registration.getEmail());
+            consumer.accept(registration.getBase(), groups);
+        }
+    }
+
+    private static void addRecipient(
+            final Map<Set<String>, StringJoiner> groups,
+            final Set<String> targets, final String email) {
+        LOGGER.debug("Alert recipient: {} for {}", email, targets);
+        groups.computeIfAbsent(targets, key -> new StringJoiner(","))
+                .add(email);
+    }
+
+    /**
+     * Get the alert groups of a base still due in a run, not attempted yet
+     * or failed below the maximum number of attempts, with their detached
+     * delivery checkpoint.
+     *
+     * @param runDate date of the alert run
+     * @param base    base currency code
+     * @param groups  target codes of the alert groups
+     * @return deliveries by target codes of the due groups
+     */
+    @Transactional(readOnly = true)
+    public Map<Set<String>, AlertDelivery> getDueDeliveries(
+            final LocalDate runDate, final String base,
+            final Set<Set<String>> groups) {
+        Map<String, AlertDelivery> attempted = new HashMap<>();
+        for (AlertDelivery delivery : deliveryRepository
+                .findByRunDateAndBase(runDate, base)) {
+            entityManager.detach(delivery);
+            attempted.put(delivery.getTargets(), delivery);
+        }
+        Map<Set<String>, AlertDelivery> due = new HashMap<>();
+        for (Set<String> targets : groups) {
+            String key = String.join(",", new TreeSet<>(targets));
+            AlertDelivery delivery = attempted.getOrDefault(key,
+                    new AlertDelivery(runDate, base, key));
+            if (isDue(delivery)) {
+                due.put(targets, delivery);
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Whether an alert group is still due in its run: not sent yet and
+     * below the maximum number of attempts.
+     *
+     * @param delivery delivery checkpoint of the alert group
+     * @return true if the group is to be attempted again
+     */
+    public boolean isDue(final AlertDelivery delivery) {
+        return delivery.getStatus() != DeliveryStatus.SENT
+                && delivery.getAttempts() < maxAttempts;
+    }
+
+    /**
+     * Whether a run is unfinished: no group was attempted yet, or a failed
+     * group is still due.
+     *
+     * @param runDate date of the alert run
+     * @return true if the run has groups left to attempt
+     */
+    public boolean isUnfinished(final LocalDate runDate) {
+        return !deliveryRepository.existsByRunDate(runDate)
+                || deliveryRepository
+                .existsByRunDateAndStatusAndAttemptsLessThan(runDate,
+                        DeliveryStatus.FAILED, maxAttempts);
+    }
+
+    /**
+     * Number of attempts of an alert group in a run before it is given up.
+     *
+     * @return maximum number of attempts
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Checkpoint the attempted alert groups of a base in their own
+     * transaction, so that a later run of the day resumes after them.
+     *
+     * @param deliveries attempted alert groups
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void checkpoint(final Collection<AlertDelivery> deliveries) {
+        deliveryRepository.saveAll(deliveries);
+        LOGGER.debug("Checkpointed {} alert groups", deliveries.size());
+    }
+
+    private final class RecipientPages
+            implements Iterator<AlertRecipientDto> {
+        /**
+         * Rows of the current page not handed out yet.
+         */
+        private Iterator<AlertRecipientDto> page = Collections.emptyIterator();
+        /**
+         * Last registration read, after which the next page starts.
+         */
+        private AlertRecipientDto last;
+        /**
+         * Whether rows may be left after the pages read.
+         */
+        private boolean more = true;
+
+        @Override
+        public boolean hasNext() {
+            if (!page.hasNext() && more) {
+                page = nextPage().iterator();
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public AlertRecipientDto next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.next();
+        }
+
+        private List<AlertRecipientDto> nextPage() {
+            List<AlertRecipientDto> rows = registerRepository
+                    .findAlertRecipientsAfter(
+                            last == null ? "" : last.getBase(),
+                            last == null ? 0 : last.getRegistrationId(),
+                            PageRequest.of(0, pageSize));
+            more = rows.size() == pageSize;
+            int end = rows.size();
+            if (more) {
+                Integer cut = rows.get(end - 1).getRegistrationId();
+                while (end > 0
+                        && rows.get(end - 1).getRegistrationId().equals(cut)) {
+                    end--;
+                }
+                if (end == 0) {
+                    throw new IllegalStateException("Registration " + cut
+                            + " has more targets than a page of "
+                            + pageSize + " rows");
+                }
+            }
+            List<AlertRecipientDto> complete = rows.subList(0, end);
+            if (!complete.isEmpty()) {
+                last = complete.get(end - 1);
+            }
+            return complete;
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package com.practice.employee.service;
+
+import com.practice.currencyconverter.facade.CurrencyConverterFacade;
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.RateTable;
+import com.practice.employee.model.AlertDelivery;
+import com.practice.employee.model.DeliveryStatus;
+import com.practice.message.factory.AbstractFactory;
+import com.practice.message.model.Content;
+import com.practice.message.service.MessagingService;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class AlertDispatcher {
+    /**
+     * Logger Object to log the details.
+     */
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(AlertDispatcher.class);
+    /**
+     * Scheduler mail subject.
+     */
+    private static final String EMAIL_SUBJECT = "<SAKTHI-VIA> Currency Rate "
+            + "as of " + LocalDate.now();
+    /**
+     * Scheduler mail template.
+     */
+    private static final String MAIL_TEMPLATE = "schedulerMailTemplate";
+    /**
+     * Rate limiter configuration of a mail destination.
+     */
+    private static final String DESTINATION_LIMITER_CONFIG =
+            "alertDestination";
+    /**
+     * Rate limiter name prefix of a mail destination.
+     */
+    private static final String DESTINATION_LIMITER_PREFIX = "alert-";
+    /**
+     * Lease name prefix of the alerts of a base in a run.
+     */
+    private static final String ALERT_LEASE_PREFIX = "alert-";
+    /**
+     * Median.
+     */
+    private static final double P50 = 0.5;
+    /**
+     * 95th percentile.
+     */
+    private static final double P95 = 0.95;
+    /**
+     * 99th percentile.
+     */
+    private static final double P99 = 0.99;
+    /**
+     * Messaging Service object.
+     */
+    private final AbstractFactory<MessagingService> abstractFactory;
+    /**
+     * AlertDeliveryStore object.
+     */
+    private final AlertDeliveryStore alertDeliveryStore;
+    /**
+     * CurrencyConverterFacade object.
+     */
+    private final CurrencyConverterFacade currencyConverterFacade;
+    /**
+     * SchedulerLeaseService object.
+     */
+    private final SchedulerLeaseService leaseService;
+    /**
+     * Rate limiters by mail destination domain.
+     */
+    private final RateLimiterRegistry rateLimiterRegistry;
+    /**
+     * Scheduler of the retries of the failed alert groups.
+     */
+    private final TaskScheduler taskScheduler;
+    /**
+     * Time between the attempts of a failed alert group in a run.
+     */
+    @Value("${via.scheduler.alert.retry-delay:1m}")
+    private Duration retryDelay;
+    /**
+     * Timer of rendering and sending the alert mails of one group.
+     */
+    private final Timer mailTimer;
+
+    /**
+     * Parameterized constructor to bind the objects.
+     *
+     * @param abstractFactory         Abstract Factory of type Messaging Service
+     * @param alertDeliveryStore      AlertDeliveryStore object
+     * @param currencyConverterFacade CurrencyConverterFacade object
+     * @param leaseService            SchedulerLeaseService object
+     * @param rateLimiterRegistry     rate limiter registry
+     * @param meterRegistry           meter registry
+     * @param taskScheduler           scheduler of the retries
+     */
+    public AlertDispatcher(final AbstractFactory<MessagingService>
+                                   abstractFactory,
+                           final AlertDeliveryStore alertDeliveryStore,
+                           final CurrencyConverterFacade
+                                   currencyConverterFacade,
+                           final SchedulerLeaseService leaseService,
+                           final RateLimiterRegistry rateLimiterRegistry,
+                           final MeterRegistry meterRegistry,
+                           final TaskScheduler taskScheduler) {
+        this.abstractFactory = abstractFactory;
+        this.alertDeliveryStore = alertDeliveryStore;
+        this.currencyConverterFacade = currencyConverterFacade;
+        this.leaseService = leaseService;
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.taskScheduler = taskScheduler;
+        this.mailTimer = Timer.builder("via.alert.mail")
+                .description("Time to render and send the mails of a group")
+                .publishPercentiles(P50, P95, P99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Send the due alert groups of a base on the workers of the run, if the
+     * run acquires the lease of the base.
+     *
+     * @param run      alert run
+     * @param baseCode base currency code
+     * @param groups   emails by target codes
+     * @return true if any group of the base was dispatched
+     */
+    boolean dispatch(final AlertRun run, final String baseCode,
+                     final Map<Set<String>, StringJoiner> groups) {
+        String lease = leaseName(run, baseCode);
+        if (!leaseService.tryAcquire(lease, run.getClaim())) {
+            LOGGER.debug("Alerts of {} run by another run", baseCode);
+            return false;
+        }
+        Map<Set<String>, AlertDelivery> due = alertDeliveryStore
+                .getDueDeliveries(run.getRunDate(), baseCode, groups.keySet());
+        if (due.isEmpty()) {
+            leaseService.release(lease, run.getClaim());
+            return false;
+        }
+        send(run, baseCode, due, groups);
+        return true;
+    }
+
+    /**
+     * Attempt the failed alert groups of the run again in tasks scheduled
+     * after the retry delay, until they are sent or reach their maximum
+     * number of attempts, and then end the run.
+     *
+     * @param run  alert run
+     * @param done end of the run
+     */
+    void retryFailed(final AlertRun run, final Runnable done) {
+        retryFailed(run, 1, done);
+    }
+
+    /**
+     * Whether the run of a day is unfinished: a group of the run is still
+     * due, or a base of the run is still leased.
+     *
+     * @param runDate date of the alert run
+     * @return true if the run has groups left to attempt
+     */
+    boolean isUnfinished(final LocalDate runDate) {
+        return alertDeliveryStore.isUnfinished(runDate)
+                || leaseService.isAnyHeld(ALERT_LEASE_PREFIX + runDate + "-");
+    }
+
+    private void retryFailed(final AlertRun run, final int attempt,
+                             final Runnable done) {
+        if (!run.hasRetries()
+                || attempt >= alertDeliveryStore.getMaxAttempts()) {
+            done.run();
+            return;
+        }
+        try {
+            taskScheduler.schedule(() -> {
+                try {
+                    run.drainRetries().forEach((baseCode, groups) ->
+                            dispatch(run, baseCode, groups));
+                    run.awaitAll();
+                } catch (RuntimeException e) {
+                    LOGGER.error("Alert retry {} failed", attempt, e);
+                }
+                retryFailed(run, attempt + 1, done);
+            }, Instant.now().plus(retryDelay));
+        } catch (TaskRejectedException e) {
+            LOGGER.warn("Alert retries not scheduled, {} failed groups left"
+                    + " to a later run", run.getRetryCount(), e);
+            done.run();
+        }
+    }
+
+    private void send(final AlertRun run, final String baseCode,
+                      final Map<Set<String>, AlertDelivery> due,
+                      final Map<Set<String>, StringJoiner> groups) {
+        run.startBase();
+        Queue<AlertDelivery> attempted = new ConcurrentLinkedQueue<>();
+        CompletableFuture<RateTable> latestRates = CompletableFuture
+                .supplyAsync(() -> getLatestRates(baseCode, due.keySet()),
+                        run.getWorkers());
+        CompletableFuture<?>[] mails = due.entrySet().stream()
+                .map(group -> latestRates.thenApplyAsync(rates ->
+                        sendMail(run, baseCode,
+                                select(rates, group.getKey()),
+                                groups.get(group.getKey()), group.getValue()),
+                        run.getWorkers())
+                        .handle((unreached, e) -> {
+                            if (recordAttempt(run, baseCode, group,
+                                    groups.get(group.getKey()), unreached,
+                                    e)) {
+                                attempted.add(group.getValue());
+                            }
+                            return null;
+                        }))
+                .toArray(CompletableFuture[]::new);
+        run.countMails(mails.length);
+        CompletableFuture.allOf(mails).whenComplete((ignored, e) -> {
+            try {
+                checkpoint(run, baseCode, attempted);
+            } finally {
+                run.endBase();
+            }
+        });
+    }
+
+    private boolean recordAttempt(final AlertRun run, final String baseCode,
+                                  final Map.Entry<Set<String>, AlertDelivery>
+                                          group,
+                                  final StringJoiner recipients,
+                                  final Optional<Set<String>> unreached,
+                                  final Throwable e) {
+        AlertDelivery delivery = group.getValue();
+        if (e != null) {
+            delivery.recordAttempt(false);
+            LOGGER.error("Alert mail failed for {} to {}", baseCode,
+                    group.getKey(), e);
+        } else if (unreached.isPresent()) {
+            delivery.recordAttempt(unreached.get());
+            if (!unreached.get().isEmpty()) {
+                LOGGER.error("Alert mail for {} to {} not sent to {}",
+                        baseCode, group.getKey(), unreached.get());
+            }
+        } else {
+            return false;
+        }
+        if (delivery.getStatus() == DeliveryStatus.FAILED) {
+            run.countFailure();
+            if (alertDeliveryStore.isDue(delivery)) {
+                run.retry(baseCode, group.getKey(), recipients);
+            }
+        }
+        return true;
+    }
+
+    private void checkpoint(final AlertRun run, final String baseCode,
+                            final Collection<AlertDelivery> deliveries) {
+        if (deliveries.isEmpty()) {
+            return;
+        }
+        try {
+            alertDeliveryStore.checkpoint(deliveries);
+        } catch (DataAccessException | TransactionException e) {
+            LOGGER.error("Alert checkpoint of {} failed, {} groups may be sent"
+                    + " again by the next run", baseCode, deliveries.size(), e);
+            return;
+        }
+        try {
+            leaseService.release(leaseName(run, baseCode), run.getClaim());
+        } catch (DataAccessException | TransactionException e) {
+            LOGGER.warn("Alert lease of {} not released, it expires", baseCode,
+                    e);
+        }
+    }
+
+    private static String leaseName(final AlertRun run,
+                                    final String baseCode) {
+        return ALERT_LEASE_PREFIX + run.getRunDate() + "-" + baseCode;
+    }
+
+    private RateTable getLatestRates(final String baseCode,
+                                     final Set<Set<String>> targetsSets) {
+        Set<String> targets = new HashSet<>();
+        targetsSets.forEach(targets::addAll);
+        CurrencyConverter currencyRate = currencyConverterFacade
+                .getCurrencyRateWithTarget(baseCode, targets);
+        if (currencyRate.isStale()) {
+            throw new IllegalStateException("Only stale rates of " + baseCode
+                    + " available, the alerts are sent by a later run");
+        }
+        return currencyRate.getRates();
+    }
+
+    private static Map<String, Double> select(final RateTable rates,
+                                              final Set<String> targets) {
+        if (targets.containsAll(rates.keySet())) {
+            return rates;
+        }
+        RateTable.Builder selected = new RateTable.Builder();
+        targets.stream().filter(rates::containsKey)
+                .forEach(target -> selected.put(target, rates.rate(target)));
+        return selected.build();
+    }
+
+    private Optional<Set<String>> sendMail(final AlertRun run,
+                                           final String key,
+                                           final Map<String, Double> targets,
+                                           final StringJoiner toAddress,
+                                           final AlertDelivery delivery) {
+        String to = pendingRecipients(toAddress, delivery);
+        if (to.isEmpty()) {
+            return Optional.of(Collections.emptySet());
+        }
+        awaitDestinations(to);
+        if (!leaseService.renew(leaseName(run, key), run.getClaim())) {
+            LOGGER.warn("Alerts of {} to {} left to the run that took them"
+                    + " over", key, targets.keySet());
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        Set<String> unreached = abstractFactory.create("email")
+                .sendEach(Content.builder()
+                        .setTo(to)
+                        .setSubject(EMAIL_SUBJECT)
+                        .setBody(Map.of("base", key, "targets", targets))
+                        .setTemplate(MAIL_TEMPLATE)
+                        .createMail());
+        long mailTime = System.nanoTime() - start;
+        mailTimer.record(mailTime, TimeUnit.NANOSECONDS);
+        run.recordMailTime(mailTime);
+        return Optional.of(unreached);
+    }
+
+    private static String pendingRecipients(final StringJoiner recipients,
+                                            final AlertDelivery delivery) {
+        if (delivery.getUnreachedRecipients() == null) {
+            return recipients.toString();
+        }
+        Set<String> unreached = new HashSet<>(Arrays.asList(
+                delivery.getUnreachedRecipients().split(",")));
+        StringJoiner pending = new StringJoiner(",");
+        for (String address : recipients.toString().split(",")) {
+            if (unreached.contains(address)) {
+                pending.add(address);
+            }
+        }
+        return pending.toString();
+    }
+
+    private void awaitDestinations(final String to) {
+        for (String address : to.split(",")) {
+            RateLimiter.waitForPermission(rateLimiterRegistry.rateLimiter(
+                    DESTINATION_LIMITER_PREFIX + address.substring(
+                            address.lastIndexOf('@') + 1)
+                            .toLowerCase(Locale.ROOT),
+                    DESTINATION_LIMITER_CONFIG));
+        }
+    }
+}
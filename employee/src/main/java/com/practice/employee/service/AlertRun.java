@@ -0,0 +1,264 @@
+package com.practice.employee.service;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class AlertRun {
+    /**
+     * Number of bases read ahead per worker while their mails are sent.
+     */
+    private static final int BASES_IN_FLIGHT_PER_WORKER = 2;
+    /**
+     * Date of the run, identifying the run.
+     */
+    private final LocalDate runDate;
+    /**
+     * Claim token of the run, owner of the leases it acquires.
+     */
+    private final String claim = UUID.randomUUID().toString();
+    /**
+     * Workers fetching the rates and sending the mails.
+     */
+    private final ExecutorService workers;
+    /**
+     * Number of bases that may be in flight.
+     */
+    private final int maxBasesInFlight;
+    /**
+     * Permits of the bases in flight.
+     */
+    private final Semaphore basesInFlight;
+    /**
+     * Number of bases.
+     */
+    private final AtomicInteger bases = new AtomicInteger();
+    /**
+     * Number of mails.
+     */
+    private final AtomicInteger mails = new AtomicInteger();
+    /**
+     * Number of failed mails.
+     */
+    private final AtomicInteger failures = new AtomicInteger();
+    /**
+     * Time to render and send each mail, in ns.
+     */
+    private final Queue<Long> mailTimes = new ConcurrentLinkedQueue<>();
+    /**
+     * Failed alert groups to attempt again.
+     */
+    private final Queue<FailedGroup> retries = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param runDate       date of the run
+     * @param parallelism   number of workers
+     * @param threadFactory factory of the worker threads
+     */
+    AlertRun(final LocalDate runDate, final int parallelism,
+             final ThreadFactory threadFactory) {
+        this.runDate = runDate;
+        this.workers = Executors.newFixedThreadPool(parallelism,
+                threadFactory);
+        this.maxBasesInFlight = parallelism * BASES_IN_FLIGHT_PER_WORKER;
+        this.basesInFlight = new Semaphore(maxBasesInFlight);
+    }
+
+    /**
+     * Getter for run date.
+     *
+     * @return run date
+     */
+    LocalDate getRunDate() {
+        return runDate;
+    }
+
+    /**
+     * Getter for claim token.
+     *
+     * @return claim token
+     */
+    String getClaim() {
+        return claim;
+    }
+
+    /**
+     * Getter for workers.
+     *
+     * @return workers
+     */
+    ExecutorService getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Wait until a base may be put in flight.
+     */
+    void startBase() {
+        basesInFlight.acquireUninterruptibly();
+    }
+
+    /**
+     * Take a base out of flight.
+     */
+    void endBase() {
+        basesInFlight.release();
+    }
+
+    /**
+     * Wait until no base is in flight.
+     */
+    void awaitAll() {
+        basesInFlight.acquireUninterruptibly(maxBasesInFlight);
+        basesInFlight.release(maxBasesInFlight);
+    }
+
+    /**
+     * Count a dispatched base.
+     */
+    void countBase() {
+        bases.incrementAndGet();
+    }
+
+    /**
+     * Count attempted mails.
+     *
+     * @param count number of mails
+     */
+    void countMails(final int count) {
+        mails.addAndGet(count);
+    }
+
+    /**
+     * Count a failed mail.
+     */
+    void countFailure() {
+        failures.incrementAndGet();
+    }
+
+    /**
+     * Record the time to render and send a mail.
+     *
+     * @param mailTime time in ns
+     */
+    void recordMailTime(final long mailTime) {
+        mailTimes.add(mailTime);
+    }
+
+    /**
+     * Getter for number of bases.
+     *
+     * @return number of bases
+     */
+    int getBases() {
+        return bases.get();
+    }
+
+    /**
+     * Getter for number of mails.
+     *
+     * @return number of mails
+     */
+    int getMails() {
+        return mails.get();
+    }
+
+    /**
+     * Getter for number of failed mails.
+     *
+     * @return number of failed mails
+     */
+    int getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * Times to render and send the mails, from the shortest.
+     *
+     * @return sorted times in ns
+     */
+    long[] getSortedMailTimes() {
+        return mailTimes.stream().mapToLong(Long::longValue).sorted()
+                .toArray();
+    }
+
+    /**
+     * Keep a failed alert group to attempt again.
+     *
+     * @param base       base currency code
+     * @param targets    target codes of the group
+     * @param recipients emails of the group, joined by commas
+     */
+    void retry(final String base, final Set<String> targets,
+               final StringJoiner recipients) {
+        retries.add(new FailedGroup(base, targets, recipients));
+    }
+
+    /**
+     * Whether failed alert groups are left to attempt again.
+     *
+     * @return true if any group is to be retried
+     */
+    boolean hasRetries() {
+        return !retries.isEmpty();
+    }
+
+    /**
+     * Number of failed alert groups left to attempt again.
+     *
+     * @return number of groups
+     */
+    int getRetryCount() {
+        return retries.size();
+    }
+
+    /**
+     * Take the failed alert groups to attempt again.
+     *
+     * @return alert groups by base, emails by target codes
+     */
+    Map<String, Map<Set<String>, StringJoiner>> drainRetries() {
+        Map<String, Map<Set<String>, StringJoiner>> failedGroups =
+                new HashMap<>();
+        for (FailedGroup failed = retries.poll(); failed != null;
+             failed = retries.poll()) {
+            failedGroups.computeIfAbsent(failed.base, base -> new HashMap<>())
+                    .put(failed.targets, failed.recipients);
+        }
+        return failedGroups;
+    }
+
+    private static final class FailedGroup {
+        /**
+         * Base currency code of the group.
+         */
+        private final String base;
+        /**
+         * Target codes of the group.
+         */
+        private final Set<String> targets;
+        /**
+         * Emails of the group, joined by commas.
+         */
+        private final StringJoiner recipients;
+
+        private FailedGroup(final String base, final Set<String> targets,
+                            final StringJoiner recipients) {
+            this.base = base;
+            this.targets = targets;
+            this.recipients = recipients;
+        }
+    }
+}
@@ -1,24 +1,22 @@
 package com.practice.employee.service;
 
-import com.practice.currencyconverter.facade.CurrencyConverterFacade;
-import com.practice.currencyconverter.model.CurrencyConverter;
-import com.practice.employee.model.Employee;
-import com.practice.employee.model.RatesRegister;
-import com.practice.employee.repository.RatesRegisterRepository;
-import com.practice.message.factory.AbstractFactory;
-import com.practice.message.model.Content;
-import com.practice.message.service.MessagingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronSequenceGenerator;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.StringJoiner;
-import java.util.stream.Collectors;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class DailyAlertSchedulerService {
@@ -28,107 +26,131 @@ public class DailyAlertSchedulerService {
     private static final Logger LOGGER = LoggerFactory
             .getLogger(DailyAlertSchedulerService.class);
     /**
-     * Scheduler mail subject.
+     * Median.
      */
-    private static final String EMAIL_SUBJECT = "<SAKTHI-VIA> Currency Rate "
-            + "as of " + LocalDate.now();
+    private static final double P50 = 0.5;
     /**
-     * Scheduler mail template.
+     * 95th percentile.
      */
-    private static final String MAIL_TEMPLATE = "schedulerMailTemplate";
+    private static final double P95 = 0.95;
     /**
-     * Messaging Service object.
+     * 99th percentile.
      */
-    private final AbstractFactory<MessagingService> abstractFactory;
+    private static final double P99 = 0.99;
     /**
-     * RatesRegisterRepository object.
+     * AlertDeliveryStore object.
      */
-    private final RatesRegisterRepository registerRepository;
+    private final AlertDeliveryStore alertDeliveryStore;
     /**
-     * CurrencyConverterFacade object.
+     * AlertDispatcher object.
      */
-    private final CurrencyConverterFacade currencyConverterFacade;
+    private final AlertDispatcher alertDispatcher;
+    /**
+     * Factory of the worker threads, virtual in the virtual thread mode.
+     */
+    private final ThreadFactory workerThreadFactory;
+    /**
+     * Number of workers fetching the rates and sending the mails.
+     */
+    @Value("${via.scheduler.alert.parallelism:4}")
+    private int parallelism;
+    /**
+     * Cron expression of the daily alert job.
+     */
+    @Value("${via.scheduler.cron.value}")
+    private String cron;
+    /**
+     * Timer of a whole alert job.
+     */
+    private final Timer jobTimer;
 
     /**
      * Parameterized constructor to bind the objects.
      *
-     * @param abstractFactory         Abstract Factory of type Messaging Service
-     * @param registerRepository      RatesRegisterRepository object
-     * @param currencyConverterFacade CurrencyConverterFacade object
+     * @param alertDeliveryStore  AlertDeliveryStore object
+     * @param alertDispatcher     AlertDispatcher object
+     * @param meterRegistry       meter registry
+     * @param workerThreadFactory factory of the worker threads
      */
-    public DailyAlertSchedulerService(final AbstractFactory<MessagingService>
-                                              abstractFactory,
-                                      final RatesRegisterRepository
-                                              registerRepository,
-                                      final CurrencyConverterFacade
-                                              currencyConverterFacade) {
-        this.abstractFactory = abstractFactory;
-        this.registerRepository = registerRepository;
-        this.currencyConverterFacade = currencyConverterFacade;
+    public DailyAlertSchedulerService(final AlertDeliveryStore
+                                              alertDeliveryStore,
+                                      final AlertDispatcher alertDispatcher,
+                                      final MeterRegistry meterRegistry,
+                                      @Qualifier("alertThreadFactory")
+                                      final ThreadFactory
+                                              workerThreadFactory) {
+        this.alertDeliveryStore = alertDeliveryStore;
+        this.alertDispatcher = alertDispatcher;
+        this.workerThreadFactory = workerThreadFactory;
+        this.jobTimer = Timer.builder("via.alert.job")
+                .description("Time of a daily alert job")
+                .register(meterRegistry);
     }
 
     /**
-     * Method to schedule the currency rate.
+     * Method to schedule the currency rate. The registrations are read base
+     * by base and their alert groups mailed by a bounded pool of workers.
      */
     @Scheduled(cron = "${via.scheduler.cron.value}")
     public void dailyEmailAlertScheduler() {
-
-        Map<String, Map<Set<String>, List<RatesRegister>>>
-                registeredForAlerts = getAlertRegistrationDetails();
-
-        registeredForAlerts.forEach((baseCode, targetDetailsMap) ->
-                targetDetailsMap.forEach((targetsSet, ratesRegistersList) ->
-                        sendMail(baseCode, getLatestRates(baseCode, targetsSet),
-                                getToAddresses(ratesRegistersList))
-                ));
-    }
-
-    private Map<String, Map<Set<String>,
-            List<RatesRegister>>> getAlertRegistrationDetails() {
-        List<RatesRegister> ratesRegisters = registerRepository.findAll();
-        LOGGER.debug("Rates registers: {}", ratesRegisters);
-
-        Map<String, Map<Set<String>, List<RatesRegister>>>
-                groupByBaseTargets = ratesRegisters.stream().collect(
-                Collectors.groupingBy(RatesRegister::getBase,
-                        Collectors.groupingBy(RatesRegister::getTarget)
-                ));
-        LOGGER.debug("Rates registers Group by: {}", groupByBaseTargets);
-
-        return groupByBaseTargets;
+        long start = System.nanoTime();
+
+        AlertRun run = new AlertRun(LocalDate.now(), parallelism,
+                workerThreadFactory);
+        try {
+            alertDeliveryStore.forEachBase((baseCode, groups) -> {
+                if (alertDispatcher.dispatch(run, baseCode, groups)) {
+                    run.countBase();
+                }
+            });
+            run.awaitAll();
+        } catch (RuntimeException e) {
+            run.getWorkers().shutdown();
+            throw e;
+        }
+        alertDispatcher.retryFailed(run, () -> {
+            run.getWorkers().shutdown();
+            long jobTime = System.nanoTime() - start;
+            jobTimer.record(jobTime, TimeUnit.NANOSECONDS);
+            report(run, jobTime);
+        });
     }
 
-    private Map<String, Double> getLatestRates(
-            final String baseCode,
-            final Set<String> targetsSet) {
-        CurrencyConverter currencyRate = currencyConverterFacade
-                .getCurrencyRateWithTarget(baseCode,
-                        targetsSet);
-        return currencyRate.getRates();
+    /**
+     * Resume the run of the day once the application is ready, if its
+     * scheduled time has passed and it is unfinished, on a thread of its own.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOnStartup() {
+        LocalDate today = LocalDate.now();
+        Date firstRun = new CronSequenceGenerator(cron).next(Date.from(
+                today.atStartOfDay(ZoneId.systemDefault()).toInstant()
+                        .minusSeconds(1)));
+        if (firstRun.after(new Date())
+                || !alertDispatcher.isUnfinished(today)) {
+            return;
+        }
+        LOGGER.info("Resuming the daily alert run of {}", today);
+        workerThreadFactory.newThread(this::dailyEmailAlertScheduler).start();
     }
 
-    private StringJoiner getToAddresses(
-            final List<RatesRegister> ratesRegistersList) {
-        StringJoiner toAddress = new StringJoiner(",");
-        ratesRegistersList.forEach(ratesRegister -> {
-            Employee employee = ratesRegister.getEmployee();
-            LOGGER.debug("Employee: {}", employee);
-            toAddress.add(employee.getEmail());
-        });
-        return toAddress;
+    private static void report(final AlertRun run, final long jobTime) {
+        long[] sorted = run.getSortedMailTimes();
+        LOGGER.info("Daily alert job sent {} of {} attempted mails for {}"
+                        + " bases in {} ms, mail time p50 {} ms, p95 {} ms,"
+                        + " p99 {} ms",
+                run.getMails() - run.getFailures(), run.getMails(),
+                run.getBases(), TimeUnit.NANOSECONDS.toMillis(jobTime),
+                percentile(sorted, P50), percentile(sorted, P95),
+                percentile(sorted, P99));
     }
 
-    private void sendMail(final String key,
-                          final Map<String, Double> targets,
-                          final StringJoiner toAddress) {
-
-        abstractFactory.create("email").send(Content.builder()
-                .setTo(toAddress.toString())
-                .setSubject(EMAIL_SUBJECT)
-                .setBody(Map.of("base", key, "targets", targets))
-                .setTemplate(MAIL_TEMPLATE)
-                .createMail());
-
+    private static long percentile(final long[] sorted,
+                                   final double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(rank, 1) - 1]);
     }
-
 }
@@ -3,6 +3,9 @@ package com.practice.employee.service;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -16,7 +19,7 @@ import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
 @Service
-public class OtpService {
+public class OtpService implements MeterBinder {
     /**
      * Logger Object to log the details.
      */
@@ -46,6 +49,10 @@ public class OtpService {
      * Cache key format for expiry time.
      */
     private static final String EXPIRY_TIME_FORMAT = "%d-expiryTime";
+    /**
+     * Cache name in the cache metrics.
+     */
+    private static final String OTP_CACHE_NAME = "otpCache";
     /**
      * To generate random number.
      */
@@ -59,6 +66,7 @@ public class OtpService {
         random = SecureRandom.getInstanceStrong();
         otpCache = CacheBuilder.newBuilder()
                 .expireAfterWrite(OTP_EXPIRE_MINUTES, TimeUnit.MINUTES)
+                .recordStats()
                 .build(new CacheLoader<>() {
                     @Override
                     public Integer load(final Object key) {
@@ -68,6 +76,16 @@ public class OtpService {
 
     }
 
+    /**
+     * Bind the otp cache statistics to the cache metrics.
+     *
+     * @param registry meter registry
+     */
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        GuavaCacheMetrics.monitor(registry, otpCache, OTP_CACHE_NAME);
+    }
+
     /**
      * Method to generate otp.
      *
@@ -0,0 +1,112 @@
+package com.practice.employee.service;
+
+import com.practice.employee.repository.SchedulerLeaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Service
+public class SchedulerLeaseService {
+    /**
+     * Logger Object to log the details.
+     */
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(SchedulerLeaseService.class);
+    /**
+     * SchedulerLeaseRepository object.
+     */
+    private final SchedulerLeaseRepository leaseRepository;
+    /**
+     * Time a lease is held, unless renewed, before another owner may take
+     * it over. Longer than the longest wait of an owner between renewals.
+     */
+    private final Duration leaseTtl;
+
+    /**
+     * Parameterized constructor to bind the objects.
+     *
+     * @param leaseRepository SchedulerLeaseRepository object
+     * @param leaseTtl        time a lease is held
+     */
+    public SchedulerLeaseService(
+            final SchedulerLeaseRepository leaseRepository,
+            @Value("${via.scheduler.lease.ttl:30m}") final Duration leaseTtl) {
+        this.leaseRepository = leaseRepository;
+        this.leaseTtl = leaseTtl;
+    }
+
+    /**
+     * Try to acquire the named lease for the owner in the shared database,
+     * so that the work it guards runs once in the cluster. The owner is a
+     * claim token of its own per piece of work, such as a run, so that two
+     * runs on the same node do not share a lease. A lease already held by
+     * the owner is extended, one held by another owner is acquired only
+     * once expired, after that owner stopped or hung.
+     *
+     * @param leaseName lease name, the work it guards
+     * @param owner     claim token of the owner
+     * @return true if the owner holds the lease
+     */
+    public boolean tryAcquire(final String leaseName, final String owner) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(leaseTtl);
+        if (leaseRepository.renew(leaseName, owner, now, expiresAt) > 0) {
+            return true;
+        }
+        if (leaseRepository.existsById(leaseName)) {
+            LOGGER.debug("Lease {} held by another owner", leaseName);
+            return false;
+        }
+        try {
+            return leaseRepository.create(leaseName, owner, expiresAt) > 0;
+        } catch (DataIntegrityViolationException e) {
+            LOGGER.debug("Lease {} created by another owner", leaseName);
+            return false;
+        }
+    }
+
+    /**
+     * Extend the named lease if the owner still holds it. A lease taken
+     * over by another owner is not taken back, its work is left to it.
+     *
+     * @param leaseName lease name, the work it guards
+     * @param owner     claim token of the owner
+     * @return true if the owner still holds the lease
+     */
+    public boolean renew(final String leaseName, final String owner) {
+        if (leaseRepository.extend(leaseName, owner,
+                Instant.now().plus(leaseTtl)) > 0) {
+            return true;
+        }
+        LOGGER.warn("Lease {} lost to another owner", leaseName);
+        return false;
+    }
+
+    /**
+     * Release the named lease if the owner holds it, once its work is
+     * done and recorded, so that the work is not held up until the lease
+     * expires.
+     *
+     * @param leaseName lease name, the work it guards
+     * @param owner     claim token of the owner
+     */
+    public void release(final String leaseName, final String owner) {
+        leaseRepository.release(leaseName, owner);
+    }
+
+    /**
+     * Whether any lease whose name starts with the prefix is still held,
+     * its work unfinished, expired or not.
+     *
+     * @param prefix lease name prefix
+     * @return true if such a lease is held
+     */
+    public boolean isAnyHeld(final String prefix) {
+        return leaseRepository.existsByLeaseNameStartingWith(prefix);
+    }
+}
@@ -35,7 +35,7 @@ public class TargetCodeValidator
     public boolean isValid(final Set<String> target,
                            final ConstraintValidatorContext context) {
         Map<String, String> codes = currencyConverterFacade
-                .getCountriesAndCurrencies();
+                .getCountriesAndCurrencies().getCountries();
         return target.stream().allMatch(codes::containsKey);
     }
 
@@ -3,35 +3,58 @@ package com.practice.employee.unit;
 import com.practice.currencyconverter.facade.CurrencyConverterFacade;
 import com.practice.currencyconverter.model.CurrencyConverter;
 import com.practice.employee.service.DailyAlertSchedulerService;
-import com.practice.employee.model.Employee;
-import com.practice.employee.model.RatesRegister;
+import com.practice.employee.model.AlertDelivery;
+import com.practice.employee.model.DeliveryStatus;
+import com.practice.employee.model.dto.AlertRecipientDto;
+import com.practice.employee.repository.AlertDeliveryRepository;
 import com.practice.employee.repository.RatesRegisterRepository;
+import com.practice.employee.service.AlertDeliveryStore;
+import com.practice.employee.service.AlertDispatcher;
+import com.practice.employee.service.SchedulerLeaseService;
 import com.practice.message.factory.AbstractFactory;
 import com.practice.message.model.Content;
 import com.practice.message.service.MessagingService;
 import com.practice.message.service.impl.EmailService;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.thymeleaf.ITemplateEngine;
 
 import javax.mail.MessagingException;
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class DailyAlertSchedulerServiceTest {
 
-    @InjectMocks
     DailyAlertSchedulerService dailyAlertSchedulerService;
 
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    RateLimiterRegistry rateLimiterRegistry = RateLimiterRegistry.of(Map.of("alertDestination",
+            RateLimiterConfig.custom().limitForPeriod(10).limitRefreshPeriod(Duration.ofMinutes(1))
+                    .timeoutDuration(Duration.ofSeconds(5)).build()));
+
     @Mock
     AbstractFactory<MessagingService> abstractFactory;
 
@@ -44,20 +67,42 @@ class DailyAlertSchedulerServiceTest {
     @Mock
     EmailService emailService;
 
-    private List<RatesRegister> ratesRegisters;
+    @Mock
+    AlertDeliveryRepository deliveryRepository;
+
+    @Mock
+    SchedulerLeaseService leaseService;
+
+    @Mock
+    EntityManager entityManager;
+
+    @Mock
+    TaskScheduler taskScheduler;
+
+    private List<AlertRecipientDto> recipients;
     private CurrencyConverter converterHuf;
     private CurrencyConverter converterInr;
 
     void setup() {
-        ratesRegisters = new ArrayList<>();
-        ratesRegisters.add(new RatesRegister(1,
-                new Employee(40000L, "Employee",
-                        "employee", "employee@gmail.com", "+111111111", 25),
-                "HUF", Set.of("INR", "EUR")));
-        ratesRegisters.add(new RatesRegister(2,
-                new Employee(40001L, "Employee1",
-                        "employee1", "employee1@gmail.com", "+111111111", 25),
-                "INR", Set.of("HUF", "USD")));
+        AlertDeliveryStore alertDeliveryStore =
+                new AlertDeliveryStore(registerRepository, deliveryRepository, entityManager, 3, 500);
+        AlertDispatcher alertDispatcher = new AlertDispatcher(abstractFactory, alertDeliveryStore,
+                currencyConverterFacade, leaseService, rateLimiterRegistry, meterRegistry, taskScheduler);
+        ReflectionTestUtils.setField(alertDispatcher, "retryDelay", Duration.ZERO);
+        dailyAlertSchedulerService = new DailyAlertSchedulerService(alertDeliveryStore,
+                alertDispatcher, meterRegistry, new CustomizableThreadFactory("alert-worker-"));
+        ReflectionTestUtils.setField(dailyAlertSchedulerService, "parallelism", 4);
+        lenient().when(leaseService.tryAcquire(startsWith("alert-"), anyString())).thenReturn(true);
+        lenient().when(leaseService.renew(startsWith("alert-"), anyString())).thenReturn(true);
+        lenient().when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(task -> {
+            task.<Runnable>getArgument(0).run();
+            return null;
+        });
+        recipients = new ArrayList<>();
+        recipients.add(new AlertRecipientDto(1, "HUF", "employee@gmail.com", "INR"));
+        recipients.add(new AlertRecipientDto(1, "HUF", "employee@gmail.com", "EUR"));
+        recipients.add(new AlertRecipientDto(2, "INR", "employee1@gmail.com", "HUF"));
+        recipients.add(new AlertRecipientDto(2, "INR", "employee1@gmail.com", "USD"));
 
         Map<String, Double> ratesHuf = new HashMap<>();
         ratesHuf.put("EUR", 0.0029798266);
@@ -85,7 +130,7 @@ class DailyAlertSchedulerServiceTest {
         //GIVEN
         setup();
         ArgumentCaptor<Content> captor = ArgumentCaptor.forClass(Content.class);
-        when(registerRepository.findAll()).thenReturn(ratesRegisters);
+        when(registerRepository.findAlertRecipientsAfter("", 0, PageRequest.of(0, 500))).thenReturn(recipients);
         when(currencyConverterFacade.getCurrencyRateWithTarget("HUF", Set.of("INR", "EUR")))
                 .thenReturn(converterHuf);
         when(currencyConverterFacade.getCurrencyRateWithTarget("INR", Set.of("HUF", "USD")))
@@ -97,16 +142,353 @@ class DailyAlertSchedulerServiceTest {
         dailyAlertSchedulerService.dailyEmailAlertScheduler();
 
         //THEN
-        verify(abstractFactory.create("email"), times(ratesRegisters.size())).send(captor.capture());
+        verify(abstractFactory.create("email"), times(2)).sendEach(captor.capture());
+        List<Content> mails = new ArrayList<>(captor.getAllValues());
+        mails.sort(Comparator.comparing(mail -> mail.getBody().get("base").toString()));
 
-        Assertions.assertThat(captor.getAllValues().get(0))
-                .matches(mail -> mail.getTo().contentEquals(ratesRegisters.get(0).getEmployee().getEmail()))
-                .matches(mail -> mail.getBody().get("base").toString().contentEquals(ratesRegisters.get(0).getBase()))
+        Assertions.assertThat(mails.get(0))
+                .matches(mail -> mail.getTo().contentEquals("employee@gmail.com"))
+                .matches(mail -> mail.getBody().get("base").toString().contentEquals("HUF"))
                 .matches(mail -> mail.getBody().get("targets").toString().contentEquals(converterHuf.getRates().toString()));
 
-        Assertions.assertThat(captor.getAllValues().get(1))
-                .matches(mail -> mail.getTo().contentEquals(ratesRegisters.get(1).getEmployee().getEmail()))
-                .matches(mail -> mail.getBody().get("base").toString().contentEquals(ratesRegisters.get(1).getBase()))
+        Assertions.assertThat(mails.get(1))
+                .matches(mail -> mail.getTo().contentEquals("employee1@gmail.com"))
+                .matches(mail -> mail.getBody().get("base").toString().contentEquals("INR"))
                 .matches(mail -> mail.getBody().get("targets").toString().contentEquals(converterInr.getRates().toString()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getScheduledCurrencyRateOncePerBase() {
+        //GIVEN
+        setup();
+        recipients.add(2, new AlertRecipientDto(3, "HUF", "employee2@yahoo.com", "INR"));
+        ArgumentCaptor<Content> captor = ArgumentCaptor.forClass(Content.class);
+        when(registerRepository.findAlertRecipientsAfter("", 0, PageRequest.of(0, 500))).thenReturn(recipients);
+        when(currencyConverterFacade.getCurrencyRateWithTarget("HUF", Set.of("INR", "EUR")))
+                .thenReturn(converterHuf);
+        when(currencyConverterFacade.getCurrencyRateWithTarget("INR", Set.of("HUF", "USD")))
+                .thenReturn(converterInr);
+        when(abstractFactory.create("email"))
+                .thenReturn(emailService);
+
+        //WHEN
+        dailyAlertSchedulerService.dailyEmailAlertScheduler();
+
+        //THEN
+        verify(currencyConverterFacade, times(2)).getCurrencyRateWithTarget(anyString(), anySet());
+        verify(emailService, times(3)).sendEach(captor.capture());
+        verify(deliveryRepository, times(2)).saveAll(any());
+        Assertions.assertThat(captor.getAllValues())
+                .filteredOn(mail -> mail.getTo().equals("employee2@yahoo.com"))
+                .hasSize(1)
+                .allMatch(mail -> mail.getBody().get("targets").toString().equals("{INR=0.2352772729}"));
+        assertEquals(1, meterRegistry.timer("via.alert.job").count());
+        assertEquals(3, meterRegistry.timer("via.alert.mail").count());
+    }
+
+    @Test
+    void getScheduledCurrencyRateWithFailedGroup() {
+        //GIVEN
+        setup();
+        when(registerRepository.findAlertRecipientsAfter("", 0, PageRequest.of(0, 500))).thenReturn(recipients);
+        when(currencyConverterFacade.getCurrencyRateWithTarget("HUF", Set.of("INR", "EUR")))
+                .thenThrow(new IllegalStateException("Upstream failed"));
+        when(currencyConverterFacade.getCurrencyRateWithTarget("INR", Set.of("HUF", "USD")))
+                .thenReturn(converterInr);
+        when(abstractFactory.create("email"))
+                .thenReturn(emailService);
+
+        //WHEN
+        dailyAlertSchedulerService.dailyEmailAlertScheduler();
+
+        //THEN
+        verify(emailService, times(1)).sendEach(any(Content.class));
+        verify(currencyConverterFacade, times(3)).getCurrencyRateWithTarget("HUF", Set.of("INR", "EUR"));
+        assertEquals(1, meterRegistry.timer("via.alert.job").count());
+    }
+
+    @Test
+    void getScheduledCurrencyRateRetriesFailedGroup() {
+        //GIVEN
+        setup();
+        AlertDelivery failed = new AlertDelivery(LocalDate.now(), "HUF", "EUR,INR");
+        failed.recordAttempt(false);
+        ArgumentCaptor<Collection<AlertDelivery>> captor = ArgumentCaptor.forClass(Collection.class);
+        when(registerRepository.findAlertRecipientsAfter("", 0, PageRequest.of(0, 500))).thenReturn(recipients);
+        when(deliveryRepository.findByRunDateAndBase(LocalDate.now(), "HUF"))
+                .thenReturn(List.of(), List.of(failed));
+        when(currencyConverterFacade.getCurrencyRateWithTarget("HUF", Set.of("INR", "EUR")))
+                .thenThrow(new IllegalStateException("Upstream failed"))
+                .thenReturn(converterHuf);
+        when(currencyConverterFacade.getCurrencyRateWithTarget("INR", Set.of("HUF", "USD")))
+                .thenReturn(converterInr);
+        when(abstractFactory.create("email"))
+                .thenReturn(emailService);
+
+        //WHEN
+        dailyAlertSchedulerService.dailyEmailAlertScheduler();
+
+        //THEN
+        verify(registerRepository, times(1)).findAlertRecipientsAfter(anyString(), anyInt(), any());
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+        verify(emailService, times(2)).sendEach(any(Content.class));
+        verify(deliveryRepository, times(3)).saveAll(captor.capture());
+        assertEquals(List.of(failed), List.copyOf(captor.getAllValues().get(2)));
+        assertEquals(DeliveryStatus.SENT, failed.getStatus());
+        assertEquals(2, failed.getAttempts());
+    }
+
+    @Test
+    void getScheduledCurrencyRateSkipsStaleRates() {
+        //GIVEN
+        setup();
+        converterHuf.setStale(true);
+        when(registerRepository.findAlertRecipientsAfter("", 0, PageRequest.of(0, 500))).thenReturn(recipients);
+        when(currencyConverterFacade.getCurrencyRateWithTarget("HUF", Set.of("INR", "EUR")))
+                .thenReturn(converterHuf);
+        when(currencyConverterFacade.getCurrencyRateWithTarget("INR", Set.of("HUF", "USD")))
+                .thenReturn(converterInr);
+        when(abstractFactory.create("email"))
+                .thenReturn(emailService);
+
+        //WHEN
+        dailyAlertSchedulerService.dailyEmailAlertScheduler();
+
+        //THEN
+        ArgumentCaptor<Content> captor = ArgumentCaptor.forClass(Content.class);
+        verify(emailService, times(1)).sendEach(captor.capture());
+        assertEquals("employee1@gmail.com", captor.getValue().getTo());
+    }
+
+    @Test
+    void getScheduledCurrencyRateResumesRun() {
+        //GIVEN
+        setup();
+        AlertDelivery sent = new AlertDelivery(LocalDate.now(), "HUF", "EUR,INR");
+        sent.recordAttempt(true);
+        AlertDelivery failed = new AlertDelivery(LocalDate.now(), "INR", "HUF,USD");
+        failed.recordAttempt(false);
+        ArgumentCaptor<Collection<AlertDelivery>> captor = ArgumentCaptor.forClass(Collection.class);
+        when(registerRepository.findAlertRecipientsAfter("", 0, PageRequest.of(0, 500))).thenReturn(recipients);
+        when(deliveryRepository.findByRunDateAndBase(LocalDate.now(), "HUF")).thenReturn(List.of(sent));
+        when(deliveryRepository.findByRunDateAndBase(LocalDate.now(), "INR")).thenReturn(List.of(failed));
+        when(currencyConverterFacade.getCurrencyRateWithTarget("INR", Set.of("HUF", "USD")))
+                .thenReturn(converterInr);
+        when(abstractFactory.create("email"))
+                .thenReturn(emailService);
+
+        //WHEN
+        dailyAlertSchedulerService.dailyEmailAlertScheduler();
+
+        //THEN
+        verify(currencyConverterFacade, never()).getCurrencyRateWithTarget(eq("HUF"), anySet());
+        verify(emailService, times(1)).sendEach(any(Content.class));
+        verify(entityManager).detach(sent);
+        verify(entityManager).detach(failed);
+        verify(deliveryRepository).saveAll(captor.capture());
+        assertEquals(List.of(failed), List.copyOf(captor.getValue()));
+        assertEquals(DeliveryStatus.SENT, failed.getStatus());
+        assertEquals(2, failed.getAttempts());
+    }
+
+    @Test
+    void getScheduledCurrencyRateRetriesUnreachedRecipients() {
+        //GIVEN
+        setup();
+        recipients.add(2, new AlertRecipientDto(3, "HUF", "employee2@gmail.com", "INR"));
+        recipients.add(3, new AlertRecipientDto(3, "HUF", "employee2@gmail.com", "EUR"));
+        AlertDelivery partial = new AlertDelivery(LocalDate.now(), "HUF", "EUR,INR");
+        partial.recordAttempt(Set.of("employee2@gmail.com"));
+        ArgumentCaptor<Content> mails = ArgumentCaptor.forClass(Content.class);
+        ArgumentCaptor<Collection<AlertDelivery>> checkpoints = ArgumentCaptor.forClass(Collection.class);
+        when(registerRepository.findAlertRecipientsAfter("", 0, PageRequest.of(0, 500))).thenReturn(recipients.subList(0, 4));
+        when(deliveryRepository.findByRunDateAndBase(LocalDate.now(), "HUF"))
+                .thenReturn(List.of(), List.of(partial));
+        when(currencyConverterFacade.getCurrencyRateWithTarget("HUF", Set.of("INR", "EUR")))
+                .thenReturn(converterHuf);
+        when(abstractFactory.create("email"))
+                .thenReturn(emailService);
+        when(emailService.sendEach(any(Content.class)))
+                .thenReturn(Set.of("employee2@gmail.com"), Set.of());
+
+        //WHEN
+        dailyAlertSchedulerService.dailyEmailAlertScheduler();
+
+        //THEN
+        verify(emailService, times(2)).sendEach(mails.capture());
+        assertEquals("employee@gmail.com,employee2@gmail.com", mails.getAllValues().get(0).getTo());
+        assertEquals("employee2@gmail.com", mails.getAllValues().get(1).getTo());
+        verify(deliveryRepository, times(2)).saveAll(checkpoints.capture());
+        AlertDelivery first = checkpoints.getAllValues().get(0).iterator().next();
+        assertEquals(DeliveryStatus.FAILED, first.getStatus());
+        assertEquals("employee2@gmail.com", first.getUnreachedRecipients());
+        assertEquals(DeliveryStatus.SENT, partial.getStatus());
+        assertNull(partial.getUnreachedRecipients());
+        assertEquals(7, rateLimiterRegistry.rateLimiter("alert-gmail.com").getMetrics().getAvailablePermissions());
+    }
+
+    @Test
+    void getScheduledCurrencyRateReadsRegistrationsInPages() {
+        //GIVEN
+        setup();
+        ReflectionTestUtils.setField(dailyAlertSchedulerService, "alertDeliveryStore",
+                new AlertDeliveryStore(registerRepository, deliveryRepository, entityManager, 3, 3));
+        ArgumentCaptor<Content> captor = ArgumentCaptor.forClass(Content.class);
+        when(registerRepository.findAlertRecipientsAfter("", 0, PageRequest.of(0, 3)))
+                .thenReturn(recipients.subList(0, 3));
+        when(registerRepository.findAlertRecipientsAfter("HUF", 1, PageRequest.of(0, 3)))
+                .thenReturn(recipients.subList(2, 4));
+        when(currencyConverterFacade.getCurrencyRateWithTarget("HUF", Set.of("INR", "EUR")))
+                .thenReturn(converterHuf);
+        when(currencyConverterFacade.getCurrencyRateWithTarget("INR", Set.of("HUF", "USD")))
+                .thenReturn(converterInr);
+        when(abstractFactory.create("email"))
+                .thenReturn(emailService);
+
+        //WHEN
+        dailyAlertSchedulerService.dailyEmailAlertScheduler();
+
+        //THEN
+        verify(registerRepository, times(2)).findAlertRecipientsAfter(anyString(), anyInt(), any());
+        verify(emailService, times(2)).sendEach(captor.capture());
+        Assertions.assertThat(captor.getAllValues())
+                .filteredOn(mail -> mail.getTo().equals("employee1@gmail.com"))
+                .hasSize(1)
+                .allMatch(mail -> mail.getBody().get("targets").toString()
+                        .equals(converterInr.getRates().toString()));
+    }
+
+    @Test
+    void resumeOnStartupAfterScheduledTime() {
+        //GIVEN
+        setup();
+        ReflectionTestUtils.setField(dailyAlertSchedulerService, "cron", "0 0 0 * * ?");
+        when(registerRepository.findAlertRecipientsAfter("", 0, PageRequest.of(0, 500))).thenReturn(List.of());
+
+        //WHEN
+        dailyAlertSchedulerService.resumeOnStartup();
+
+        //THEN
+        verify(registerRepository, timeout(5000)).findAlertRecipientsAfter(anyString(), anyInt(), any());
+    }
+
+    @Test
+    void resumeOnStartupSkipsFinishedRun() {
+        //GIVEN
+        setup();
+        ReflectionTestUtils.setField(dailyAlertSchedulerService, "cron", "0 0 0 * * ?");
+        when(deliveryRepository.existsByRunDate(LocalDate.now())).thenReturn(true);
+        when(deliveryRepository.existsByRunDateAndStatusAndAttemptsLessThan(LocalDate.now(),
+                DeliveryStatus.FAILED, 3)).thenReturn(false);
+        when(leaseService.isAnyHeld("alert-" + LocalDate.now() + "-")).thenReturn(false);
+
+        //WHEN
+        dailyAlertSchedulerService.resumeOnStartup();
+
+        //THEN
+        verifyNoInteractions(registerRepository);
+    }
+
+    @Test
+    void resumeOnStartupBeforeScheduledTime() {
+        //GIVEN
+        setup();
+        String tomorrow = LocalDate.now().plusDays(1).getDayOfWeek().name().substring(0, 3);
+        ReflectionTestUtils.setField(dailyAlertSchedulerService, "cron", "0 0 0 ? * " + tomorrow);
+
+        //WHEN
+        dailyAlertSchedulerService.resumeOnStartup();
+
+        //THEN
+        verifyNoInteractions(registerRepository);
+    }
+
+    @Test
+    void getScheduledCurrencyRateGivesUpAfterMaxAttempts() {
+        //GIVEN
+        setup();
+        AlertDelivery failed = new AlertDelivery(LocalDate.now(), "HUF", "EUR,INR");
+        failed.recordAttempt(false);
+        failed.recordAttempt(false);
+        failed.recordAttempt(false);
+        when(registerRepository.findAlertRecipientsAfter("", 0, PageRequest.of(0, 500))).thenReturn(recipients.subList(0, 2));
+        when(deliveryRepository.findByRunDateAndBase(LocalDate.now(), "HUF")).thenReturn(List.of(failed));
+
+        //WHEN
+        dailyAlertSchedulerService.dailyEmailAlertScheduler();
+
+        //THEN
+        verifyNoInteractions(currencyConverterFacade, abstractFactory);
+        verify(deliveryRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void getScheduledCurrencyRateLeaseLost() {
+        //GIVEN
+        setup();
+        when(leaseService.renew(eq("alert-" + LocalDate.now() + "-HUF"), anyString())).thenReturn(false);
+        when(registerRepository.findAlertRecipientsAfter("", 0, PageRequest.of(0, 500))).thenReturn(recipients);
+        when(currencyConverterFacade.getCurrencyRateWithTarget("HUF", Set.of("INR", "EUR")))
+                .thenReturn(converterHuf);
+        when(currencyConverterFacade.getCurrencyRateWithTarget("INR", Set.of("HUF", "USD")))
+                .thenReturn(converterInr);
+        when(abstractFactory.create("email"))
+                .thenReturn(emailService);
+
+        //WHEN
+        dailyAlertSchedulerService.dailyEmailAlertScheduler();
+
+        //THEN
+        ArgumentCaptor<Content> captor = ArgumentCaptor.forClass(Content.class);
+        verify(emailService, times(1)).sendEach(captor.capture());
+        assertEquals("employee1@gmail.com", captor.getValue().getTo());
+        verify(deliveryRepository, times(1)).saveAll(any());
+        verify(leaseService, never()).release(eq("alert-" + LocalDate.now() + "-HUF"), anyString());
+    }
+
+    @Test
+    void getScheduledCurrencyRateReleasesLeaseAfterCheckpoint() {
+        //GIVEN
+        setup();
+        ArgumentCaptor<String> owners = ArgumentCaptor.forClass(String.class);
+        when(registerRepository.findAlertRecipientsAfter("", 0, PageRequest.of(0, 500)))
+                .thenReturn(recipients.subList(0, 2), recipients.subList(0, 2));
+        when(currencyConverterFacade.getCurrencyRateWithTarget("HUF", Set.of("INR", "EUR")))
+                .thenReturn(converterHuf);
+        when(abstractFactory.create("email"))
+                .thenReturn(emailService);
+
+        //WHEN
+        dailyAlertSchedulerService.dailyEmailAlertScheduler();
+        dailyAlertSchedulerService.dailyEmailAlertScheduler();
+
+        //THEN
+        String lease = "alert-" + LocalDate.now() + "-HUF";
+        InOrder inOrder = inOrder(deliveryRepository, leaseService);
+        inOrder.verify(leaseService).tryAcquire(eq(lease), owners.capture());
+        inOrder.verify(deliveryRepository).saveAll(any());
+        inOrder.verify(leaseService).release(eq(lease), eq(owners.getValue()));
+        inOrder.verify(leaseService).tryAcquire(eq(lease), owners.capture());
+        assertNotEquals(owners.getAllValues().get(0), owners.getAllValues().get(1));
+    }
+
+    @Test
+    void getScheduledCurrencyRateLeasedByAnotherNode() {
+        //GIVEN
+        setup();
+        when(leaseService.tryAcquire(eq("alert-" + LocalDate.now() + "-HUF"), anyString())).thenReturn(false);
+        when(registerRepository.findAlertRecipientsAfter("", 0, PageRequest.of(0, 500))).thenReturn(recipients);
+        when(currencyConverterFacade.getCurrencyRateWithTarget("INR", Set.of("HUF", "USD")))
+                .thenReturn(converterInr);
+        when(abstractFactory.create("email"))
+                .thenReturn(emailService);
+
+        //WHEN
+        dailyAlertSchedulerService.dailyEmailAlertScheduler();
+
+        //THEN
+        verify(deliveryRepository, never()).findByRunDateAndBase(any(), eq("HUF"));
+        verify(currencyConverterFacade, never()).getCurrencyRateWithTarget(eq("HUF"), anySet());
+        verify(emailService, times(1)).sendEach(any(Content.class));
+    }
+}
@@ -1,6 +1,7 @@
 package com.practice.employee.unit;
 
 import com.practice.employee.service.OtpService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -67,6 +68,22 @@ class OtpServiceTest {
                 otpExpiryTime);
     }
 
+    @Test
+    void bindTo() {
+        //GIVEN
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        otpService.bindTo(registry);
+        otpService.generateOTP(1L);
+        //WHEN
+        otpService.getOtp(1L);
+        otpService.getOtp(2L);
+        //THEN
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "otpCache")
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "otpCache")
+                .tag("result", "miss").functionCounter().count());
+    }
+
     @Test
     void clearOTP() {
         //GIVEN
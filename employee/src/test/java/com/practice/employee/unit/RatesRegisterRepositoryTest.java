@@ -0,0 +1,59 @@
+package com.practice.employee.unit;
+
+import com.practice.employee.model.RatesRegister;
+import com.practice.employee.model.dto.AlertRecipientDto;
+import com.practice.employee.repository.EmployeeRepository;
+import com.practice.employee.repository.RatesRegisterRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+class RatesRegisterRepositoryTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private RatesRegisterRepository registerRepository;
+
+    @Test
+    void testFindAlertRecipientsAfter() {
+        //GIVEN
+        registerRepository.save(new RatesRegister(null,
+                employeeRepository.findByUsername("employee2"), "INR", Set.of("HUF")));
+        registerRepository.save(new RatesRegister(null,
+                employeeRepository.findByUsername("employee1"), "HUF", Set.of("INR", "EUR")));
+
+        //WHEN
+        List<AlertRecipientDto> recipients = registerRepository
+                .findAlertRecipientsAfter("", 0, PageRequest.of(0, 500));
+        List<AlertRecipientDto> afterFirst = registerRepository
+                .findAlertRecipientsAfter("HUF", recipients.get(0).getRegistrationId(), PageRequest.of(0, 500));
+        List<AlertRecipientDto> firstPage = registerRepository
+                .findAlertRecipientsAfter("", 0, PageRequest.of(0, 1));
+
+        //THEN
+        assertEquals(3, recipients.size());
+        assertEquals(List.of("HUF", "HUF", "INR"),
+                recipients.stream().map(AlertRecipientDto::getBase).collect(Collectors.toList()));
+        assertEquals(Set.of("INR", "EUR"), recipients.stream().limit(2)
+                .map(AlertRecipientDto::getTarget).collect(Collectors.toSet()));
+        assertEquals("employee1@gmail.com", recipients.get(0).getEmail());
+        assertEquals("employee2@gmail.com", recipients.get(2).getEmail());
+        assertEquals("HUF", recipients.get(2).getTarget());
+        assertEquals(List.of("INR"),
+                afterFirst.stream().map(AlertRecipientDto::getBase).collect(Collectors.toList()));
+        assertEquals(1, firstPage.size());
+    }
+}
@@ -0,0 +1,74 @@
+package com.practice.employee.unit;
+
+import com.practice.employee.repository.SchedulerLeaseRepository;
+import com.practice.employee.service.SchedulerLeaseService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+class SchedulerLeaseServiceTest {
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Test
+    void testTryAcquire() {
+        //GIVEN
+        SchedulerLeaseService leaseService = new SchedulerLeaseService(leaseRepository, Duration.ofMinutes(30));
+
+        //WHEN
+        boolean acquired = leaseService.tryAcquire("alert-held", "run-1");
+
+        //THEN
+        assertTrue(acquired);
+        assertTrue(leaseService.tryAcquire("alert-held", "run-1"));
+        assertFalse(leaseService.tryAcquire("alert-held", "run-2"));
+        assertTrue(leaseService.tryAcquire("alert-other", "run-2"));
+        assertEquals("run-1", leaseRepository.findById("alert-held").orElseThrow().getLeaseOwner());
+    }
+
+    @Test
+    void testTryAcquireExpired() {
+        //GIVEN
+        SchedulerLeaseService expired = new SchedulerLeaseService(leaseRepository, Duration.ofMinutes(-1));
+        SchedulerLeaseService leaseService = new SchedulerLeaseService(leaseRepository, Duration.ofMinutes(30));
+        expired.tryAcquire("alert-expired", "run-1");
+
+        //WHEN
+        boolean acquired = leaseService.tryAcquire("alert-expired", "run-2");
+
+        //THEN
+        assertTrue(acquired);
+        assertFalse(leaseService.tryAcquire("alert-expired", "run-1"));
+        assertFalse(leaseService.renew("alert-expired", "run-1"));
+        assertEquals("run-2", leaseRepository.findById("alert-expired").orElseThrow().getLeaseOwner());
+    }
+
+    @Test
+    void testRenewAndRelease() {
+        //GIVEN
+        SchedulerLeaseService leaseService = new SchedulerLeaseService(leaseRepository, Duration.ofMinutes(30));
+        leaseService.tryAcquire("alert-released", "run-1");
+
+        //WHEN
+        boolean renewed = leaseService.renew("alert-released", "run-1");
+        leaseService.release("alert-released", "run-2");
+        boolean heldByOwner = leaseRepository.existsById("alert-released");
+        leaseService.release("alert-released", "run-1");
+
+        //THEN
+        assertTrue(renewed);
+        assertTrue(heldByOwner);
+        assertFalse(leaseRepository.existsById("alert-released"));
+        assertFalse(leaseService.renew("alert-released", "run-1"));
+        assertTrue(leaseService.tryAcquire("alert-released", "run-2"));
+    }
+}
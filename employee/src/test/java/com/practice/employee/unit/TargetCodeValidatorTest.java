@@ -1,6 +1,7 @@
 package com.practice.employee.unit;
 
 import com.practice.currencyconverter.facade.CurrencyConverterFacade;
+import com.practice.currencyconverter.model.Countries;
 import com.practice.employee.validator.TargetCodeValidator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -41,7 +42,7 @@ class TargetCodeValidatorTest {
     @Test
     void isValid() {
         //GIVEN
-        when(currencyConverterFacade.getCountriesAndCurrencies()).thenReturn(countries);
+        when(currencyConverterFacade.getCountriesAndCurrencies()).thenReturn(new Countries(countries, false));
 
         //WHEN
         boolean validCodes = targetCodeValidator.isValid(Set.of("HUF", "INR"), context);
@@ -53,7 +54,7 @@ class TargetCodeValidatorTest {
     @Test
     void isValidWithSingleInvalidCode() {
         //GIVEN
-        when(currencyConverterFacade.getCountriesAndCurrencies()).thenReturn(countries);
+        when(currencyConverterFacade.getCountriesAndCurrencies()).thenReturn(new Countries(countries, false));
 
         //WHEN
         boolean singleInvalidCode = targetCodeValidator.isValid(Set.of("HHH", "INR"), context);
@@ -65,7 +66,7 @@ class TargetCodeValidatorTest {
     @Test
     void isValidWithAllInvalidCodes() {
         //GIVEN
-        when(currencyConverterFacade.getCountriesAndCurrencies()).thenReturn(countries);
+        when(currencyConverterFacade.getCountriesAndCurrencies()).thenReturn(new Countries(countries, false));
 
         //WHEN
         boolean invalidCodes = targetCodeValidator.isValid(Set.of("HHH", "III"), context);
@@ -3,6 +3,9 @@ package com.practice.message.service;
 import com.practice.message.model.Content;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 @FunctionalInterface
 @Service
 public interface MessagingService {
@@ -12,4 +15,39 @@ public interface MessagingService {
      * @param content Message content
      */
     void send(Content content);
+
+    /**
+     * Send the message to each of its comma separated recipients in a
+     * message of its own, so no recipient sees the others. A recipient the
+     * message fails to reach does not stop the others, the failure is
+     * thrown only if it reached none of them.
+     *
+     * @param content Message content
+     * @return recipients the message could not be sent to, empty if it
+     * reached all of them
+     */
+    default Set<String> sendEach(final Content content) {
+        Set<String> unreached = new LinkedHashSet<>();
+        RuntimeException failure = null;
+        boolean sent = false;
+        for (String recipient : content.getTo().split(",")) {
+            String to = recipient.trim();
+            try {
+                send(Content.builder()
+                        .setTo(to)
+                        .setSubject(content.getSubject())
+                        .setBody(content.getBody())
+                        .setTemplate(content.getTemplate())
+                        .createMail());
+                sent = true;
+            } catch (RuntimeException e) {
+                unreached.add(to);
+                failure = e;
+            }
+        }
+        if (!sent && failure != null) {
+            throw failure;
+        }
+        return unreached;
+    }
 }
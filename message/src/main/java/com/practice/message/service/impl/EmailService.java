@@ -4,18 +4,33 @@ import com.practice.message.model.Content;
 import com.practice.message.service.MessagingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.thymeleaf.ITemplateEngine;
 import org.thymeleaf.context.Context;
 
+import javax.mail.Message;
 import javax.mail.MessagingException;
+import javax.mail.Session;
 import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeMessage;
+import javax.mail.util.SharedByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 public class EmailService implements MessagingService {
+    /**
+     * Message-ID header, unique to every message sent.
+     */
+    private static final String MESSAGE_ID = "Message-ID";
     /**
      * JavaMailSender object.
      */
@@ -64,10 +79,95 @@ public class EmailService implements MessagingService {
         }
     }
 
+    /**
+     * Implementation of the send each method. The template is rendered and
+     * the message encoded once, then every recipient gets a
+     * {@link SharedBodyMessage} over the encoded bytes, and all the messages
+     * are sent over one connection. A message that cannot be built fails
+     * the whole send with a {@link MailPreparationException}. The
+     * recipients whose messages the server rejected are returned, and the
+     * {@link MailSendException} is thrown only if every message failed.
+     *
+     * @param content Mail model object
+     * @return recipients the mail could not be sent to, empty if it reached
+     * all of them
+     */
+    @Override
+    public Set<String> sendEach(final Content content) {
+        InternetAddress[] recipients;
+        MimeMessage[] mimeMessages;
+        try {
+            MimeMessage rendered = javaMailSender.createMimeMessage();
+            MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(
+                    rendered, MimeMessageHelper.MULTIPART_MODE_MIXED_RELATED,
+                    StandardCharsets.UTF_8.name());
+            mimeMessageHelper.setSubject(content.getSubject());
+            mimeMessageHelper.setText(build(content.getBody(),
+                    content.getTemplate()), true);
+            rendered.saveChanges();
+            rendered.removeHeader(MESSAGE_ID);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            rendered.writeTo(out);
+            byte[] bytes = out.toByteArray();
+
+            recipients = InternetAddress.parse(content.getTo());
+            mimeMessages = new MimeMessage[recipients.length];
+            for (int i = 0; i < recipients.length; i++) {
+                mimeMessages[i] = new SharedBodyMessage(rendered.getSession(),
+                        new SharedByteArrayInputStream(bytes));
+                mimeMessages[i].setRecipient(Message.RecipientType.TO,
+                        recipients[i]);
+            }
+        } catch (MessagingException | IOException e) {
+            throw new MailPreparationException("Could not build the mail to "
+                    + content.getTo(), e);
+        }
+        try {
+            javaMailSender.send(mimeMessages);
+            return Collections.emptySet();
+        } catch (MailSendException e) {
+            Set<String> unreached = new LinkedHashSet<>();
+            int failed = 0;
+            for (int i = 0; i < mimeMessages.length; i++) {
+                if (e.getFailedMessages().containsKey(mimeMessages[i])) {
+                    unreached.add(recipients[i].getAddress());
+                    failed++;
+                }
+            }
+            if (failed == mimeMessages.length) {
+                throw e;
+            }
+            if (failed == 0) {
+                LOGGER.warn("Mail sent to every recipient of {}, then the"
+                        + " connection failed", content.getTo(), e);
+            }
+            return unreached;
+        }
+    }
+
     private String build(final Map<String, Object> content,
                          final String template) {
         Context context = new Context();
         context.setVariables(content);
         return templateEngine.process(template, context);
     }
+
+    /**
+     * Message over an encoded body shared with other messages. Saving it
+     * only gives it a Message-ID of its own, so its body is written as the
+     * shared bytes, never decoded and encoded again, when it is sent.
+     */
+    private static final class SharedBodyMessage extends MimeMessage {
+        private SharedBodyMessage(final Session session,
+                                  final InputStream in)
+                throws MessagingException {
+            super(session, in);
+        }
+
+        @Override
+        public void saveChanges() throws MessagingException {
+            saved = true;
+            updateMessageID();
+        }
+    }
 }
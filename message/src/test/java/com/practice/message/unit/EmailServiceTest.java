@@ -8,20 +8,34 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.thymeleaf.ITemplateEngine;
 import org.thymeleaf.context.Context;
 
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
+import javax.mail.internet.MimeMultipart;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -59,4 +73,126 @@ class EmailServiceTest {
                 .allMatch(to -> "employee@gmail.com,employee1@gmail.com".contains(to.toString())));
     }
 
+    @Test
+    void sendEach() throws MessagingException, IOException {
+        //GIVEN
+        ArgumentCaptor<MimeMessage> captor = ArgumentCaptor.forClass(MimeMessage.class);
+        Content content = Content.builder()
+                .setTo("employee@gmail.com,employee1@gmail.com")
+                .setSubject("EMAIL_SUBJECT")
+                .setBody(Map.of("name", "employee"))
+                .setTemplate("MAIL_TEMPLATE").createMail();
+
+        when(templateEngine.process(eq("MAIL_TEMPLATE"), any(Context.class))).thenReturn("content");
+        when(javaMailSender.createMimeMessage()).thenReturn(new JavaMailSenderImpl().createMimeMessage());
+
+        //WHEN
+        messagingFactory.create("email").sendEach(content);
+
+        //THEN
+        verify(templateEngine, times(1)).process(eq("MAIL_TEMPLATE"), any(Context.class));
+        verify(javaMailSender).send(captor.capture(), captor.capture());
+        List<MimeMessage> mails = captor.getAllValues();
+        assertEquals(2, mails.size());
+        assertEquals("employee@gmail.com", mails.get(0).getAllRecipients()[0].toString());
+        assertEquals("employee1@gmail.com", mails.get(1).getAllRecipients()[0].toString());
+        for (MimeMessage mail : mails) {
+            assertEquals(1, mail.getAllRecipients().length);
+            assertEquals("EMAIL_SUBJECT", mail.getSubject());
+            assertTrue(mail.getContent() instanceof MimeMultipart);
+            mail.saveChanges();
+            assertFalse((Boolean) ReflectionTestUtils.getField(mail, "modified"));
+        }
+        assertNotEquals(mails.get(0).getMessageID(), mails.get(1).getMessageID());
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        mails.get(0).writeTo(written);
+        assertTrue(written.toString().contains("To: employee@gmail.com"));
+        assertTrue(written.toString().contains("multipart/mixed"));
+        assertTrue(written.toString().contains("content"));
+    }
+
+    @Test
+    void sendEachReturnsUnreachedRecipients() {
+        //GIVEN
+        Content content = Content.builder()
+                .setTo("employee@gmail.com,employee1@gmail.com")
+                .setSubject("EMAIL_SUBJECT")
+                .setBody(Map.of("name", "employee"))
+                .setTemplate("MAIL_TEMPLATE").createMail();
+
+        when(templateEngine.process(eq("MAIL_TEMPLATE"), any(Context.class))).thenReturn("content");
+        when(javaMailSender.createMimeMessage()).thenReturn(new JavaMailSenderImpl().createMimeMessage());
+        doAnswer(invocation -> {
+            throw new MailSendException(Map.of(invocation.getArgument(1),
+                    new MessagingException("Mailbox unavailable")));
+        }).when(javaMailSender).send(any(MimeMessage.class), any(MimeMessage.class));
+
+        //WHEN
+        Set<String> unreached = messagingFactory.create("email").sendEach(content);
+
+        //THEN
+        assertEquals(Set.of("employee1@gmail.com"), unreached);
+    }
+
+    @Test
+    void sendEachDeliveredIfNoMessageFailed() {
+        //GIVEN
+        Content content = Content.builder()
+                .setTo("employee@gmail.com,employee1@gmail.com")
+                .setSubject("EMAIL_SUBJECT")
+                .setBody(Map.of("name", "employee"))
+                .setTemplate("MAIL_TEMPLATE").createMail();
+
+        when(templateEngine.process(eq("MAIL_TEMPLATE"), any(Context.class))).thenReturn("content");
+        when(javaMailSender.createMimeMessage()).thenReturn(new JavaMailSenderImpl().createMimeMessage());
+        doAnswer(invocation -> {
+            throw new MailSendException("Failed to close server connection after message sending");
+        }).when(javaMailSender).send(any(MimeMessage.class), any(MimeMessage.class));
+
+        //WHEN
+        Set<String> unreached = messagingFactory.create("email").sendEach(content);
+
+        //THEN
+        assertTrue(unreached.isEmpty());
+    }
+
+    @Test
+    void sendEachFailsIfNoRecipientReached() {
+        //GIVEN
+        Content content = Content.builder()
+                .setTo("employee@gmail.com,employee1@gmail.com")
+                .setSubject("EMAIL_SUBJECT")
+                .setBody(Map.of("name", "employee"))
+                .setTemplate("MAIL_TEMPLATE").createMail();
+
+        when(templateEngine.process(eq("MAIL_TEMPLATE"), any(Context.class))).thenReturn("content");
+        when(javaMailSender.createMimeMessage()).thenReturn(new JavaMailSenderImpl().createMimeMessage());
+        doAnswer(invocation -> {
+            throw new MailSendException(Map.of(
+                    invocation.getArgument(0), new MessagingException("Connection refused"),
+                    invocation.getArgument(1), new MessagingException("Connection refused")));
+        }).when(javaMailSender).send(any(MimeMessage.class), any(MimeMessage.class));
+
+        //WHEN
+        //THEN
+        assertThrows(MailSendException.class, () -> messagingFactory.create("email").sendEach(content));
+    }
+
+    @Test
+    void sendEachFailsOnInvalidRecipient() {
+        //GIVEN
+        Content content = Content.builder()
+                .setTo("employee@@gmail.com")
+                .setSubject("EMAIL_SUBJECT")
+                .setBody(Map.of("name", "employee"))
+                .setTemplate("MAIL_TEMPLATE").createMail();
+
+        when(templateEngine.process(eq("MAIL_TEMPLATE"), any(Context.class))).thenReturn("content");
+        when(javaMailSender.createMimeMessage()).thenReturn(new JavaMailSenderImpl().createMimeMessage());
+
+        //WHEN
+        //THEN
+        assertThrows(MailPreparationException.class, () -> messagingFactory.create("email").sendEach(content));
+        verify(javaMailSender, never()).send(any(MimeMessage[].class));
+    }
 }
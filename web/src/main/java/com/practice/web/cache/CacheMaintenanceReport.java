@@ -0,0 +1,106 @@
+package com.practice.web.cache;
+
+import java.time.Instant;
+
+public class CacheMaintenanceReport {
+    /**
+     * Cache name.
+     */
+    private final String cacheName;
+    /**
+     * Number of entries dropped for their age.
+     */
+    private final long evicted;
+    /**
+     * Number of entries reloaded ahead of their expiry.
+     */
+    private final long refreshed;
+    /**
+     * Number of entries left in the cache.
+     */
+    private final long size;
+    /**
+     * Time at which the maintenance ran.
+     */
+    private final Instant ranAt;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param cacheName cache name
+     * @param evicted   number of entries dropped for their age
+     * @param refreshed number of entries reloaded ahead of their expiry
+     * @param size      number of entries left in the cache
+     * @param ranAt     time at which the maintenance ran
+     */
+    public CacheMaintenanceReport(final String cacheName, final long evicted,
+                                  final long refreshed, final long size,
+                                  final Instant ranAt) {
+        this.cacheName = cacheName;
+        this.evicted = evicted;
+        this.refreshed = refreshed;
+        this.size = size;
+        this.ranAt = ranAt;
+    }
+
+    /**
+     * Getter for cache name.
+     *
+     * @return cache name
+     */
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    /**
+     * Getter for evicted.
+     *
+     * @return number of entries dropped for their age
+     */
+    public long getEvicted() {
+        return evicted;
+    }
+
+    /**
+     * Getter for refreshed.
+     *
+     * @return number of entries reloaded ahead of their expiry
+     */
+    public long getRefreshed() {
+        return refreshed;
+    }
+
+    /**
+     * Getter for size.
+     *
+     * @return number of entries left in the cache
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Getter for ran at.
+     *
+     * @return time at which the maintenance ran
+     */
+    public Instant getRanAt() {
+        return ranAt;
+    }
+
+    /**
+     * Overridden toString method.
+     *
+     * @return String
+     */
+    @Override
+    public String toString() {
+        return "CacheMaintenanceReport{"
+                + "cacheName='" + cacheName + '\''
+                + ", evicted=" + evicted
+                + ", refreshed=" + refreshed
+                + ", size=" + size
+                + ", ranAt=" + ranAt
+                + '}';
+    }
+}
@@ -0,0 +1,148 @@
+package com.practice.web.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "via.cache")
+public class CachePolicyProperties {
+    /**
+     * Policy of the caches without their own policy.
+     */
+    private Policy defaults = new Policy();
+    /**
+     * Policies by cache name.
+     */
+    private Map<String, Policy> policies = new HashMap<>();
+
+    /**
+     * Getter for default policy.
+     *
+     * @return default policy
+     */
+    public Policy getDefaults() {
+        return defaults;
+    }
+
+    /**
+     * Setter for default policy.
+     *
+     * @param defaults default policy
+     */
+    public void setDefaults(final Policy defaults) {
+        this.defaults = defaults;
+    }
+
+    /**
+     * Getter for policies.
+     *
+     * @return policies by cache name
+     */
+    public Map<String, Policy> getPolicies() {
+        return policies;
+    }
+
+    /**
+     * Setter for policies.
+     *
+     * @param policies policies by cache name
+     */
+    public void setPolicies(final Map<String, Policy> policies) {
+        this.policies = policies;
+    }
+
+    /**
+     * Get the policy of a cache.
+     *
+     * @param name cache name
+     * @return policy of the cache, default policy if it has none
+     */
+    public Policy policyOf(final String name) {
+        return policies.getOrDefault(name, defaults);
+    }
+
+    /**
+     * Size and freshness policy of a cache.
+     */
+    public static class Policy {
+        /**
+         * Default maximum number of entries.
+         */
+        private static final long DEFAULT_MAXIMUM_SIZE = 500;
+        /**
+         * Default age after which an entry is dropped.
+         */
+        private static final Duration DEFAULT_EXPIRE_AFTER_WRITE =
+                Duration.ofMinutes(10);
+
+        /**
+         * Maximum number of entries, least valuable ones evicted first.
+         */
+        private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+        /**
+         * Age after which an entry is dropped.
+         */
+        private Duration expireAfterWrite = DEFAULT_EXPIRE_AFTER_WRITE;
+        /**
+         * Age after which an entry is served stale and reloaded in
+         * background, null to never reload.
+         */
+        private Duration refreshAfterWrite;
+
+        /**
+         * Getter for maximum size.
+         *
+         * @return maximum size
+         */
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        /**
+         * Setter for maximum size.
+         *
+         * @param maximumSize maximum size
+         */
+        public void setMaximumSize(final long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        /**
+         * Getter for expire after write.
+         *
+         * @return expire after write
+         */
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        /**
+         * Setter for expire after write.
+         *
+         * @param expireAfterWrite expire after write
+         */
+        public void setExpireAfterWrite(final Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        /**
+         * Getter for refresh after write.
+         *
+         * @return refresh after write, null to never reload
+         */
+        public Duration getRefreshAfterWrite() {
+            return refreshAfterWrite;
+        }
+
+        /**
+         * Setter for refresh after write.
+         *
+         * @param refreshAfterWrite refresh after write
+         */
+        public void setRefreshAfterWrite(final Duration refreshAfterWrite) {
+            this.refreshAfterWrite = refreshAfterWrite;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.practice.web.cache;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+public class MeteredStatsCounter implements StatsCounter {
+    /**
+     * Name of the load latency timer.
+     */
+    public static final String LOAD_LATENCY = "cache.load.latency";
+    /**
+     * Counters backing the cache statistics.
+     */
+    private final StatsCounter counter = new ConcurrentStatsCounter();
+    /**
+     * Latency of the successful loads.
+     */
+    private final Timer loadSuccess;
+    /**
+     * Latency of the failed loads.
+     */
+    private final Timer loadFailure;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param registry  registry of the load latency timers
+     * @param cacheName cache name
+     */
+    public MeteredStatsCounter(final MeterRegistry registry,
+                               final String cacheName) {
+        this.loadSuccess = loadTimer(registry, cacheName, "success");
+        this.loadFailure = loadTimer(registry, cacheName, "failure");
+    }
+
+    /**
+     * Record cache hits.
+     *
+     * @param count number of hits
+     */
+    @Override
+    public void recordHits(final int count) {
+        counter.recordHits(count);
+    }
+
+    /**
+     * Record cache misses.
+     *
+     * @param count number of misses
+     */
+    @Override
+    public void recordMisses(final int count) {
+        counter.recordMisses(count);
+    }
+
+    /**
+     * Record a successful load and its latency.
+     *
+     * @param loadTime load time in nanoseconds
+     */
+    @Override
+    public void recordLoadSuccess(final long loadTime) {
+        counter.recordLoadSuccess(loadTime);
+        loadSuccess.record(loadTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record a failed load and its latency.
+     *
+     * @param loadTime load time in nanoseconds
+     */
+    @Override
+    public void recordLoadFailure(final long loadTime) {
+        counter.recordLoadFailure(loadTime);
+        loadFailure.record(loadTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record an eviction.
+     */
+    @Override
+    @SuppressWarnings("deprecation")
+    public void recordEviction() {
+        counter.recordEviction();
+    }
+
+    /**
+     * Record an eviction with its weight and cause.
+     *
+     * @param weight weight of the evicted entry
+     * @param cause  cause of the eviction
+     */
+    @Override
+    public void recordEviction(final int weight, final RemovalCause cause) {
+        counter.recordEviction(weight, cause);
+    }
+
+    /**
+     * Snapshot of the cache statistics.
+     *
+     * @return cache statistics
+     */
+    @Override
+    public CacheStats snapshot() {
+        return counter.snapshot();
+    }
+
+    private static Timer loadTimer(final MeterRegistry registry,
+                                   final String cacheName,
+                                   final String result) {
+        return Timer.builder(LOAD_LATENCY)
+                .description("Latency of the cache loads")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,139 @@
+package com.practice.web.cache;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+public final class MethodCacheKey {
+    /**
+     * Parameters of a method without parameters.
+     */
+    private static final Object[] NO_PARAMS = new Object[0];
+    /**
+     * Multiplier combining the hash codes.
+     */
+    private static final int HASH_MULTIPLIER = 31;
+    /**
+     * Cached bean, which the method is called on to reload the value. It is
+     * not part of the key.
+     */
+    private final Object target;
+    /**
+     * Class of the cached bean.
+     */
+    private final Class<?> targetClass;
+    /**
+     * Cached method.
+     */
+    private final Method method;
+    /**
+     * Method parameters.
+     */
+    private final Object[] params;
+    /**
+     * Hash code, computed once.
+     */
+    private final int hash;
+
+    private MethodCacheKey(final Object target, final Method method,
+                           final Object[] params) {
+        this.target = target;
+        this.targetClass = target.getClass();
+        this.method = method;
+        this.params = params;
+        int result = HASH_MULTIPLIER * this.targetClass.hashCode()
+                + method.hashCode();
+        this.hash = HASH_MULTIPLIER * result + Arrays.deepHashCode(params);
+    }
+
+    /**
+     * Build the key of a method call. The parameters are kept as they are,
+     * without building a string, as Spring's SimpleKey does: the invocation
+     * owns a fresh array per call, and the parameters must not be changed
+     * once cached. Sets compare and hash regardless of their iteration
+     * order, so equal target sets share one key.
+     *
+     * @param target cached bean
+     * @param method cached method
+     * @param params method parameters
+     * @return key
+     */
+    public static MethodCacheKey of(final Object target, final Method method,
+                                    final Object... params) {
+        if (params == null || params.length == 0) {
+            return new MethodCacheKey(target, method, NO_PARAMS);
+        }
+        return new MethodCacheKey(target, method, params);
+    }
+
+    /**
+     * Call the cached method again with the same parameters, on the bean
+     * itself and so around the cache, to reload the value of this key.
+     *
+     * @return value of the key
+     * @throws Exception thrown by the method
+     */
+    public Object load() throws Exception {
+        ReflectionUtils.makeAccessible(method);
+        try {
+            return method.invoke(target, params);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getTargetException();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Overridden equals method.
+     *
+     * @param o other object
+     * @return whether the keys are for the same method and parameters
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MethodCacheKey)) {
+            return false;
+        }
+        MethodCacheKey that = (MethodCacheKey) o;
+        return hash == that.hash
+                && targetClass == that.targetClass
+                && method.equals(that.method)
+                && Arrays.deepEquals(params, that.params);
+    }
+
+    /**
+     * Overridden hashCode method.
+     *
+     * @return precomputed hash code
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Overridden toString method, in the former string key format.
+     *
+     * @return String
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(targetClass.getSimpleName())
+                .append('_').append(method.getName()).append('_');
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) {
+                builder.append('_');
+            }
+            builder.append(params[i]);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,91 @@
+package com.practice.web.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.AbstractCacheManager;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+public class PolicyCacheManager extends AbstractCacheManager {
+    /**
+     * Cache policies.
+     */
+    private final CachePolicyProperties properties;
+    /**
+     * Executor running the background reloads.
+     */
+    private final Executor reloadExecutor;
+    /**
+     * Registry of the cache load latency timers.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param properties     cache policies
+     * @param reloadExecutor executor running the background reloads
+     * @param meterRegistry  registry of the cache load latency timers
+     */
+    public PolicyCacheManager(final CachePolicyProperties properties,
+                              final Executor reloadExecutor,
+                              final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.reloadExecutor = reloadExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Create the caches with a configured policy.
+     *
+     * @return caches
+     */
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<Cache> caches = new ArrayList<>();
+        properties.getPolicies().keySet()
+                .forEach(name -> caches.add(createCache(name)));
+        return caches;
+    }
+
+    /**
+     * Create a cache that has no configured policy with the default one.
+     *
+     * @param name cache name
+     * @return cache
+     */
+    @Override
+    protected Cache getMissingCache(final String name) {
+        return createCache(name);
+    }
+
+    private static Object load(final Object key) throws Exception {
+        if (!(key instanceof MethodCacheKey)) {
+            throw new IllegalArgumentException("Key " + key + " is not"
+                    + " reloadable, its cache needs the customKeyGenerator");
+        }
+        return ((MethodCacheKey) key).load();
+    }
+
+    private Cache createCache(final String name) {
+        CachePolicyProperties.Policy policy = properties.policyOf(name);
+        MeteredStatsCounter statsCounter =
+                new MeteredStatsCounter(meterRegistry, name);
+        if (policy.getRefreshAfterWrite() != null) {
+            return new StaleWhileRevalidateCache(name, policy,
+                    PolicyCacheManager::load, reloadExecutor,
+                    Clock.systemUTC(), statsCounter);
+        }
+        return new CaffeineCache(name, Caffeine.newBuilder()
+                .maximumSize(policy.getMaximumSize())
+                .expireAfterWrite(policy.getExpireAfterWrite())
+                .recordStats(() -> statsCounter)
+                .build());
+    }
+}
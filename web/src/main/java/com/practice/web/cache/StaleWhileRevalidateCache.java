@@ -0,0 +1,361 @@
+package com.practice.web.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import com.practice.currencyconverter.service.SingleFlight;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+public class StaleWhileRevalidateCache extends AbstractValueAdaptingCache {
+    /**
+     * Logger Object to log the details.
+     */
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(StaleWhileRevalidateCache.class);
+    /**
+     * Cache name.
+     */
+    private final String name;
+    /**
+     * Age after which an entry is served stale and reloaded in background.
+     */
+    private final Duration softTtl;
+    /**
+     * Age after which an entry is dropped.
+     */
+    private final Duration hardTtl;
+    /**
+     * Loader of the value of a key, for the background reloads.
+     */
+    private final CacheLoader<Object, ?> loader;
+    /**
+     * Executor running the background reloads.
+     */
+    private final Executor reloadExecutor;
+    /**
+     * Clock used to age the entries.
+     */
+    private final Clock clock;
+    /**
+     * Statistics of the cache, shared with the store.
+     */
+    private final StatsCounter statsCounter;
+    /**
+     * Cache entries by key, bounded in size.
+     */
+    private final Cache<Object, Entry> store;
+    /**
+     * Map view of the store.
+     */
+    private final ConcurrentMap<Object, Entry> entries;
+    /**
+     * Keys with a background reload in flight.
+     */
+    private final Map<Object, Boolean> reloading = new ConcurrentHashMap<>();
+    /**
+     * Shares one load between concurrent misses on the same key.
+     */
+    private final SingleFlight<Object, Entry> loads = new SingleFlight<>();
+
+    /**
+     * Parameterized constructor.
+     *
+     * @param name           cache name
+     * @param policy         refresh TTL after which an entry is reloaded,
+     *                       expire TTL after which it is dropped and
+     *                       maximum number of entries
+     * @param loader         loader of the value of a key
+     * @param reloadExecutor executor running the background reloads
+     * @param clock          clock used to age the entries
+     * @param statsCounter   statistics of the cache
+     */
+    public StaleWhileRevalidateCache(final String name,
+                                     final CachePolicyProperties.Policy
+                                             policy,
+                                     final CacheLoader<Object, ?> loader,
+                                     final Executor reloadExecutor,
+                                     final Clock clock,
+                                     final StatsCounter statsCounter) {
+        super(true);
+        this.name = name;
+        this.softTtl = policy.getRefreshAfterWrite();
+        this.hardTtl = policy.getExpireAfterWrite();
+        this.loader = loader;
+        this.reloadExecutor = reloadExecutor;
+        this.clock = clock;
+        this.statsCounter = statsCounter;
+        this.store = Caffeine.newBuilder()
+                .maximumSize(policy.getMaximumSize())
+                .expireAfterWrite(hardTtl)
+                .recordStats(() -> statsCounter)
+                .build();
+        this.entries = store.asMap();
+    }
+
+    /**
+     * Getter for name.
+     *
+     * @return cache name
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Getter for the underlying store. Its statistics count the hits and
+     * misses of this cache and its loads, background reloads included.
+     *
+     * @return cache entries by key
+     */
+    @Override
+    public Cache<Object, ?> getNativeCache() {
+        return store;
+    }
+
+    /**
+     * Look up a value, stale values included until their hard TTL.
+     *
+     * @param key key
+     * @return stored value, null if absent or past its hard TTL
+     */
+    @Override
+    protected Object lookup(final Object key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            statsCounter.recordMisses(1);
+            return null;
+        }
+        if (entry.isExpired(clock.instant())) {
+            entries.remove(key, entry);
+            statsCounter.recordMisses(1);
+            return null;
+        }
+        entry.read = true;
+        statsCounter.recordHits(1);
+        return entry.value;
+    }
+
+    /**
+     * Get a value, used by {@code @Cacheable(sync = true)}. A fresh value is
+     * returned as is; a stale one is returned immediately while a single
+     * background reload of the key runs; a missing or expired one is loaded
+     * in the caller thread, once for all the concurrent callers, and stored
+     * once loaded, so a slow load does not hold up other keys.
+     *
+     * @param key         key
+     * @param valueLoader loader of the value
+     * @param <T>         value type
+     * @return value
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        Instant now = clock.instant();
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.isExpired(now)) {
+            entry.read = true;
+            statsCounter.recordHits(1);
+            if (entry.isStale(now)) {
+                reload(key);
+            }
+            return (T) fromStoreValue(entry.value);
+        }
+        statsCounter.recordMisses(1);
+        return (T) fromStoreValue(loads.execute(key, () -> {
+            Entry current = entries.get(key);
+            if (current != null && !current.isExpired(clock.instant())) {
+                return current;
+            }
+            Entry loaded = new Entry(toStoreValue(load(key, valueLoader)),
+                    clock.instant(), true);
+            entries.put(key, loaded);
+            return loaded;
+        }).value);
+    }
+
+    /**
+     * Put a value.
+     *
+     * @param key   key
+     * @param value value
+     */
+    @Override
+    public void put(final Object key, final Object value) {
+        entries.put(key, new Entry(toStoreValue(value), clock.instant(),
+                false));
+    }
+
+    /**
+     * Put a value if there is none, or the current one is past its hard TTL.
+     *
+     * @param key   key
+     * @param value value
+     * @return current value, null if the value was put
+     */
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value) {
+        ValueWrapper current = get(key);
+        if (current == null) {
+            put(key, value);
+        }
+        return current;
+    }
+
+    /**
+     * Evict a key.
+     *
+     * @param key key
+     */
+    @Override
+    public void evict(final Object key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Clear all the entries.
+     */
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Drop the entries past their hard TTL.
+     *
+     * @return number of dropped entries
+     */
+    public int evictExpired() {
+        Instant now = clock.instant();
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        return before - entries.size();
+    }
+
+    /**
+     * Reload in background the stale entries that were read since they were
+     * loaded, so that hot entries are refreshed ahead of their hard TTL and
+     * cold ones are left to expire.
+     *
+     * @return number of reloads started
+     */
+    public int refreshAhead() {
+        Instant now = clock.instant();
+        int refreshed = 0;
+        for (Map.Entry<Object, Entry> cached : entries.entrySet()) {
+            Entry entry = cached.getValue();
+            if (entry.read && entry.loaded && entry.isStale(now)
+                    && !entry.isExpired(now) && reload(cached.getKey())) {
+                refreshed++;
+            }
+        }
+        return refreshed;
+    }
+
+    /**
+     * Number of entries, expired ones included until they are evicted.
+     *
+     * @return number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private boolean reload(final Object key) {
+        if (reloading.putIfAbsent(key, Boolean.TRUE) != null) {
+            return false;
+        }
+        try {
+            reloadExecutor.execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    entries.put(key, new Entry(toStoreValue(
+                            loader.load(key)), clock.instant(), true));
+                    statsCounter.recordLoadSuccess(System.nanoTime() - start);
+                    LOGGER.debug("Cache {} reloaded key {}", name, key);
+                } catch (Exception e) {
+                    statsCounter.recordLoadFailure(System.nanoTime() - start);
+                    LOGGER.error("Cache {} reload failed for key {}, keeping"
+                            + " the stale value", name, key, e);
+                } finally {
+                    reloading.remove(key);
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            reloading.remove(key);
+            LOGGER.error("Cache {} reload not scheduled for key {}", name,
+                    key, e);
+            return false;
+        }
+    }
+
+    private <T> T load(final Object key, final Callable<T> valueLoader) {
+        long start = System.nanoTime();
+        try {
+            T value = valueLoader.call();
+            statsCounter.recordLoadSuccess(System.nanoTime() - start);
+            return value;
+        } catch (Exception e) {
+            statsCounter.recordLoadFailure(System.nanoTime() - start);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    /**
+     * Cached value with its load time.
+     */
+    private final class Entry {
+        /**
+         * Stored value.
+         */
+        private final Object value;
+        /**
+         * Time at which the value was loaded.
+         */
+        private final Instant loadedAt;
+        /**
+         * Whether the value was loaded, not put directly, and so is
+         * reloaded ahead of its expiry.
+         */
+        private final boolean loaded;
+        /**
+         * Whether the value was read since it was loaded.
+         */
+        private volatile boolean read;
+
+        /**
+         * Parameterized constructor.
+         *
+         * @param value    stored value
+         * @param loadedAt time at which the value was loaded
+         * @param loaded   whether the value was loaded
+         */
+        private Entry(final Object value, final Instant loadedAt,
+                      final boolean loaded) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+            this.loaded = loaded;
+        }
+
+        private boolean isStale(final Instant now) {
+            return !loadedAt.plus(softTtl).isAfter(now);
+        }
+
+        private boolean isExpired(final Instant now) {
+            return !loadedAt.plus(hardTtl).isAfter(now);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+/*
+ * Copyright (c) 2020.
+ */
+/**
+ * Contains Cache implementations.
+ *
+ * @author Sakthi_Subramaniam
+ */
+package com.practice.web.cache;
@@ -1,13 +1,32 @@
 package com.practice.web.config;
 
+import com.practice.web.cache.CachePolicyProperties;
+import com.practice.web.cache.PolicyCacheManager;
+import com.practice.web.cache.StaleWhileRevalidateCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CachePolicyProperties.class)
 public class CacheConfig {
+    /**
+     * Threads reloading stale cache entries.
+     */
+    private static final int RELOAD_THREADS = 2;
+
     /**
      * Bean for key generator.
      *
@@ -17,4 +36,56 @@ public class CacheConfig {
     public KeyGenerator keyGenerator() {
         return new CustomKeyGenerator();
     }
+
+    /**
+     * Bean for the executor reloading stale cache entries, on platform
+     * threads unless the virtual thread mode is on.
+     *
+     * @return executor
+     */
+    @Bean
+    @ConditionalOnProperty(name = "via.threads.mode", havingValue = "platform",
+            matchIfMissing = true)
+    public ThreadPoolTaskExecutor cacheReloadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(RELOAD_THREADS);
+        executor.setMaxPoolSize(RELOAD_THREADS);
+        executor.setThreadNamePrefix("cache-reload-");
+        return executor;
+    }
+
+    /**
+     * Bean for cache manager. Every cache is bounded in size and expires its
+     * entries after their TTL, with the policies from via.cache; a cache
+     * with a refresh TTL serves its stale entries while a background reload
+     * runs. Every cache records its statistics and the latency of its
+     * loads.
+     *
+     * @param cachePolicyProperties cache policies
+     * @param cacheReloadExecutor   executor reloading stale cache entries
+     * @param meterRegistry         registry of the cache load latency timers
+     * @return cache manager
+     */
+    @Bean
+    public CacheManager cacheManager(
+            final CachePolicyProperties cachePolicyProperties,
+            @Qualifier("cacheReloadExecutor")
+            final Executor cacheReloadExecutor,
+            final MeterRegistry meterRegistry) {
+        return new PolicyCacheManager(cachePolicyProperties,
+                cacheReloadExecutor, meterRegistry);
+    }
+
+    /**
+     * Bean binding the statistics of the stale while revalidate caches to
+     * the cache metrics, as is done for the Caffeine caches.
+     *
+     * @return cache meter binder provider
+     */
+    @Bean
+    public CacheMeterBinderProvider<StaleWhileRevalidateCache>
+            staleWhileRevalidateCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics(
+                cache.getNativeCache(), cache.getName(), tags);
+    }
 }
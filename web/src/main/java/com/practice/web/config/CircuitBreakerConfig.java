@@ -1,11 +1,68 @@
 package com.practice.web.config;
 
-import org.springframework.cloud.client.circuitbreaker.EnableCircuitBreaker;
-import org.springframework.cloud.netflix.hystrix.dashboard.EnableHystrixDashboard;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.core.registry.EntryAddedEvent;
+import io.github.resilience4j.core.registry.EntryRemovedEvent;
+import io.github.resilience4j.core.registry.EntryReplacedEvent;
+import io.github.resilience4j.core.registry.RegistryEventConsumer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
-@EnableCircuitBreaker
-@EnableHystrixDashboard
 public class CircuitBreakerConfig {
+    /**
+     * Logger Object to log the details.
+     */
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(CircuitBreakerConfig.class);
+    /**
+     * Counter of the circuit breaker state transitions.
+     */
+    public static final String STATE_TRANSITIONS =
+            "resilience4j.circuitbreaker.state.transitions";
+
+    /**
+     * Bean counting the state transitions of every circuit breaker, tagged
+     * with the breaker name and the states it moved from and to. The
+     * current state is published by the resilience4j metrics.
+     *
+     * @param meterRegistry meter registry
+     * @return circuit breaker registry event consumer
+     */
+    @Bean
+    public RegistryEventConsumer<CircuitBreaker>
+            circuitBreakerTransitionMetrics(final MeterRegistry meterRegistry) {
+        return new RegistryEventConsumer<>() {
+            @Override
+            public void onEntryAddedEvent(
+                    final EntryAddedEvent<CircuitBreaker> event) {
+                CircuitBreaker circuitBreaker = event.getAddedEntry();
+                circuitBreaker.getEventPublisher().onStateTransition(
+                        transition -> {
+                            CircuitBreaker.StateTransition states =
+                                    transition.getStateTransition();
+                            LOGGER.warn("Circuit breaker {}: {}",
+                                    circuitBreaker.getName(), states);
+                            meterRegistry.counter(STATE_TRANSITIONS,
+                                    "name", circuitBreaker.getName(),
+                                    "from", states.getFromState().name(),
+                                    "to", states.getToState().name())
+                                    .increment();
+                        });
+            }
+
+            @Override
+            public void onEntryRemovedEvent(
+                    final EntryRemovedEvent<CircuitBreaker> event) {
+            }
+
+            @Override
+            public void onEntryReplacedEvent(
+                    final EntryReplacedEvent<CircuitBreaker> event) {
+            }
+        };
+    }
 }
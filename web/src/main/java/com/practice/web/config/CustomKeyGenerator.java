@@ -1,14 +1,16 @@
 package com.practice.web.config;
 
+import com.practice.web.cache.MethodCacheKey;
 import org.springframework.cache.interceptor.KeyGenerator;
-import org.springframework.util.StringUtils;
 
 import java.lang.reflect.Method;
 
 public class CustomKeyGenerator implements KeyGenerator {
 
     /**
-     * Overridden method.
+     * Overridden method. The key holds the bean, the method and the
+     * parameters themselves, so no string is built per cache lookup and the
+     * value can be reloaded from the key.
      *
      * @param target class
      * @param method method
@@ -18,7 +20,6 @@ public class CustomKeyGenerator implements KeyGenerator {
     @Override
     public Object generate(final Object target, final Method method,
                            final Object... params) {
-        return target.getClass().getSimpleName() + "_" + method.getName() + "_"
-                + StringUtils.arrayToDelimitedString(params, "_");
+        return MethodCacheKey.of(target, method, params);
     }
 }
@@ -0,0 +1,170 @@
+package com.practice.web.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "via.http")
+public class HttpClientProperties {
+    /**
+     * Default time allowed to connect to an upstream API.
+     */
+    private static final Duration DEFAULT_CONNECT_TIMEOUT =
+            Duration.ofSeconds(5);
+    /**
+     * Default time allowed to wait for upstream API data.
+     */
+    private static final Duration DEFAULT_READ_TIMEOUT =
+            Duration.ofSeconds(10);
+    /**
+     * Default time allowed to wait for a pooled connection.
+     */
+    private static final Duration DEFAULT_POOL_ACQUIRE_TIMEOUT =
+            Duration.ofSeconds(2);
+    /**
+     * Default time an idle connection is kept open.
+     */
+    private static final Duration DEFAULT_KEEP_ALIVE = Duration.ofSeconds(30);
+    /**
+     * Default maximum number of pooled connections.
+     */
+    private static final int DEFAULT_MAX_CONNECTIONS = 50;
+    /**
+     * Default maximum number of pooled connections to one host.
+     */
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+
+    /**
+     * Time allowed to connect to an upstream API.
+     */
+    private Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    /**
+     * Time allowed to wait for upstream API data.
+     */
+    private Duration readTimeout = DEFAULT_READ_TIMEOUT;
+    /**
+     * Time allowed to wait for a pooled connection when all are leased.
+     */
+    private Duration poolAcquireTimeout = DEFAULT_POOL_ACQUIRE_TIMEOUT;
+    /**
+     * Time an idle connection is kept open, when the upstream API does not
+     * say how long it keeps it.
+     */
+    private Duration keepAlive = DEFAULT_KEEP_ALIVE;
+    /**
+     * Maximum number of pooled connections.
+     */
+    private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+    /**
+     * Maximum number of pooled connections to one host.
+     */
+    private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+
+    /**
+     * Getter for connect timeout.
+     *
+     * @return connect timeout
+     */
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * Setter for connect timeout.
+     *
+     * @param connectTimeout connect timeout
+     */
+    public void setConnectTimeout(final Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * Getter for read timeout.
+     *
+     * @return read timeout
+     */
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * Setter for read timeout.
+     *
+     * @param readTimeout read timeout
+     */
+    public void setReadTimeout(final Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Getter for pool acquire timeout.
+     *
+     * @return pool acquire timeout
+     */
+    public Duration getPoolAcquireTimeout() {
+        return poolAcquireTimeout;
+    }
+
+    /**
+     * Setter for pool acquire timeout.
+     *
+     * @param poolAcquireTimeout pool acquire timeout
+     */
+    public void setPoolAcquireTimeout(final Duration poolAcquireTimeout) {
+        this.poolAcquireTimeout = poolAcquireTimeout;
+    }
+
+    /**
+     * Getter for keep alive.
+     *
+     * @return keep alive
+     */
+    public Duration getKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * Setter for keep alive.
+     *
+     * @param keepAlive keep alive
+     */
+    public void setKeepAlive(final Duration keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    /**
+     * Getter for max connections.
+     *
+     * @return max connections
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Setter for max connections.
+     *
+     * @param maxConnections max connections
+     */
+    public void setMaxConnections(final int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Getter for max connections per route.
+     *
+     * @return max connections per route
+     */
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Setter for max connections per route.
+     *
+     * @param maxConnectionsPerRoute max connections per route
+     */
+    public void setMaxConnectionsPerRoute(final int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+}
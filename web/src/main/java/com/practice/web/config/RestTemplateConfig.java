@@ -1,19 +1,112 @@
 package com.practice.web.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.concurrent.TimeUnit;
+
 @Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
 public class RestTemplateConfig {
     /**
-     * Rest Template bean configuration.
-     * @param builder RestTemplateBuilder
+     * Pool name in the connection pool metrics.
+     */
+    private static final String POOL_NAME = "upstream";
+
+    /**
+     * Bean for the pool of upstream API connections, shared by every call
+     * so that connections and their TLS sessions are reused.
+     *
+     * @param properties http client properties
+     * @return connection manager
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager(
+            final HttpClientProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(properties.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(
+                properties.getMaxConnectionsPerRoute());
+        return connectionManager;
+    }
+
+    /**
+     * Bean for the http client calling the upstream APIs. Calls are bounded
+     * in time, connect, read and wait for a pooled connection alike, so that
+     * a hung upstream cannot hold the callers sharing its fetch. Idle
+     * connections are kept open for the keep alive the upstream asks for,
+     * or the configured one, and closed in background afterwards.
+     *
+     * @param properties        http client properties
+     * @param connectionManager connection manager
+     * @return http client
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(
+            final HttpClientProperties properties,
+            final PoolingHttpClientConnectionManager connectionManager) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(
+                        (int) properties.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                .setConnectionRequestTimeout(
+                        (int) properties.getPoolAcquireTimeout().toMillis())
+                .build();
+        long keepAlive = properties.getKeepAlive().toMillis();
+        ConnectionKeepAliveStrategy keepAliveStrategy =
+                (response, context) -> {
+                    long duration = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return duration > 0 ? duration : keepAlive;
+                };
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAlive, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Bean binding the connection pool to the httpcomponents.httpclient.pool
+     * metrics: leased, available and pending connections.
+     *
+     * @param connectionManager connection manager
+     * @return meter binder
+     */
+    @Bean
+    public MeterBinder httpConnectionPoolMetrics(
+            final PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(
+                connectionManager, POOL_NAME);
+    }
+
+    /**
+     * Rest Template bean configuration, on the pooled http client.
+     * @param builder    RestTemplateBuilder
+     * @param httpClient http client
      * @return ret template bean
      */
     @Bean
-    public RestTemplate restTemplate(final RestTemplateBuilder builder) {
-        return builder.build();
+    public RestTemplate restTemplate(final RestTemplateBuilder builder,
+                                     final CloseableHttpClient httpClient) {
+        return builder
+                .requestFactory(() ->
+                        new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
     }
 }
@@ -1,9 +1,45 @@
 package com.practice.web.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
 
 @Configuration
 @EnableScheduling
 public class SchedulingConfig {
+    /**
+     * Bean for the executor saving the directly fetched currency rates off
+     * the request thread, on one platform thread unless the virtual thread
+     * mode is on.
+     *
+     * @return executor
+     */
+    @Bean
+    @ConditionalOnProperty(name = "via.threads.mode", havingValue = "platform",
+            matchIfMissing = true)
+    public ThreadPoolTaskExecutor rateRecordExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("rate-record-");
+        return executor;
+    }
+
+    /**
+     * Bean for the factory of the daily alert worker threads, platform
+     * threads unless the virtual thread mode is on.
+     *
+     * @return thread factory
+     */
+    @Bean("alertThreadFactory")
+    @ConditionalOnProperty(name = "via.threads.mode", havingValue = "platform",
+            matchIfMissing = true)
+    public ThreadFactory alertThreadFactory() {
+        return new CustomizableThreadFactory("alert-worker-");
+    }
 }
@@ -0,0 +1,176 @@
+package com.practice.web.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+@Configuration
+@ConditionalOnProperty(name = "via.threads.mode", havingValue = "virtual")
+public class VirtualThreadConfig implements WebMvcConfigurer {
+    /**
+     * Logger Object to log the details.
+     */
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(VirtualThreadConfig.class);
+
+    /**
+     * Executor running the @Async and MVC async work.
+     */
+    private final ExecutorService taskExecutor;
+    /**
+     * Executor running the Tomcat requests.
+     */
+    private final ExecutorService requestExecutor;
+    /**
+     * Executor reloading the stale cache entries.
+     */
+    private final ExecutorService cacheReloadExecutor;
+    /**
+     * Executor saving the directly fetched currency rates.
+     */
+    private final ExecutorService rateRecordExecutor;
+    /**
+     * Number of threads of the scheduler, so the @Scheduled jobs run side
+     * by side instead of waiting for each other.
+     */
+    private final int schedulerPoolSize;
+
+    /**
+     * Parameterized constructor failing the startup if the JDK has no
+     * virtual threads. Pinning diagnostics are switched on before the
+     * first virtual thread starts.
+     *
+     * @param tracePinning      short or full to log the stack of a virtual
+     *                          thread blocking while pinned, blank to
+     *                          disable
+     * @param schedulerPoolSize number of threads of the scheduler
+     */
+    public VirtualThreadConfig(
+            @Value("${via.threads.trace-pinning:}") final String tracePinning,
+            @Value("${spring.task.scheduling.pool.size:4}")
+            final int schedulerPoolSize) {
+        if (!tracePinning.isBlank()) {
+            System.setProperty(VirtualThreads.TRACE_PINNED_THREADS,
+                    tracePinning);
+        }
+        this.taskExecutor = VirtualThreads.executor("task-");
+        this.requestExecutor = VirtualThreads.executor("http-");
+        this.cacheReloadExecutor = VirtualThreads.executor("cache-reload-");
+        this.rateRecordExecutor = VirtualThreads.executor("rate-record-");
+        this.schedulerPoolSize = schedulerPoolSize;
+        LOGGER.info("Running requests, scheduled, async, alert, cache"
+                + " reload and rate record work on virtual threads, pinning"
+                + " trace: {}", tracePinning);
+    }
+
+    /**
+     * Bean running every Tomcat request on its own virtual thread, so the
+     * requests in flight are bounded by the connections, not a pool.
+     *
+     * @return protocol handler customizer
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler() {
+        return protocolHandler ->
+                protocolHandler.setExecutor(requestExecutor);
+    }
+
+    /**
+     * Bean running the @Scheduled jobs on virtual threads. The scheduler
+     * keeps a few of them, so a long job does not hold back the others.
+     *
+     * @return task scheduler
+     */
+    @Bean
+    public TaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(schedulerPoolSize);
+        scheduler.setThreadFactory(
+                VirtualThreads.threadFactory("scheduling-"));
+        return scheduler;
+    }
+
+    /**
+     * Bean running the @Async work on virtual threads.
+     *
+     * @return task executor
+     */
+    @Bean(name = "taskExecutor", destroyMethod = "")
+    public AsyncTaskExecutor taskExecutor() {
+        return new TaskExecutorAdapter(taskExecutor);
+    }
+
+    /**
+     * Bean for the factory of the daily alert worker threads. The job still
+     * bounds its workers, the virtual threads only stop them holding a
+     * platform thread while they wait on the rates, the rate limiters or
+     * SMTP.
+     *
+     * @return thread factory
+     */
+    @Bean("alertThreadFactory")
+    public ThreadFactory alertThreadFactory() {
+        return VirtualThreads.threadFactory("alert-worker-");
+    }
+
+    /**
+     * Bean reloading every stale cache entry on a virtual thread of its
+     * own. A key is reloaded once at a time by the cache, and the upstream
+     * calls stay bounded by their bulkheads.
+     *
+     * @return executor
+     */
+    @Bean(name = "cacheReloadExecutor", destroyMethod = "")
+    public Executor cacheReloadExecutor() {
+        return cacheReloadExecutor;
+    }
+
+    /**
+     * Bean saving every directly fetched currency rate on a virtual thread
+     * of its own.
+     *
+     * @return executor
+     */
+    @Bean(name = "rateRecordExecutor", destroyMethod = "")
+    public Executor rateRecordExecutor() {
+        return rateRecordExecutor;
+    }
+
+    /**
+     * Run the MVC async work, as the Mono returned by the reactive
+     * controller, on virtual threads.
+     *
+     * @param configurer async support configurer
+     */
+    @Override
+    public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(taskExecutor());
+    }
+
+    /**
+     * Stop the executors, Tomcat leaves an executor it did not create
+     * running.
+     */
+    @PreDestroy
+    public void shutdown() {
+        requestExecutor.shutdown();
+        taskExecutor.shutdown();
+        cacheReloadExecutor.shutdown();
+        rateRecordExecutor.shutdown();
+    }
+}
@@ -0,0 +1,84 @@
+package com.practice.web.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+public final class VirtualThreads {
+    /**
+     * System property tracing the stack of a virtual thread pinned to its
+     * carrier thread while it blocks.
+     */
+    public static final String TRACE_PINNED_THREADS =
+            "jdk.tracePinnedThreads";
+    /**
+     * Thread.ofVirtual(), null if the JDK has no virtual threads.
+     */
+    private static final Method OF_VIRTUAL = find(Thread.class, "ofVirtual");
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Whether the running JDK has virtual threads.
+     *
+     * @return true if virtual threads are available
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Factory of virtual threads, named prefix followed by a counter.
+     *
+     * @param prefix thread name prefix
+     * @return virtual thread factory
+     */
+    public static ThreadFactory threadFactory(final String prefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads need JDK 21 or"
+                    + " later, running " + Runtime.version());
+        }
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = builderType
+                    .getMethod("name", String.class, long.class)
+                    .invoke(OF_VIRTUAL.invoke(null), prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory")
+                    .invoke(builder);
+        } catch (ClassNotFoundException | NoSuchMethodException
+                | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException(
+                    "Virtual thread factory unavailable", e);
+        }
+    }
+
+    /**
+     * Executor starting a new virtual thread per task.
+     *
+     * @param prefix thread name prefix
+     * @return virtual thread per task executor
+     */
+    public static ExecutorService executor(final String prefix) {
+        ThreadFactory factory = threadFactory(prefix);
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (NoSuchMethodException | IllegalAccessException
+                | InvocationTargetException e) {
+            throw new IllegalStateException(
+                    "Virtual thread executor unavailable", e);
+        }
+    }
+
+    private static Method find(final Class<?> type, final String name) {
+        try {
+            return type.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.practice.web.config;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnProperty(name = "via.api.mode", havingValue = "reactive")
+public class WebClientConfig {
+    /**
+     * Connection pool name.
+     */
+    private static final String POOL_NAME = "upstream";
+
+    /**
+     * Bean for the pool of upstream API connections of the web client,
+     * sized like the pool of the rest template.
+     *
+     * @param properties http client properties
+     * @return connection provider
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider webClientConnectionProvider(
+            final HttpClientProperties properties) {
+        return ConnectionProvider.fixed(POOL_NAME,
+                properties.getMaxConnections(),
+                properties.getPoolAcquireTimeout().toMillis());
+    }
+
+    /**
+     * Bean for the web client calling the upstream APIs without holding a
+     * thread while they answer, bounded by the same timeouts as the rest
+     * template.
+     *
+     * @param builder            WebClient builder
+     * @param properties         http client properties
+     * @param connectionProvider connection provider
+     * @return web client
+     */
+    @Bean
+    public WebClient webClient(final WebClient.Builder builder,
+                               final HttpClientProperties properties,
+                               final ConnectionProvider connectionProvider) {
+        int connectTimeout = (int) properties.getConnectTimeout().toMillis();
+        long readTimeout = properties.getReadTimeout().toMillis();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .tcpConfiguration(tcpClient -> tcpClient
+                        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                                connectTimeout)
+                        .doOnConnected(connection -> connection
+                                .addHandlerLast(new ReadTimeoutHandler(
+                                        readTimeout, TimeUnit.MILLISECONDS))));
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
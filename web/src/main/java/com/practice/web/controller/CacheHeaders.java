@@ -0,0 +1,120 @@
+package com.practice.web.controller;
+
+import com.practice.currencyconverter.model.Countries;
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.RateRanking;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+
+final class CacheHeaders {
+    /**
+     * Warning header value of a response served from the last known good
+     * copy while the upstream API fails.
+     */
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+    /**
+     * ETag prefix of the countries and their currencies.
+     */
+    private static final String COUNTRIES_TAG = "countries";
+    /**
+     * ETag prefix of a currency rate ranking.
+     */
+    private static final String RANKING_TAG = "ranking";
+
+    private CacheHeaders() {
+    }
+
+    /**
+     * Headers letting a polling client cache the body for max age and then
+     * revalidate it with If-None-Match. The strong ETag is made of the
+     * digest computed when the data was loaded, so it is the same on every
+     * instance and across restarts, and is never derived from the request.
+     * An unchanged body is answered with 304 Not Modified before it is
+     * serialized. A stale body is neither tagged nor cacheable.
+     *
+     * @param tag    ETag prefix identifying the resource
+     * @param digest digest of the data of the body
+     * @param maxAge time the body may be reused without revalidation
+     * @param stale  body served from the last known good copy
+     * @return response headers
+     */
+    static HttpHeaders of(final String tag, final String digest,
+                          final Duration maxAge, final boolean stale) {
+        HttpHeaders headers = new HttpHeaders();
+        if (stale) {
+            headers.set(HttpHeaders.WARNING, STALE_WARNING);
+            headers.setCacheControl(CacheControl.noCache());
+            return headers;
+        }
+        headers.setETag("\"" + tag + "-" + digest + "\"");
+        headers.setCacheControl(CacheControl.maxAge(maxAge));
+        return headers;
+    }
+
+    /**
+     * Headers of a body streamed from one rate snapshot, warning that it
+     * was served from the last known good rates if the snapshot is stale.
+     *
+     * @param stale body served from the last known good rates
+     * @return response headers
+     */
+    static HttpHeaders streamed(final boolean stale) {
+        HttpHeaders headers = new HttpHeaders();
+        if (stale) {
+            headers.set(HttpHeaders.WARNING, STALE_WARNING);
+        }
+        return headers;
+    }
+
+    /**
+     * Headers of the countries and their currencies, or of a country
+     * looked up in them, tagged with the digest of the countries.
+     *
+     * @param countries countries and their currencies
+     * @param maxAge    time the countries may be reused without
+     *                  revalidation
+     * @return response headers
+     */
+    static HttpHeaders of(final Countries countries, final Duration maxAge) {
+        return of(COUNTRIES_TAG, countries.getDigest(), maxAge,
+                countries.isStale());
+    }
+
+    /**
+     * Headers of a currency rate ranking, tagged with the digest of the
+     * ranked rates.
+     *
+     * @param ranking currency rate ranking
+     * @param maxAge  time the ranking may be reused without revalidation
+     * @return response headers
+     */
+    static HttpHeaders of(final RateRanking ranking, final Duration maxAge) {
+        return of(RANKING_TAG, ranking.getDigest(), maxAge,
+                ranking.isStale());
+    }
+
+    /**
+     * Headers of the currency rates of a base currency, tagged with the
+     * base and the rate date of the rates and the digest of the rates, and
+     * last modified at the start of the rate date.
+     *
+     * @param currencyRate currency rates for the base currency
+     * @param maxAge       time the rates may be reused without revalidation
+     * @return response headers
+     */
+    static HttpHeaders of(final CurrencyConverter currencyRate,
+                          final Duration maxAge) {
+        HttpHeaders headers = of(currencyRate.getBase() + "-"
+                        + currencyRate.getDate(),
+                currencyRate.getRates().getDigest(), maxAge,
+                currencyRate.isStale());
+        if (!currencyRate.isStale() && currencyRate.getDate() != null) {
+            headers.setLastModified(currencyRate.getDate()
+                    .atStartOfDay(ZoneOffset.UTC).toInstant());
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,49 @@
+package com.practice.web.controller;
+
+import com.practice.web.cache.CacheMaintenanceReport;
+import com.practice.web.service.CacheService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "cachemaintenance")
+public class CacheMaintenanceEndpoint {
+    /**
+     * CacheService object.
+     */
+    private final CacheService cacheService;
+
+    /**
+     * Parameterized constructor to bind the object.
+     *
+     * @param cacheService CacheService
+     */
+    public CacheMaintenanceEndpoint(final CacheService cacheService) {
+        this.cacheService = cacheService;
+    }
+
+    /**
+     * API to see what the last cache maintenance evicted and refreshed.
+     *
+     * @return last maintenance report by cache name
+     */
+    @ReadOperation
+    public Map<String, CacheMaintenanceReport> reports() {
+        return cacheService.getReports();
+    }
+
+    /**
+     * API to run the cache maintenance now.
+     *
+     * @return maintenance report by cache name
+     */
+    @WriteOperation
+    public Map<String, CacheMaintenanceReport> maintain() {
+        cacheService.maintainCaches();
+        return cacheService.getReports();
+    }
+}
@@ -0,0 +1,76 @@
+package com.practice.web.controller;
+
+import com.practice.currencyconverter.facade.CurrencyConverterFacade;
+import com.practice.currencyconverter.model.RateSnapshot;
+import com.practice.currencyconverter.service.BatchConverter;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1")
+@Api("Currency Converter System")
+public class ConversionController {
+    /**
+     * HTTP Status OK value.
+     */
+    private static final int HTTP_STATUS_OK = 200;
+    /**
+     * CurrencyConverterFacade object.
+     */
+    private final CurrencyConverterFacade currencyConverterFacade;
+    /**
+     * BatchConverter object.
+     */
+    private final BatchConverter batchConverter;
+
+    /**
+     * Parameterized constructor to bind the objects.
+     *
+     * @param currencyConverterFacade CurrencyConverterFacade object
+     * @param batchConverter          BatchConverter object
+     */
+    public ConversionController(
+            final CurrencyConverterFacade currencyConverterFacade,
+            final BatchConverter batchConverter) {
+        this.currencyConverterFacade = currencyConverterFacade;
+        this.batchConverter = batchConverter;
+    }
+
+    /**
+     * API to convert a batch of amounts between currency pairs. Every row
+     * is converted with the same rate snapshot, taken before the response
+     * starts, and streamed back as it is read. A stale snapshot is
+     * marked with a Warning header. A body that is not an array of rows
+     * ends the array with an error record.
+     *
+     * @param body JSON array of amount, from and to rows
+     * @return the rows with their converted amounts
+     */
+    @ApiOperation("Convert a batch of amounts between currency pairs")
+    @ApiResponses({
+            @ApiResponse(code = HTTP_STATUS_OK,
+                    message = "Converted Successfully")
+    })
+    @PostMapping(value = "/convert/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> convertBatch(
+            final InputStream body) {
+        RateSnapshot snapshot = currencyConverterFacade.getRateSnapshot();
+        return ResponseEntity.status(HttpStatus.OK)
+                .headers(CacheHeaders.streamed(snapshot.isStale()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> batchConverter.convert(snapshot, body, out));
+    }
+}
@@ -2,12 +2,16 @@ package com.practice.web.controller;
 
 import com.practice.exception.ResourceNotFoundException;
 import com.practice.currencyconverter.facade.CurrencyConverterFacade;
+import com.practice.currencyconverter.model.Countries;
 import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.RateRanking;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -17,13 +21,17 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.Size;
+import java.time.Duration;
 import java.util.Map;
 
 @RestController
 @Validated
 @RequestMapping("/api/v1")
 @Api("Currency Converter System")
+@ConditionalOnProperty(name = "via.api.mode", havingValue = "blocking",
+        matchIfMissing = true)
 public class CurrencyConverterController {
     /**
      * Currency code length.
@@ -41,23 +49,45 @@ public class CurrencyConverterController {
      * HTTP Status Not Found value.
      */
     private static final int HTTP_STATUS_NOT_FOUND = 404;
+    /**
+     * Default number of currencies in the ranking.
+     */
+    private static final String DEFAULT_RANKING_TOP = "10";
     /**
      * TodoFacade object.
      */
     private final CurrencyConverterFacade currencyConverterFacade;
+    /**
+     * Time the rates may be cached, the rate snapshot refresh interval.
+     */
+    private final Duration ratesMaxAge;
+    /**
+     * Time the countries may be cached, their cache refresh interval.
+     */
+    private final Duration countriesMaxAge;
 
     /**
      * Parameterized constructor to bind TodoFacade object.
      *
      * @param currencyConverterFacade TodoFacade object
+     * @param ratesRefreshInterval    rate snapshot refresh interval in ms
+     * @param countriesMaxAge         countries cache refresh interval
      */
     public CurrencyConverterController(
-            final CurrencyConverterFacade currencyConverterFacade) {
+            final CurrencyConverterFacade currencyConverterFacade,
+            @Value("${via.scheduler.snapshot.refresh.value:600000}")
+            final long ratesRefreshInterval,
+            @Value("${via.cache.policies.CurrencyConverterCache"
+                    + ".refresh-after-write:1h}")
+            final Duration countriesMaxAge) {
         this.currencyConverterFacade = currencyConverterFacade;
+        this.ratesMaxAge = Duration.ofMillis(ratesRefreshInterval);
+        this.countriesMaxAge = countriesMaxAge;
     }
 
     /**
-     * API to get Countries and their currencies from external source.
+     * API to get Countries and their currencies from external source. The
+     * response is tagged for conditional requests.
      *
      * @return ResponseEntity with Country list
      */
@@ -68,8 +98,11 @@ public class CurrencyConverterController {
     })
     @GetMapping("/countries")
     public ResponseEntity<Map> getCountriesAndCurrencies() {
-        return ResponseEntity.status(HttpStatus.OK).body(currencyConverterFacade
-                .getCountriesAndCurrencies());
+        Countries countries = currencyConverterFacade
+                .getCountriesAndCurrencies();
+        return ResponseEntity.status(HttpStatus.OK)
+                .headers(CacheHeaders.of(countries, countriesMaxAge))
+                .body(countries.getCountries());
     }
 
     /**
@@ -95,12 +128,18 @@ public class CurrencyConverterController {
                     message = "Currency code must be of 3 letters")
             @PathVariable(value = "code") final String code)
             throws ResourceNotFoundException {
+        Countries countries = currencyConverterFacade
+                .getCountriesAndCurrencies();
+        String country = countries.getCountry(code).orElseThrow(() ->
+                new ResourceNotFoundException("Not a Valid currency code"));
         return ResponseEntity.status(HttpStatus.OK)
-                .body(currencyConverterFacade.getCountryForCurrencyCode(code));
+                .headers(CacheHeaders.of(countries, countriesMaxAge))
+                .body(country);
     }
 
     /**
-     * API to get currency rate for base country.
+     * API to get currency rate for base country. The response is tagged for
+     * conditional requests and may be cached until the next rate refresh.
      *
      * @param base base country
      * @return list of to-do's
@@ -118,12 +157,17 @@ public class CurrencyConverterController {
             @Size(min = CURRENCY_CODE_LENGTH, max = CURRENCY_CODE_LENGTH,
                     message = "Currency code must be of 3 letters")
             @RequestParam(value = "base") final String base) {
+        CurrencyConverter currencyRate = currencyConverterFacade
+                .getCurrencyRate(base);
         return ResponseEntity.status(HttpStatus.OK)
-                .body(currencyConverterFacade.getCurrencyRate(base));
+                .headers(CacheHeaders.of(currencyRate, ratesMaxAge))
+                .body(currencyRate);
     }
 
     /**
-     * API to get highest currency rate country for base country.
+     * API to get highest currency rate country for base country. The
+     * response is tagged for conditional requests, unless the ranked rates
+     * are stale.
      *
      * @param base base country
      * @return highest currency rate country
@@ -141,8 +185,38 @@ public class CurrencyConverterController {
             @Size(min = CURRENCY_CODE_LENGTH, max = CURRENCY_CODE_LENGTH,
                     message = "Currency code must be of 3 letters")
             @RequestParam(value = "base") final String base) {
+        RateRanking ranking = currencyConverterFacade
+                .getCurrencyRateRanking(base);
+        return ResponseEntity.status(HttpStatus.OK)
+                .headers(CacheHeaders.of(ranking, ratesMaxAge))
+                .body(ranking.getHighestAndLowest());
+    }
+
+    /**
+     * API to get the highest currency rates for base country.
+     *
+     * @param base base country
+     * @param top  number of currencies
+     * @return currency rates from the highest
+     */
+    @ApiOperation("Get highest currency rates for base currency")
+    @ApiResponses({
+            @ApiResponse(code = HTTP_STATUS_OK,
+                    message = "Retrieved Successfully"),
+            @ApiResponse(code = HTTP_STATUS_BAD_REQUEST,
+                    message = "Currency code must be of 3 letters")
+    })
+    @GetMapping("/rates/ranking")
+    public ResponseEntity<Map<String, Double>> getCurrencyRateRanking(
+            @ApiParam(value = "Currency code", required = true)
+            @Size(min = CURRENCY_CODE_LENGTH, max = CURRENCY_CODE_LENGTH,
+                    message = "Currency code must be of 3 letters")
+            @RequestParam(value = "base") final String base,
+            @ApiParam(value = "Number of currencies")
+            @Min(value = 1, message = "Top must be at least 1")
+            @RequestParam(value = "top", defaultValue = DEFAULT_RANKING_TOP)
+            final int top) {
         return ResponseEntity.status(HttpStatus.OK)
-                .body(currencyConverterFacade
-                        .getHighestAndLowestCurrencyRate(base));
+                .body(currencyConverterFacade.getTopCurrencyRates(base, top));
     }
 }
@@ -0,0 +1,110 @@
+package com.practice.web.controller;
+
+import com.practice.currencyconverter.facade.CurrencyConverterFacade;
+import com.practice.currencyconverter.model.RateSnapshot;
+import com.practice.currencyconverter.service.RateExporter;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.validation.constraints.Pattern;
+
+@RestController
+@Validated
+@RequestMapping("/api/v1")
+@Api("Currency Converter System")
+public class RateExportController {
+    /**
+     * HTTP Status OK value.
+     */
+    private static final int HTTP_STATUS_OK = 200;
+    /**
+     * HTTP Status Bad Request value.
+     */
+    private static final int HTTP_STATUS_BAD_REQUEST = 400;
+    /**
+     * Newline delimited JSON export format.
+     */
+    private static final String NDJSON = "ndjson";
+    /**
+     * CSV export format.
+     */
+    private static final String CSV = "csv";
+    /**
+     * Content type of newline delimited JSON.
+     */
+    private static final MediaType APPLICATION_NDJSON =
+            MediaType.parseMediaType("application/x-ndjson");
+    /**
+     * Content type of CSV.
+     */
+    private static final MediaType TEXT_CSV =
+            MediaType.parseMediaType("text/csv;charset=UTF-8");
+    /**
+     * CurrencyConverterFacade object.
+     */
+    private final CurrencyConverterFacade currencyConverterFacade;
+    /**
+     * RateExporter object.
+     */
+    private final RateExporter rateExporter;
+
+    /**
+     * Parameterized constructor to bind the objects.
+     *
+     * @param currencyConverterFacade CurrencyConverterFacade object
+     * @param rateExporter            RateExporter object
+     */
+    public RateExportController(
+            final CurrencyConverterFacade currencyConverterFacade,
+            final RateExporter rateExporter) {
+        this.currencyConverterFacade = currencyConverterFacade;
+        this.rateExporter = rateExporter;
+    }
+
+    /**
+     * API to export the currency rates of every base currency from one rate
+     * snapshot, streamed with chunked transfer encoding as it is written. A
+     * stale snapshot is marked with a Warning header.
+     *
+     * @param format ndjson or csv
+     * @return currency rates of every base currency
+     */
+    @ApiOperation("Export the currency rates of every base currency")
+    @ApiResponses({
+            @ApiResponse(code = HTTP_STATUS_OK,
+                    message = "Exported Successfully"),
+            @ApiResponse(code = HTTP_STATUS_BAD_REQUEST,
+                    message = "Format must be ndjson or csv")
+    })
+    @GetMapping("/rates/export")
+    public ResponseEntity<StreamingResponseBody> exportRates(
+            @ApiParam(value = "Export format, ndjson or csv")
+            @Pattern(regexp = NDJSON + "|" + CSV,
+                    message = "Format must be ndjson or csv")
+            @RequestParam(value = "format", defaultValue = NDJSON)
+            final String format) {
+        RateSnapshot snapshot = currencyConverterFacade.getRateSnapshot();
+        if (CSV.equals(format)) {
+            return ResponseEntity.status(HttpStatus.OK)
+                    .headers(CacheHeaders.streamed(snapshot.isStale()))
+                    .contentType(TEXT_CSV)
+                    .body(out -> rateExporter.writeCsv(snapshot, out));
+        }
+        return ResponseEntity.status(HttpStatus.OK)
+                .headers(CacheHeaders.streamed(snapshot.isStale()))
+                .contentType(APPLICATION_NDJSON)
+                .body(out -> rateExporter.writeNdjson(snapshot, out));
+    }
+}
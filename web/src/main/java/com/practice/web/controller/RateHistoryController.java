@@ -0,0 +1,161 @@
+package com.practice.web.controller;
+
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.RateAggregate;
+import com.practice.currencyconverter.service.RateHistoryService;
+import com.practice.exception.ResourceNotFoundException;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.ConstraintViolationException;
+import javax.validation.constraints.Size;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@Validated
+@RequestMapping("/api/v1")
+@Api("Currency Converter System")
+public class RateHistoryController {
+    /**
+     * Currency code length.
+     */
+    private static final int CURRENCY_CODE_LENGTH = 3;
+    /**
+     * HTTP Status OK value.
+     */
+    private static final int HTTP_STATUS_OK = 200;
+    /**
+     * HTTP Status Bad Request value.
+     */
+    private static final int HTTP_STATUS_BAD_REQUEST = 400;
+    /**
+     * HTTP Status Not Found value.
+     */
+    private static final int HTTP_STATUS_NOT_FOUND = 404;
+    /**
+     * Longest period of a history request, in days.
+     */
+    private static final int MAX_HISTORY_DAYS = 366;
+    /**
+     * Longest period of an aggregate request, in days. Aggregates are read
+     * from the mapped archive without building a response per day.
+     */
+    private static final int MAX_AGGREGATE_DAYS = 36600;
+    /**
+     * RateHistoryService object.
+     */
+    private final RateHistoryService rateHistoryService;
+
+    /**
+     * Parameterized constructor to bind RateHistoryService object.
+     *
+     * @param rateHistoryService RateHistoryService object
+     */
+    public RateHistoryController(
+            final RateHistoryService rateHistoryService) {
+        this.rateHistoryService = rateHistoryService;
+    }
+
+    /**
+     * API to get the recorded currency rates for base country between two
+     * dates, both inclusive.
+     *
+     * @param base base country
+     * @param from first date
+     * @param to   last date
+     * @return currency rates ordered by date
+     */
+    @ApiOperation("Get currency rate history for base currency")
+    @ApiResponses({
+            @ApiResponse(code = HTTP_STATUS_OK,
+                    message = "Retrieved Successfully"),
+            @ApiResponse(code = HTTP_STATUS_BAD_REQUEST,
+                    message = "Currency code must be of 3 letters")
+    })
+    @GetMapping("/rates/history")
+    public ResponseEntity<List<CurrencyConverter>> getCurrencyRateHistory(
+            @ApiParam(value = "Currency code", required = true)
+            @Size(min = CURRENCY_CODE_LENGTH, max = CURRENCY_CODE_LENGTH,
+                    message = "Currency code must be of 3 letters")
+            @RequestParam(value = "base") final String base,
+            @ApiParam(value = "First date, yyyy-MM-dd", required = true)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @RequestParam(value = "from") final LocalDate from,
+            @ApiParam(value = "Last date, yyyy-MM-dd", required = true)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @RequestParam(value = "to") final LocalDate to) {
+        checkPeriod(from, to, MAX_HISTORY_DAYS);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(rateHistoryService.getHistory(base, from, to));
+    }
+
+    /**
+     * API to get the lowest, highest and average currency rate of target
+     * country for base country between two dates, both inclusive.
+     *
+     * @param base   base country
+     * @param target target country
+     * @param from   first date
+     * @param to     last date
+     * @return aggregate of the currency rates
+     * @throws ResourceNotFoundException no rate archived in the period
+     */
+    @ApiOperation("Get min, max and average currency rate over a period")
+    @ApiResponses({
+            @ApiResponse(code = HTTP_STATUS_OK,
+                    message = "Retrieved Successfully"),
+            @ApiResponse(code = HTTP_STATUS_BAD_REQUEST,
+                    message = "Currency code must be of 3 letters"),
+            @ApiResponse(code = HTTP_STATUS_NOT_FOUND,
+                    message = "No currency rate archived in the period")
+    })
+    @GetMapping("/rates/history/aggregate")
+    public ResponseEntity<RateAggregate> getCurrencyRateAggregate(
+            @ApiParam(value = "Currency code", required = true)
+            @Size(min = CURRENCY_CODE_LENGTH, max = CURRENCY_CODE_LENGTH,
+                    message = "Currency code must be of 3 letters")
+            @RequestParam(value = "base") final String base,
+            @ApiParam(value = "Target currency code", required = true)
+            @Size(min = CURRENCY_CODE_LENGTH, max = CURRENCY_CODE_LENGTH,
+                    message = "Currency code must be of 3 letters")
+            @RequestParam(value = "target") final String target,
+            @ApiParam(value = "First date, yyyy-MM-dd", required = true)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @RequestParam(value = "from") final LocalDate from,
+            @ApiParam(value = "Last date, yyyy-MM-dd", required = true)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @RequestParam(value = "to") final LocalDate to)
+            throws ResourceNotFoundException {
+        checkPeriod(from, to, MAX_AGGREGATE_DAYS);
+        RateAggregate aggregate = rateHistoryService
+                .getAggregate(base, target, from, to)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "No currency rate archived in the period"));
+        return ResponseEntity.status(HttpStatus.OK).body(aggregate);
+    }
+
+    private static void checkPeriod(final LocalDate from, final LocalDate to,
+                                    final int maxDays) {
+        if (from.isAfter(to)) {
+            throw new ConstraintViolationException(
+                    "From must not be after to", Set.of());
+        }
+        if (from.plusDays(maxDays).isBefore(to)) {
+            throw new ConstraintViolationException("Period is limited to "
+                    + maxDays + " days", Set.of());
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.practice.web.controller;
+
+import com.practice.currencyconverter.facade.ReactiveCurrencyConverterFacade;
+import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.exception.ResourceNotFoundException;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Size;
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@Validated
+@RequestMapping("/api/v1")
+@Api("Currency Converter System")
+@ConditionalOnProperty(name = "via.api.mode", havingValue = "reactive")
+public class ReactiveCurrencyConverterController {
+    /**
+     * Currency code length.
+     */
+    private static final int CURRENCY_CODE_LENGTH = 3;
+    /**
+     * HTTP Status OK value.
+     */
+    private static final int HTTP_STATUS_OK = 200;
+    /**
+     * HTTP Status Bad Request value.
+     */
+    private static final int HTTP_STATUS_BAD_REQUEST = 400;
+    /**
+     * HTTP Status Not Found value.
+     */
+    private static final int HTTP_STATUS_NOT_FOUND = 404;
+    /**
+     * Default number of currencies in the ranking.
+     */
+    private static final String DEFAULT_RANKING_TOP = "10";
+    /**
+     * ReactiveCurrencyConverterFacade object.
+     */
+    private final ReactiveCurrencyConverterFacade currencyConverterFacade;
+    /**
+     * Time the rates may be cached, the rate snapshot refresh interval.
+     */
+    private final Duration ratesMaxAge;
+    /**
+     * Time the countries may be cached, their cache refresh interval.
+     */
+    private final Duration countriesMaxAge;
+
+    /**
+     * Parameterized constructor to bind ReactiveCurrencyConverterFacade
+     * object.
+     *
+     * @param currencyConverterFacade ReactiveCurrencyConverterFacade object
+     * @param ratesRefreshInterval    rate snapshot refresh interval in ms
+     * @param countriesMaxAge         countries cache refresh interval
+     */
+    public ReactiveCurrencyConverterController(
+            final ReactiveCurrencyConverterFacade currencyConverterFacade,
+            @Value("${via.scheduler.snapshot.refresh.value:600000}")
+            final long ratesRefreshInterval,
+            @Value("${via.cache.policies.CurrencyConverterCache"
+                    + ".refresh-after-write:1h}")
+            final Duration countriesMaxAge) {
+        this.currencyConverterFacade = currencyConverterFacade;
+        this.ratesMaxAge = Duration.ofMillis(ratesRefreshInterval);
+        this.countriesMaxAge = countriesMaxAge;
+    }
+
+    /**
+     * API to get Countries and their currencies from external source. The
+     * servlet thread is released while the upstream API answers.
+     *
+     * @return ResponseEntity with Country list
+     */
+    @ApiOperation("Retrieve Countries and their Currencies")
+    @ApiResponses({
+            @ApiResponse(code = HTTP_STATUS_OK,
+                    message = "Retrieved Successfully")
+    })
+    @GetMapping("/countries")
+    public Mono<ResponseEntity<Map<String, String>>>
+            getCountriesAndCurrencies() {
+        return currencyConverterFacade.getCountriesAndCurrencies()
+                .map(countries -> ResponseEntity.ok()
+                        .headers(CacheHeaders.of(countries,
+                                countriesMaxAge))
+                        .body(countries.getCountries()));
+    }
+
+    /**
+     * API to get Countries Name for the currency code.
+     *
+     * @param code currency code
+     * @return ResponseEntity with the country name
+     */
+    @ApiOperation("Get Country for currency code")
+    @ApiResponses({
+            @ApiResponse(code = HTTP_STATUS_OK,
+                    message = "Retrieved Successfully"),
+            @ApiResponse(code = HTTP_STATUS_BAD_REQUEST,
+                    message = "Currency code must be of 3 letters"),
+            @ApiResponse(code = HTTP_STATUS_NOT_FOUND,
+                    message = "Not a Valid currency code")
+    })
+    @GetMapping("/country/{code}")
+    public Mono<ResponseEntity<String>> getCountryForCurrencyCode(
+            @ApiParam(value = "Currency code", required = true)
+            @Size(min = CURRENCY_CODE_LENGTH, max = CURRENCY_CODE_LENGTH,
+                    message = "Currency code must be of 3 letters")
+            @PathVariable(value = "code") final String code) {
+        return currencyConverterFacade.getCountriesAndCurrencies()
+                .flatMap(countries -> Mono.justOrEmpty(countries
+                        .getCountry(code))
+                        .map(country -> ResponseEntity.ok()
+                                .headers(CacheHeaders.of(countries,
+                                        countriesMaxAge))
+                                .body(country)))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                        "Not a Valid currency code")));
+    }
+
+    /**
+     * API to get currency rate for base country.
+     *
+     * @param base base country
+     * @return currency rates for the base country
+     */
+    @ApiOperation("Get currency rates for base currency")
+    @ApiResponses({
+            @ApiResponse(code = HTTP_STATUS_OK,
+                    message = "Retrieved Successfully"),
+            @ApiResponse(code = HTTP_STATUS_BAD_REQUEST,
+                    message = "Currency code must be of 3 letters")
+    })
+    @GetMapping("/rates")
+    public Mono<ResponseEntity<CurrencyConverter>> getCurrencyRate(
+            @ApiParam(value = "Currency code", required = true)
+            @Size(min = CURRENCY_CODE_LENGTH, max = CURRENCY_CODE_LENGTH,
+                    message = "Currency code must be of 3 letters")
+            @RequestParam(value = "base") final String base) {
+        return currencyConverterFacade.getCurrencyRate(base)
+                .map(currencyRate -> ResponseEntity.ok()
+                        .headers(CacheHeaders.of(currencyRate, ratesMaxAge))
+                        .body(currencyRate));
+    }
+
+    /**
+     * API to get highest currency rate country for base country. The
+     * response is tagged for conditional requests, unless the ranked rates
+     * are stale.
+     *
+     * @param base base country
+     * @return highest currency rate country
+     */
+    @ApiOperation("Get highest and lowest currency rates for base currency")
+    @ApiResponses({
+            @ApiResponse(code = HTTP_STATUS_OK,
+                    message = "Retrieved Successfully"),
+            @ApiResponse(code = HTTP_STATUS_BAD_REQUEST,
+                    message = "Currency code must be of 3 letters")
+    })
+    @GetMapping("/highestAndLowestCurrencyRates")
+    public Mono<ResponseEntity<Map<String, Double>>>
+            getHighestAndLowestCurrencyRates(
+            @ApiParam(value = "Currency code", required = true)
+            @Size(min = CURRENCY_CODE_LENGTH, max = CURRENCY_CODE_LENGTH,
+                    message = "Currency code must be of 3 letters")
+            @RequestParam(value = "base") final String base) {
+        return currencyConverterFacade.getCurrencyRateRanking(base)
+                .map(ranking -> ResponseEntity.ok()
+                        .headers(CacheHeaders.of(ranking, ratesMaxAge))
+                        .body(ranking.getHighestAndLowest()));
+    }
+
+    /**
+     * API to get the highest currency rates for base country.
+     *
+     * @param base base country
+     * @param top  number of currencies
+     * @return currency rates from the highest
+     */
+    @ApiOperation("Get highest currency rates for base currency")
+    @ApiResponses({
+            @ApiResponse(code = HTTP_STATUS_OK,
+                    message = "Retrieved Successfully"),
+            @ApiResponse(code = HTTP_STATUS_BAD_REQUEST,
+                    message = "Currency code must be of 3 letters")
+    })
+    @GetMapping("/rates/ranking")
+    public Mono<ResponseEntity<Map<String, Double>>> getCurrencyRateRanking(
+            @ApiParam(value = "Currency code", required = true)
+            @Size(min = CURRENCY_CODE_LENGTH, max = CURRENCY_CODE_LENGTH,
+                    message = "Currency code must be of 3 letters")
+            @RequestParam(value = "base") final String base,
+            @ApiParam(value = "Number of currencies")
+            @Min(value = 1, message = "Top must be at least 1")
+            @RequestParam(value = "top", defaultValue = DEFAULT_RANKING_TOP)
+            final int top) {
+        return currencyConverterFacade.getTopCurrencyRates(base, top)
+                .map(ResponseEntity::ok);
+    }
+}
@@ -1,12 +1,20 @@
 package com.practice.web.service;
 
+import com.practice.web.cache.CacheMaintenanceReport;
+import com.practice.web.cache.StaleWhileRevalidateCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class CacheService {
@@ -20,6 +28,11 @@ public class CacheService {
      * CacheManager object.
      */
     private final CacheManager cacheManager;
+    /**
+     * Last maintenance report by cache name.
+     */
+    private final Map<String, CacheMaintenanceReport> reports =
+            new ConcurrentHashMap<>();
 
     /**
      * Parameterized constructor to bind the object.
@@ -31,14 +44,50 @@ public class CacheService {
     }
 
     /**
-     * To clear all the caches at regular intervals.
+     * To maintain every cache at regular intervals according to its own
+     * policy: entries are dropped one by one once past their TTL, and the
+     * hot entries of the stale while revalidate caches are reloaded ahead of
+     * expiry. No cache is cleared as a whole; entries kept consistent by
+     * {@code @CacheEvict} stay until their TTL.
      */
     @Scheduled(fixedRateString = "${via.scheduler.cache.evict.value}")
-    public void evictAllCachesAtIntervals() {
-        LOGGER.debug("Caches are: {}", cacheManager.getCacheNames());
-        cacheManager.getCacheNames()
-                .forEach(cacheName -> Objects.requireNonNull(
-                        cacheManager.getCache(cacheName)).clear());
-        LOGGER.debug("Caches cleared!");
+    public void maintainCaches() {
+        cacheManager.getCacheNames().forEach(cacheName -> {
+            CacheMaintenanceReport report = maintain(cacheName,
+                    Objects.requireNonNull(cacheManager.getCache(cacheName)));
+            reports.put(cacheName, report);
+            LOGGER.debug("Cache maintained: {}", report);
+        });
+    }
+
+    /**
+     * Last maintenance report of every cache.
+     *
+     * @return last maintenance report by cache name
+     */
+    public Map<String, CacheMaintenanceReport> getReports() {
+        return Collections.unmodifiableMap(reports);
+    }
+
+    private CacheMaintenanceReport maintain(
+            final String cacheName, final Cache cache) {
+        long evicted = 0;
+        long refreshed = 0;
+        long size = 0;
+        if (cache instanceof StaleWhileRevalidateCache) {
+            StaleWhileRevalidateCache revalidated =
+                    (StaleWhileRevalidateCache) cache;
+            evicted = revalidated.evictExpired();
+            refreshed = revalidated.refreshAhead();
+            size = revalidated.size();
+        } else if (cache instanceof CaffeineCache) {
+            CaffeineCache caffeineCache = (CaffeineCache) cache;
+            long before = caffeineCache.getNativeCache().estimatedSize();
+            caffeineCache.getNativeCache().cleanUp();
+            size = caffeineCache.getNativeCache().estimatedSize();
+            evicted = Math.max(before - size, 0);
+        }
+        return new CacheMaintenanceReport(cacheName, evicted, refreshed, size,
+                Instant.now());
     }
 }
@@ -0,0 +1,110 @@
+package com.practice.web.benchmark;
+
+import com.practice.web.config.CustomKeyGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache hit cost of the string key generator against the structured one:
+ * key generation plus the lookup in a concurrent map, as done by the
+ * Caffeine backed caches. Run with
+ * {@code mvn -pl web test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.practice.web.benchmark.CustomKeyGeneratorBenchmark}.
+ * Add {@code -prof gc} to the options to see the allocation per hit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomKeyGeneratorBenchmark {
+
+    private final KeyGenerator stringKeyGenerator = (target, method, params) ->
+            target.getClass().getSimpleName() + "_" + method.getName() + "_"
+                    + StringUtils.arrayToDelimitedString(params, "_");
+
+    private final KeyGenerator customKeyGenerator = new CustomKeyGenerator();
+
+    private final Rates target = new Rates();
+
+    private final Map<Object, Object> stringKeyedCache = new ConcurrentHashMap<>();
+
+    private final Map<Object, Object> customKeyedCache = new ConcurrentHashMap<>();
+
+    private Method countries;
+
+    private Method withTargets;
+
+    private Set<String> targets;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        countries = Rates.class.getMethod("countries");
+        withTargets = Rates.class.getMethod("withTargets", String.class, Set.class);
+        targets = new LinkedHashSet<>(List.of("USD", "GBP", "INR", "JPY"));
+        for (KeyGenerator keyGenerator : List.of(stringKeyGenerator, customKeyGenerator)) {
+            Map<Object, Object> cache = keyGenerator == stringKeyGenerator
+                    ? stringKeyedCache : customKeyedCache;
+            cache.put(keyGenerator.generate(target, countries), "countries");
+            cache.put(keyGenerator.generate(target, withTargets, "EUR", targets), "rates");
+        }
+    }
+
+    @Benchmark
+    public Object stringKeyWithoutParams() {
+        return stringKeyedCache.get(stringKeyGenerator.generate(target, countries));
+    }
+
+    @Benchmark
+    public Object customKeyWithoutParams() {
+        return customKeyedCache.get(customKeyGenerator.generate(target, countries));
+    }
+
+    @Benchmark
+    public Object stringKeyWithTargets() {
+        return stringKeyedCache.get(stringKeyGenerator.generate(target, withTargets, "EUR", targets));
+    }
+
+    @Benchmark
+    public Object customKeyWithTargets() {
+        return customKeyedCache.get(customKeyGenerator.generate(target, withTargets, "EUR", targets));
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomKeyGeneratorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    public static class Rates {
+        public Map<String, String> countries() {
+            return Map.of();
+        }
+
+        public Map<String, Double> withTargets(final String base, final Set<String> targets) {
+            return Map.of();
+        }
+    }
+}
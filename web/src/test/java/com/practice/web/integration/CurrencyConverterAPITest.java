@@ -1,19 +1,35 @@
 package com.practice.web.integration;
 
 import com.practice.VIAApplication;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
@@ -30,6 +46,9 @@ class CurrencyConverterAPITest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
     @Test
     void testGetCountriesAndCurrencies() throws Exception {
         //GIVEN
@@ -93,6 +112,40 @@ class CurrencyConverterAPITest {
                 .andExpect(content().json("{base:HUF}"));
     }
 
+    @Test
+    void testGetCurrencyRateNotModified() throws Exception {
+        //GIVEN
+        MvcResult result = mockMvc.perform(get("/api/v1/rates?base=HUF"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=600"))
+                .andReturn();
+        String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        //WHEN
+        ResultActions resultActions = mockMvc.perform(get("/api/v1/rates?base=HUF")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        //THEN
+        resultActions
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testGetCountriesNotModified() throws Exception {
+        //GIVEN
+        String eTag = mockMvc.perform(get("/api/v1/countries"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //WHEN
+        ResultActions resultActions = mockMvc.perform(get("/api/v1/countries")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        //THEN
+        resultActions.andExpect(status().isNotModified());
+    }
+
     @Test
     void testGetCurrencyRateWithInvalidCode() throws Exception {
         //GIVEN
@@ -135,4 +188,243 @@ class CurrencyConverterAPITest {
         //THEN
         resultActions.andExpect(status().isOk());
     }
+
+    @Test
+    void getCurrencyRateRanking() throws Exception {
+        //GIVEN
+        //WHEN
+        ResultActions resultActions = mockMvc.perform(get("/api/v1/rates/ranking?base=HUF&top=3")).andDo(print());
+
+        //THEN
+        resultActions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(3)))
+                .andExpect(jsonPath("$.IDR").exists())
+                .andExpect(jsonPath("$.KRW").exists());
+    }
+
+    @Test
+    void getCurrencyRateRankingWithInvalidTop() throws Exception {
+        //GIVEN
+        //WHEN
+        ResultActions resultActions = mockMvc.perform(get("/api/v1/rates/ranking?base=HUF&top=0"));
+
+        //THEN
+        resultActions.andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void maintainCaches() throws Exception {
+        //GIVEN
+        mockMvc.perform(get("/api/v1/countries"));
+
+        //WHEN
+        mockMvc.perform(post("/actuator/cachemaintenance"));
+        ResultActions resultActions = mockMvc.perform(get("/actuator/cachemaintenance")).andDo(print());
+
+        //THEN
+        resultActions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.CurrencyConverterCache.size").value(1))
+                .andExpect(jsonPath("$.CurrencyConverterCache.evicted").value(0))
+                .andExpect(jsonPath("$.employeeCache").exists());
+    }
+
+    @Test
+    void cacheMetrics() throws Exception {
+        //GIVEN
+        mockMvc.perform(get("/api/v1/countries"));
+        mockMvc.perform(get("/api/v1/countries"));
+
+        //WHEN
+        ResultActions gets = mockMvc.perform(get("/actuator/metrics/cache.gets")
+                .param("tag", "cache:CurrencyConverterCache", "result:hit")).andDo(print());
+        ResultActions loads = mockMvc.perform(get("/actuator/metrics/cache.load.latency")
+                .param("tag", "cache:CurrencyConverterCache")).andDo(print());
+
+        //THEN
+        gets.andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(greaterThanOrEqualTo(1.0)));
+        loads.andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[?(@.statistic == 'COUNT')].value")
+                        .value(hasItem(greaterThanOrEqualTo(1.0))));
+    }
+
+    @Test
+    void httpConnectionPoolMetrics() throws Exception {
+        //GIVEN
+        mockMvc.perform(get("/api/v1/rates?base=HUF"));
+
+        //WHEN
+        ResultActions max = mockMvc.perform(get("/actuator/metrics/httpcomponents.httpclient.pool.total.max")
+                .param("tag", "httpclient:upstream")).andDo(print());
+        ResultActions available = mockMvc.perform(
+                get("/actuator/metrics/httpcomponents.httpclient.pool.total.connections")
+                        .param("tag", "httpclient:upstream", "state:available")).andDo(print());
+
+        //THEN
+        max.andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(50.0));
+        available.andExpect(status().isOk());
+    }
+
+    @Test
+    void circuitBreakerMetrics() throws Exception {
+        //GIVEN
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker("countriesApi");
+        circuitBreaker.transitionToOpenState();
+        circuitBreaker.reset();
+
+        //WHEN
+        ResultActions transitions = mockMvc.perform(
+                get("/actuator/metrics/resilience4j.circuitbreaker.state.transitions")
+                        .param("tag", "name:countriesApi", "from:CLOSED", "to:OPEN")).andDo(print());
+        ResultActions state = mockMvc.perform(get("/actuator/metrics/resilience4j.circuitbreaker.state")
+                .param("tag", "name:currencyRateApi", "state:closed")).andDo(print());
+
+        //THEN
+        transitions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(greaterThanOrEqualTo(1.0)));
+        state.andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(1.0));
+    }
+
+    @Test
+    void getCurrencyRateHistory() throws Exception {
+        //GIVEN
+        mockMvc.perform(get("/api/v1/rates?base=HUF")).andExpect(status().isOk());
+
+        //WHEN
+        ResultActions resultActions = mockMvc.perform(get("/api/v1/rates/history")
+                .param("base", "INR")
+                .param("from", "2020-01-01")
+                .param("to", "2020-01-31")).andDo(print());
+
+        //THEN
+        resultActions.andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].base").value("INR"))
+                .andExpect(jsonPath("$[0].date").value("2020-01-13"))
+                .andExpect(jsonPath("$[0].rates.HUF").exists());
+    }
+
+    @Test
+    void getCurrencyRateHistoryWithInvalidPeriod() throws Exception {
+        //GIVEN
+        //WHEN
+        ResultActions reversed = mockMvc.perform(get("/api/v1/rates/history")
+                .param("base", "HUF")
+                .param("from", "2020-01-31")
+                .param("to", "2020-01-01"));
+        ResultActions tooLong = mockMvc.perform(get("/api/v1/rates/history")
+                .param("base", "HUF")
+                .param("from", "2010-01-01")
+                .param("to", "2020-01-01"));
+
+        //THEN
+        reversed.andExpect(status().isBadRequest());
+        tooLong.andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getCurrencyRateAggregate() throws Exception {
+        //GIVEN
+        mockMvc.perform(get("/api/v1/rates?base=HUF")).andExpect(status().isOk());
+
+        //WHEN
+        ResultActions resultActions = mockMvc.perform(get("/api/v1/rates/history/aggregate")
+                .param("base", "EUR")
+                .param("target", "HUF")
+                .param("from", "2020-01-01")
+                .param("to", "2020-01-31")).andDo(print());
+        ResultActions notArchived = mockMvc.perform(get("/api/v1/rates/history/aggregate")
+                .param("base", "EUR")
+                .param("target", "HUF")
+                .param("from", "2019-01-01")
+                .param("to", "2019-01-31"));
+
+        //THEN
+        resultActions.andExpect(status().isOk())
+                .andExpect(jsonPath("$.days").value(1))
+                .andExpect(jsonPath("$.min").value(334.29))
+                .andExpect(jsonPath("$.max").value(334.29))
+                .andExpect(jsonPath("$.average").value(334.29));
+        notArchived.andExpect(status().isNotFound());
+    }
+
+    @Test
+    void convertBatch() throws Exception {
+        //GIVEN
+        String batch = "[{\"amount\":10,\"from\":\"EUR\",\"to\":\"HUF\"},"
+                + "{\"amount\":10,\"from\":\"EUR\",\"to\":\"XXX\"}]";
+        MvcResult started = mockMvc.perform(post("/api/v1/convert/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //WHEN
+        ResultActions resultActions = mockMvc.perform(asyncDispatch(started)).andDo(print());
+
+        //THEN
+        resultActions.andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].converted").value(3342.9))
+                .andExpect(jsonPath("$[1].converted").value(nullValue()))
+                .andExpect(header().doesNotExist(HttpHeaders.WARNING));
+    }
+
+    @Test
+    void convertBatchWithInvalidRow() throws Exception {
+        //GIVEN
+        String batch = "[{\"amount\":10,\"from\":\"EUR\",\"to\":\"HUF\"}, 5]";
+        MvcResult started = mockMvc.perform(post("/api/v1/convert/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //WHEN
+        ResultActions resultActions = mockMvc.perform(asyncDispatch(started));
+
+        //THEN
+        resultActions.andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].converted").value(3342.9))
+                .andExpect(jsonPath("$[1].error").value("Expected a conversion object"))
+                .andExpect(jsonPath("$[1].row").value(1));
+    }
+
+    @Test
+    void exportRates() throws Exception {
+        //GIVEN
+        MvcResult ndjson = mockMvc.perform(get("/api/v1/rates/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult csv = mockMvc.perform(get("/api/v1/rates/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //WHEN
+        ResultActions ndjsonExport = mockMvc.perform(asyncDispatch(ndjson));
+        ResultActions csvExport = mockMvc.perform(asyncDispatch(csv));
+
+        //THEN
+        ndjsonExport.andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(containsString("{\"base\":\"HUF\",\"date\":\"2020-01-13\"")))
+                .andExpect(header().doesNotExist(HttpHeaders.WARNING));
+        csvExport.andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string(startsWith("base,target,date,rate\n")))
+                .andExpect(content().string(containsString("\nEUR,HUF,2020-01-13,334.29\n")));
+    }
+
+    @Test
+    void exportRatesWithInvalidFormat() throws Exception {
+        //GIVEN
+        //WHEN
+        ResultActions resultActions = mockMvc.perform(get("/api/v1/rates/export").param("format", "xml"));
+
+        //THEN
+        resultActions.andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,70 @@
+package com.practice.web.integration;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.practice.VIAApplication;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.moreThanOrExactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.serverError;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        classes = VIAApplication.class)
+@AutoConfigureMockMvc
+@AutoConfigureWireMock(port = 0, stubs = "classpath:/stubs/")
+@TestPropertySource(properties = {
+        "spring.datasource.url = jdbc:h2:mem:test",
+        "spring.jpa.properties.hibernate.dialect = org.hibernate.dialect.H2Dialect",
+        "spring.datasource.driverClassName = org.h2.Driver",
+        "via.cache.policies.CurrencyConverterCache.refresh-after-write = 200ms",
+        "via.lastknowngood.file = target/cache-reload-last-known-good.json"
+})
+@ActiveProfiles("test")
+class CurrencyConverterCacheReloadTest {
+
+    private static final String COUNTRIES_URL = "/api/currencies.json";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void failedReloadKeepsFreshCountries() throws Exception {
+        //GIVEN
+        mockMvc.perform(get("/api/v1/countries"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.WARNING));
+        stubFor(WireMock.get(urlEqualTo(COUNTRIES_URL))
+                .willReturn(serverError()));
+
+        //WHEN
+        Awaitility.await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            mockMvc.perform(get("/api/v1/countries"));
+            verify(moreThanOrExactly(2), getRequestedFor(urlEqualTo(COUNTRIES_URL)));
+        });
+        ResultActions resultActions = mockMvc.perform(get("/api/v1/countries"));
+
+        //THEN
+        resultActions.andExpect(status().isOk())
+                .andExpect(content().json("{\"HUF\":\"Hungarian Forint\"}"))
+                .andExpect(header().doesNotExist(HttpHeaders.WARNING));
+    }
+}
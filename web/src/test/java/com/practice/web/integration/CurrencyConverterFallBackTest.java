@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
@@ -15,6 +16,7 @@ import java.time.LocalDate;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
@@ -26,7 +28,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         "spring.jpa.properties.hibernate.dialect = org.hibernate.dialect.H2Dialect",
         "spring.datasource.driverClassName = org.h2.Driver",
         "via.countries.api.url = http://localhost:${wiremock.server.port}/api/invalidCurrencies.json",
-        "via.currencyrate.api.url = http://localhost:${wiremock.server.port}/invalidLatest?base=%s"
+        "via.currencyrate.api.url = http://localhost:${wiremock.server.port}/invalidLatest?base=%s",
+        "via.lastknowngood.file = target/never-written-last-known-good.json"
 })
 @ActiveProfiles("test")
 class CurrencyConverterFallBackTest {
@@ -42,7 +45,8 @@ class CurrencyConverterFallBackTest {
 
         //THEN
         resultActions.andExpect(status().isOk())
-        .andExpect(content().json("{\"HUF\":\"Hungarian Forint\"}"));
+        .andExpect(content().json("{\"HUF\":\"Hungarian Forint\"}"))
+        .andExpect(header().string(HttpHeaders.WARNING, "110 - \"Response is Stale\""));
     }
 
     @Test
@@ -54,6 +58,7 @@ class CurrencyConverterFallBackTest {
         //THEN
         resultActions
                 .andExpect(status().isOk())
-                .andExpect(content().json("{base:HUF,date:"+ LocalDate.now() +"}"));
+                .andExpect(content().json("{base:HUF,date:"+ LocalDate.now() +",stale:true}"))
+                .andExpect(header().string(HttpHeaders.WARNING, "110 - \"Response is Stale\""));
     }
 }
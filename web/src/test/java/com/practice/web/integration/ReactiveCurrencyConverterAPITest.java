@@ -0,0 +1,117 @@
+package com.practice.web.integration;
+
+import com.practice.VIAApplication;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        classes = VIAApplication.class)
+@AutoConfigureWireMock(port = 0, stubs = "classpath:/stubs/")
+@TestPropertySource(properties = {
+        "spring.datasource.url = jdbc:h2:mem:test",
+        "spring.jpa.properties.hibernate.dialect = org.hibernate.dialect.H2Dialect",
+        "spring.datasource.driverClassName = org.h2.Driver",
+        "via.api.mode = reactive",
+        "server.tomcat.max-threads = " + ReactiveCurrencyConverterAPITest.SERVLET_THREADS
+})
+@ActiveProfiles("test")
+class ReactiveCurrencyConverterAPITest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveCurrencyConverterAPITest.class);
+
+    static final int SERVLET_THREADS = 4;
+
+    private static final int REQUESTS = 40;
+
+    private static final long UPSTREAM_DELAY_MILLIS = 500;
+
+    @LocalServerPort
+    private int port;
+
+    private HttpResponse<String> get(final String path) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+        return HttpClient.newHttpClient().sendAsync(request, HttpResponse.BodyHandlers.ofString()).join();
+    }
+
+    @Test
+    void testGetCountriesAndCurrencies() {
+        //GIVEN
+        //WHEN
+        HttpResponse<String> countries = get("/api/v1/countries");
+        HttpResponse<String> country = get("/api/v1/country/HUF");
+        HttpResponse<String> unknown = get("/api/v1/country/HHH");
+
+        //THEN
+        assertEquals(200, countries.statusCode());
+        assertTrue(countries.body().contains("\"INR\""));
+        assertEquals(200, country.statusCode());
+        assertEquals("Hungarian Forint", country.body());
+        assertEquals(404, unknown.statusCode());
+    }
+
+    @Test
+    void testGetCurrencyRateRankings() {
+        //GIVEN
+        //WHEN
+        HttpResponse<String> highestAndLowest = get("/api/v1/highestAndLowestCurrencyRates?base=HUF");
+        HttpResponse<String> ranking = get("/api/v1/rates/ranking?base=HUF&top=2");
+        HttpResponse<String> invalid = get("/api/v1/rates?base=HHH");
+
+        //THEN
+        assertEquals(200, highestAndLowest.statusCode());
+        assertEquals(200, ranking.statusCode());
+        assertEquals(400, invalid.statusCode());
+    }
+
+    @Test
+    void slowUpstreamDoesNotHoldServletThreads() {
+        //GIVEN
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        List<HttpRequest> requests = IntStream.range(0, REQUESTS)
+                .mapToObj(i -> "Z" + (char) ('A' + i / 26) + (char) ('A' + i % 26))
+                .map(base -> HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/v1/rates?base=" + base)).build())
+                .collect(Collectors.toList());
+        client.sendAsync(requests.get(0), HttpResponse.BodyHandlers.ofString()).join();
+
+        //WHEN
+        long start = System.nanoTime();
+        List<HttpResponse<String>> responses = requests.stream()
+                .map(request -> client.sendAsync(request, HttpResponse.BodyHandlers.ofString()))
+                .collect(Collectors.toList()).stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        LOGGER.info("{} requests against a {} ms upstream on {} servlet threads in {} ms: {} requests/s",
+                REQUESTS, UPSTREAM_DELAY_MILLIS, SERVLET_THREADS, elapsed.toMillis(),
+                REQUESTS * 1000 / Math.max(elapsed.toMillis(), 1));
+
+        //THEN
+        responses.forEach(response -> {
+            assertEquals(200, response.statusCode());
+            assertTrue(response.body().contains("\"base\":\"ZAR\""));
+        });
+        long blockingLowerBound = REQUESTS / SERVLET_THREADS * UPSTREAM_DELAY_MILLIS;
+        assertTrue(elapsed.toMillis() < blockingLowerBound,
+                "took " + elapsed.toMillis() + " ms, a blocking servlet pool needs at least "
+                        + blockingLowerBound + " ms");
+    }
+}
@@ -17,6 +17,9 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.jdbc.Sql;
 
 import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import java.util.HashSet;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -78,11 +81,13 @@ public class SchedulerEmailTest {
         //THEN
         boolean ok = greenMail.waitForIncomingEmail(2);
         if (ok) {
-            Assertions.assertEquals(2, greenMail.getReceivedMessages()[0].getAllRecipients().length);
-            Assertions.assertEquals("employee@gmail.com",
-                    greenMail.getReceivedMessages()[0].getAllRecipients()[0].toString());
-            Assertions.assertEquals("employee1@gmail.com",
-                    greenMail.getReceivedMessages()[0].getAllRecipients()[1].toString());
+            Assertions.assertEquals(2, greenMail.getReceivedMessages().length);
+            Set<String> recipients = new HashSet<>();
+            for (MimeMessage message : greenMail.getReceivedMessages()) {
+                Assertions.assertEquals(1, message.getAllRecipients().length);
+                recipients.add(message.getAllRecipients()[0].toString());
+            }
+            Assertions.assertEquals(Set.of("employee@gmail.com", "employee1@gmail.com"), recipients);
         } else {
             fail("Email not sent");
         }
@@ -101,10 +106,11 @@ public class SchedulerEmailTest {
         boolean ok = greenMail.waitForIncomingEmail(2);
         if (ok) {
             Assertions.assertEquals(2, greenMail.getReceivedMessages().length);
-            Assertions.assertEquals("employee@gmail.com",
-                    greenMail.getReceivedMessages()[0].getAllRecipients()[0].toString());
-            Assertions.assertEquals("employee1@gmail.com",
-                    greenMail.getReceivedMessages()[1].getAllRecipients()[0].toString());
+            Set<String> recipients = new HashSet<>();
+            for (MimeMessage message : greenMail.getReceivedMessages()) {
+                recipients.add(message.getAllRecipients()[0].toString());
+            }
+            Assertions.assertEquals(Set.of("employee@gmail.com", "employee1@gmail.com"), recipients);
         } else {
             fail("Email not sent");
         }
@@ -2,6 +2,8 @@ package com.practice.web.integration;
 
 import com.practice.VIAApplication;
 import com.practice.currencyconverter.facade.CurrencyConverterFacade;
+import com.practice.currencyconverter.service.CountriesService;
+import com.practice.currencyconverter.service.RateSnapshotStore;
 import com.practice.employee.repository.RatesRegisterRepository;
 import com.practice.employee.service.DailyAlertSchedulerService;
 import com.practice.message.factory.AbstractFactory;
@@ -33,6 +35,12 @@ class SchedulerTest {
     @MockBean
     CurrencyConverterFacade currencyConverterFacade;
 
+    @MockBean
+    RateSnapshotStore rateSnapshotStore;
+
+    @MockBean
+    CountriesService countriesService;
+
     @Test
     void testScheduler() {
         Awaitility.await().atMost(Duration.ofSeconds(10))
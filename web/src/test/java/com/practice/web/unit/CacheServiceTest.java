@@ -1,5 +1,10 @@
 package com.practice.web.unit;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.practice.web.cache.CacheMaintenanceReport;
+import com.practice.web.cache.CachePolicyProperties;
+import com.practice.web.cache.StaleWhileRevalidateCache;
 import com.practice.web.service.CacheService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,9 +12,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,12 +33,41 @@ class CacheServiceTest {
     CacheService cacheService;
 
     @Test
-    void evictAllCachesAtIntervals() {
+    void maintainCachesWithoutCaches() {
         //GIVEN
         when(cacheManager.getCacheNames()).thenReturn(Collections.EMPTY_LIST);
         //WHEN
-        cacheService.evictAllCachesAtIntervals();
+        cacheService.maintainCaches();
         //THEN
-        verify(cacheManager, times(2)).getCacheNames();
+        verify(cacheManager).getCacheNames();
+        assertTrue(cacheService.getReports().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void maintainCachesKeepsFreshEntries() {
+        //GIVEN
+        CaffeineCache employeeCache = new CaffeineCache("employeeCache",
+                Caffeine.newBuilder().expireAfterWrite(Duration.ofSeconds(30)).build());
+        employeeCache.put(1L, "employee");
+        CachePolicyProperties.Policy policy = new CachePolicyProperties.Policy();
+        policy.setRefreshAfterWrite(Duration.ofHours(1));
+        policy.setExpireAfterWrite(Duration.ofHours(6));
+        policy.setMaximumSize(16);
+        StaleWhileRevalidateCache currencyCache = new StaleWhileRevalidateCache(
+                "CurrencyConverterCache", policy, key -> "countries",
+                Runnable::run, Clock.systemUTC(), new ConcurrentStatsCounter());
+        currencyCache.get("countries", () -> "countries");
+        when(cacheManager.getCacheNames()).thenReturn(List.of("employeeCache", "CurrencyConverterCache"));
+        when(cacheManager.getCache("employeeCache")).thenReturn(employeeCache);
+        when(cacheManager.getCache("CurrencyConverterCache")).thenReturn(currencyCache);
+        //WHEN
+        cacheService.maintainCaches();
+        //THEN
+        Map<String, CacheMaintenanceReport> reports = cacheService.getReports();
+        assertEquals(1L, reports.get("employeeCache").getSize());
+        assertEquals(0L, reports.get("employeeCache").getEvicted());
+        assertEquals(1L, reports.get("CurrencyConverterCache").getSize());
+        assertEquals(0L, reports.get("CurrencyConverterCache").getRefreshed());
+        assertNotNull(employeeCache.get(1L));
+    }
+}
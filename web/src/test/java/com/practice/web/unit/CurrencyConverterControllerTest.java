@@ -1,18 +1,24 @@
 package com.practice.web.unit;
 
 import com.practice.currencyconverter.facade.CurrencyConverterFacade;
+import com.practice.currencyconverter.model.Countries;
 import com.practice.currencyconverter.model.CurrencyConverter;
+import com.practice.currencyconverter.model.RateRanking;
 import com.practice.exception.ResourceNotFoundException;
 import com.practice.web.controller.CurrencyConverterController;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -25,7 +31,6 @@ class CurrencyConverterControllerTest {
     @Mock
     CurrencyConverterFacade currencyConverterFacade;
 
-    @InjectMocks
     CurrencyConverterController currencyConverterController;
     private String base = "HUF";
     private CurrencyConverter converter;
@@ -49,10 +54,16 @@ class CurrencyConverterControllerTest {
         converter.setRates(rates);
     }
 
+    @BeforeEach
+    void setUp() {
+        currencyConverterController = new CurrencyConverterController(currencyConverterFacade,
+                600000, Duration.ofHours(1));
+    }
+
     @Test
     void getCountriesAndCurrencies() {
         //GIVEN
-        when(currencyConverterFacade.getCountriesAndCurrencies()).thenReturn(countries);
+        when(currencyConverterFacade.getCountriesAndCurrencies()).thenReturn(new Countries(countries, false));
 
         //WHEN
         ResponseEntity<Map> responseEntity = currencyConverterController.getCountriesAndCurrencies();
@@ -67,7 +78,7 @@ class CurrencyConverterControllerTest {
     @Test
     void getCountryForCurrencyCode() throws ResourceNotFoundException {
         //GIVEN
-        when(currencyConverterFacade.getCountryForCurrencyCode(base)).thenReturn("Hungarian Forint");
+        when(currencyConverterFacade.getCountriesAndCurrencies()).thenReturn(new Countries(countries, false));
 
         //WHEN
         ResponseEntity<String> responseEntity = currencyConverterController.getCountryForCurrencyCode(base);
@@ -75,20 +86,21 @@ class CurrencyConverterControllerTest {
         assertEquals(200, responseEntity.getStatusCodeValue());
         assertTrue(responseEntity.hasBody());
         assertTrue(Objects.requireNonNull(responseEntity.getBody()).contentEquals("Hungarian Forint"));
+        assertEquals("\"countries-" + new Countries(countries, false).getDigest() + "\"",
+                responseEntity.getHeaders().getETag());
     }
 
     @Test
     void getCountryForCurrencyCodeWithInvalidCode() throws ResourceNotFoundException {
         //GIVEN
-        when(currencyConverterFacade.getCountryForCurrencyCode("HHH"))
-                .thenThrow(new ResourceNotFoundException("Not a valid currency code"));
+        when(currencyConverterFacade.getCountriesAndCurrencies()).thenReturn(new Countries(countries, false));
 
         //WHEN
         //THEN
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
                 () -> currencyConverterController.getCountryForCurrencyCode("HHH"));
 
-        assertEquals("Not a valid currency code", exception.getMessage());
+        assertEquals("Not a Valid currency code", exception.getMessage());
     }
 
     @Test
@@ -103,16 +115,64 @@ class CurrencyConverterControllerTest {
         assertEquals(200, responseEntity.getStatusCodeValue());
         assertTrue(responseEntity.hasBody());
         assertTrue(Objects.requireNonNull(responseEntity.getBody()).getBase().contentEquals(base));
+        assertNotNull(responseEntity.getHeaders().getETag());
+        assertEquals("max-age=600", responseEntity.getHeaders().getCacheControl());
+        assertEquals(LocalDate.now().atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli(),
+                responseEntity.getHeaders().getLastModified());
     }
 
     @Test
-    void getHighestAndLowestCurrencyRates() {
+    void getCurrencyRateETagFollowsRates() {
         //GIVEN
-        Map<String, Double> rates = new HashMap<>();
-        rates.put("GBP", 0.0025654372);
-        rates.put("IDR", 45.60031709);
+        CurrencyConverter changed = new CurrencyConverter();
+        changed.setBase(base);
+        changed.setDate(converter.getDate());
+        changed.setRates(Map.of("GBP", 0.0026));
+        when(currencyConverterFacade.getCurrencyRate(base)).thenReturn(converter, converter, changed);
+
+        //WHEN
+        String first = currencyConverterController.getCurrencyRate(base).getHeaders().getETag();
+        String same = currencyConverterController.getCurrencyRate(base).getHeaders().getETag();
+        String other = currencyConverterController.getCurrencyRate(base).getHeaders().getETag();
+
+        //THEN
+        assertEquals(first, same);
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    void getStaleCurrencyRate() {
+        //GIVEN
+        converter.setStale(true);
+        when(currencyConverterFacade.getCurrencyRate(base)).thenReturn(converter);
+
+        //WHEN
+        ResponseEntity<CurrencyConverter> responseEntity = currencyConverterController.getCurrencyRate(base);
+
+        //THEN
+        assertNull(responseEntity.getHeaders().getETag());
+        assertEquals("no-cache", responseEntity.getHeaders().getCacheControl());
+        assertNotNull(responseEntity.getHeaders().getFirst(HttpHeaders.WARNING));
+    }
+
+    @Test
+    void getStaleCountryForCurrencyCode() throws ResourceNotFoundException {
+        //GIVEN
+        when(currencyConverterFacade.getCountriesAndCurrencies()).thenReturn(new Countries(countries, true));
+
+        //WHEN
+        ResponseEntity<String> responseEntity = currencyConverterController.getCountryForCurrencyCode(base);
+
+        //THEN
+        assertEquals("Hungarian Forint", responseEntity.getBody());
+        assertNull(responseEntity.getHeaders().getETag());
+        assertNotNull(responseEntity.getHeaders().getFirst(HttpHeaders.WARNING));
+    }
 
-        when(currencyConverterFacade.getHighestAndLowestCurrencyRate(base)).thenReturn(rates);
+    @Test
+    void getHighestAndLowestCurrencyRates() {
+        //GIVEN
+        when(currencyConverterFacade.getCurrencyRateRanking(base)).thenReturn(RateRanking.of(converter));
 
         //WHEN
         ResponseEntity<Map<String, Double>> responseEntity = currencyConverterController
@@ -122,5 +182,41 @@ class CurrencyConverterControllerTest {
         assertEquals(200, responseEntity.getStatusCodeValue());
         assertTrue(responseEntity.hasBody());
         assertNotNull(Objects.requireNonNull(responseEntity.getBody()).get("IDR"));
+        assertEquals("\"ranking-" + converter.getRates().getDigest() + "\"",
+                responseEntity.getHeaders().getETag());
+    }
+
+    @Test
+    void getStaleHighestAndLowestCurrencyRates() {
+        //GIVEN
+        converter.setStale(true);
+        when(currencyConverterFacade.getCurrencyRateRanking(base)).thenReturn(RateRanking.of(converter));
+
+        //WHEN
+        ResponseEntity<Map<String, Double>> responseEntity = currencyConverterController
+                .getHighestAndLowestCurrencyRates(base);
+
+        //THEN
+        assertNull(responseEntity.getHeaders().getETag());
+        assertEquals("no-cache", responseEntity.getHeaders().getCacheControl());
+        assertNotNull(responseEntity.getHeaders().getFirst(HttpHeaders.WARNING));
+    }
+
+    @Test
+    void getCurrencyRateRanking() {
+        //GIVEN
+        Map<String, Double> rates = new LinkedHashMap<>();
+        rates.put("IDR", 45.60031709);
+        rates.put("INR", 0.2357907805);
+
+        when(currencyConverterFacade.getTopCurrencyRates(base, 2)).thenReturn(rates);
+
+        //WHEN
+        ResponseEntity<Map<String, Double>> responseEntity = currencyConverterController
+                .getCurrencyRateRanking(base, 2);
+
+        //THEN
+        assertEquals(200, responseEntity.getStatusCodeValue());
+        assertEquals(rates, responseEntity.getBody());
     }
-}
\ No newline at end of file
+}
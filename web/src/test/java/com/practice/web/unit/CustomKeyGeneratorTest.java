@@ -0,0 +1,100 @@
+package com.practice.web.unit;
+
+import com.practice.web.cache.MethodCacheKey;
+import com.practice.web.config.CustomKeyGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomKeyGeneratorTest {
+
+    private final CustomKeyGenerator keyGenerator = new CustomKeyGenerator();
+
+    private final Rates rates = new Rates();
+
+    @Test
+    void generateWithoutParams() throws NoSuchMethodException {
+        //GIVEN
+        Method method = Rates.class.getMethod("countries");
+
+        //WHEN
+        Object key = keyGenerator.generate(rates, method);
+
+        //THEN
+        assertEquals(key, keyGenerator.generate(new Rates(), method));
+        assertEquals(key.hashCode(), keyGenerator.generate(new Rates(), method).hashCode());
+        assertEquals("Rates_countries_", key.toString());
+    }
+
+    @Test
+    void generateWithSetIgnoresOrder() throws NoSuchMethodException {
+        //GIVEN
+        Method method = Rates.class.getMethod("withTargets", String.class, Set.class);
+        Set<String> targets = new LinkedHashSet<>(List.of("INR", "USD", "GBP"));
+
+        //WHEN
+        Object key = keyGenerator.generate(rates, method, "EUR", targets);
+        Object reordered = keyGenerator.generate(rates, method, "EUR",
+                new TreeSet<>(List.of("USD", "GBP", "INR")));
+
+        //THEN
+        assertEquals(key, reordered);
+        assertEquals(key.hashCode(), reordered.hashCode());
+        assertNotEquals(key, keyGenerator.generate(rates, method, "EUR", Set.of("INR", "USD")));
+    }
+
+    @Test
+    void generateDistinguishesMethodsAndParams() throws NoSuchMethodException {
+        //GIVEN
+        Method rate = Rates.class.getMethod("rate", String.class);
+        Method withTargets = Rates.class.getMethod("withTargets", String.class, Set.class);
+
+        //WHEN
+        Object key = keyGenerator.generate(rates, rate, "EUR");
+
+        //THEN
+        assertEquals(key, keyGenerator.generate(rates, rate, "EUR"));
+        assertNotEquals(key, keyGenerator.generate(rates, rate, "USD"));
+        assertNotEquals(key, keyGenerator.generate(rates, withTargets, "EUR", Set.of()));
+        assertNotEquals(key, "Rates_rate_EUR");
+        assertEquals("Rates_rate_EUR", key.toString());
+    }
+
+    @Test
+    void loadCallsMethodAgain() throws Exception {
+        //GIVEN
+        Method rate = Rates.class.getMethod("rate", String.class);
+        MethodCacheKey key = (MethodCacheKey) keyGenerator.generate(rates, rate, "EUR");
+
+        //WHEN
+        Object value = key.load();
+
+        //THEN
+        assertEquals("EUR", value);
+        assertThrows(IllegalArgumentException.class, () ->
+                ((MethodCacheKey) keyGenerator.generate(rates, rate, "")).load());
+    }
+
+    public static class Rates {
+        public String countries() {
+            return "countries";
+        }
+
+        public String rate(final String base) {
+            if (base.isEmpty()) {
+                throw new IllegalArgumentException("No base");
+            }
+            return base;
+        }
+
+        public String withTargets(final String base, final Set<String> targets) {
+            return base + targets;
+        }
+    }
+}
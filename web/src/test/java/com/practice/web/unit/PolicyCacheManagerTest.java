@@ -0,0 +1,104 @@
+package com.practice.web.unit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.practice.web.cache.CachePolicyProperties;
+import com.practice.web.cache.MeteredStatsCounter;
+import com.practice.web.cache.PolicyCacheManager;
+import com.practice.web.cache.StaleWhileRevalidateCache;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicyCacheManagerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PolicyCacheManager cacheManager;
+
+    @BeforeEach
+    void setup() {
+        CachePolicyProperties.Policy countries = new CachePolicyProperties.Policy();
+        countries.setMaximumSize(16);
+        countries.setExpireAfterWrite(Duration.ofHours(6));
+        countries.setRefreshAfterWrite(Duration.ofHours(1));
+
+        CachePolicyProperties.Policy employees = new CachePolicyProperties.Policy();
+        employees.setMaximumSize(2);
+        employees.setExpireAfterWrite(Duration.ofSeconds(30));
+
+        CachePolicyProperties properties = new CachePolicyProperties();
+        properties.setPolicies(Map.of("CurrencyConverterCache", countries,
+                "employeeCache", employees));
+
+        cacheManager = new PolicyCacheManager(properties, Runnable::run, meterRegistry);
+        cacheManager.afterPropertiesSet();
+    }
+
+    @Test
+    void configuredCaches() {
+        //GIVEN
+        //WHEN
+        //THEN
+        assertTrue(cacheManager.getCacheNames().containsAll(
+                Set.of("CurrencyConverterCache", "employeeCache")));
+        assertTrue(cacheManager.getCache("CurrencyConverterCache") instanceof StaleWhileRevalidateCache);
+        assertTrue(cacheManager.getCache("employeeCache") instanceof CaffeineCache);
+    }
+
+    @Test
+    void boundedInSize() {
+        //GIVEN
+        CaffeineCache employeeCache = (CaffeineCache) Objects.requireNonNull(
+                cacheManager.getCache("employeeCache"));
+
+        //WHEN
+        for (int id = 0; id < 10; id++) {
+            employeeCache.put(id, "employee" + id);
+        }
+        Cache<Object, Object> nativeCache = employeeCache.getNativeCache();
+        nativeCache.cleanUp();
+
+        //THEN
+        assertTrue(nativeCache.estimatedSize() <= 2);
+    }
+
+    @Test
+    void recordLoadLatency() {
+        //GIVEN
+        CaffeineCache employeeCache = (CaffeineCache) Objects.requireNonNull(
+                cacheManager.getCache("employeeCache"));
+
+        //WHEN
+        employeeCache.get(1L, () -> "employee1");
+        employeeCache.get(1L, () -> "employee1");
+        employeeCache.get(2L);
+
+        //THEN
+        Timer loads = meterRegistry.get(MeteredStatsCounter.LOAD_LATENCY)
+                .tag("cache", "employeeCache").tag("result", "success").timer();
+        assertEquals(1, loads.count());
+        assertEquals(1, employeeCache.getNativeCache().stats().hitCount());
+        assertEquals(2, employeeCache.getNativeCache().stats().missCount());
+    }
+
+    @Test
+    void missingCacheUsesDefaults() {
+        //GIVEN
+        //WHEN
+        CaffeineCache otherCache = (CaffeineCache) cacheManager.getCache("otherCache");
+
+        //THEN
+        assertNotNull(otherCache);
+        assertEquals(500L, otherCache.getNativeCache().policy().eviction()
+                .orElseThrow().getMaximum());
+    }
+}
@@ -0,0 +1,238 @@
+package com.practice.web.unit;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.practice.web.cache.CachePolicyProperties;
+import com.practice.web.cache.StaleWhileRevalidateCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StaleWhileRevalidateCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final List<Runnable> reloads = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicBoolean upstreamDown = new AtomicBoolean();
+
+    private StaleWhileRevalidateCache cache;
+
+    @BeforeEach
+    void setup() {
+        CachePolicyProperties.Policy policy = new CachePolicyProperties.Policy();
+        policy.setRefreshAfterWrite(Duration.ofMinutes(10));
+        policy.setExpireAfterWrite(Duration.ofHours(1));
+        policy.setMaximumSize(100);
+        cache = new StaleWhileRevalidateCache("CurrencyConverterCache", policy, key -> {
+            if (upstreamDown.get()) {
+                throw new IllegalStateException("upstream down");
+            }
+            return load();
+        }, reloads::add, clock, new ConcurrentStatsCounter());
+    }
+
+    private String load() {
+        return "value" + loads.incrementAndGet();
+    }
+
+    @Test
+    void getFresh() {
+        //GIVEN
+        cache.get("key", this::load);
+        clock.advance(Duration.ofMinutes(5));
+
+        //WHEN
+        String value = cache.get("key", this::load);
+
+        //THEN
+        assertEquals("value1", value);
+        assertTrue(reloads.isEmpty());
+    }
+
+    @Test
+    void getStaleReloadsOnceInBackground() {
+        //GIVEN
+        cache.get("key", this::load);
+        clock.advance(Duration.ofMinutes(11));
+
+        //WHEN
+        String first = cache.get("key", this::load);
+        String second = cache.get("key", this::load);
+
+        //THEN
+        assertEquals("value1", first);
+        assertEquals("value1", second);
+        assertEquals(1, reloads.size());
+
+        reloads.get(0).run();
+        assertEquals("value2", cache.get("key", this::load));
+    }
+
+    @Test
+    void getExpiredLoadsInCaller() {
+        //GIVEN
+        cache.get("key", this::load);
+        clock.advance(Duration.ofHours(2));
+
+        //WHEN
+        Cache.ValueWrapper expired = cache.get("key");
+        String value = cache.get("key", this::load);
+
+        //THEN
+        assertNull(expired);
+        assertEquals("value2", value);
+        assertTrue(reloads.isEmpty());
+    }
+
+    @Test
+    void failedReloadKeepsStaleValue() {
+        //GIVEN
+        cache.get("key", this::load);
+        clock.advance(Duration.ofMinutes(11));
+
+        //WHEN
+        upstreamDown.set(true);
+        cache.get("key", this::load);
+        reloads.get(0).run();
+        upstreamDown.set(false);
+
+        //THEN
+        assertEquals("value1", cache.get("key", this::load));
+        assertEquals(2, reloads.size());
+    }
+
+    @Test
+    void reloadUsesCacheLoaderNotCallerLoader() {
+        //GIVEN
+        cache.get("key", this::load);
+        clock.advance(Duration.ofMinutes(11));
+        cache.get("key", () -> "from the caller");
+
+        //WHEN
+        reloads.get(0).run();
+
+        //THEN
+        assertEquals("value2", cache.get("key", this::load));
+    }
+
+    @Test
+    void slowLoadBlocksNeitherOtherKeysNorRepeatsOnSameKey() throws Exception {
+        //GIVEN
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() ->
+                cache.get("slow", () -> {
+                    loading.countDown();
+                    release.await();
+                    return load();
+                }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> joined = CompletableFuture.supplyAsync(() ->
+                cache.get("slow", this::load));
+
+        //WHEN
+        String other = cache.get("other", this::load);
+        release.countDown();
+
+        //THEN
+        assertEquals("value1", other);
+        assertEquals("value2", slow.get(5, TimeUnit.SECONDS));
+        assertEquals("value2", joined.get(5, TimeUnit.SECONDS));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictExpired() {
+        //GIVEN
+        cache.get("key", this::load);
+        cache.get("other", this::load);
+        clock.advance(Duration.ofMinutes(30));
+        cache.put("other", "value");
+        clock.advance(Duration.ofMinutes(40));
+
+        //WHEN
+        int evicted = cache.evictExpired();
+
+        //THEN
+        assertEquals(1, evicted);
+        assertEquals(1, cache.size());
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    void refreshAheadReloadsReadEntriesOnly() {
+        //GIVEN
+        cache.get("hot", this::load);
+        cache.get("hot", this::load);
+        cache.get("cold", this::load);
+        clock.advance(Duration.ofMinutes(11));
+
+        //WHEN
+        int refreshed = cache.refreshAhead();
+
+        //THEN
+        assertEquals(1, refreshed);
+        assertEquals(1, reloads.size());
+        reloads.get(0).run();
+        assertEquals("value3", cache.get("hot", this::load));
+        assertEquals(0, cache.refreshAhead());
+    }
+
+    @Test
+    void recordStats() {
+        //GIVEN
+        cache.get("key", this::load);
+        cache.get("key", this::load);
+        cache.get("other");
+        clock.advance(Duration.ofMinutes(11));
+        cache.get("key", this::load);
+
+        //WHEN
+        reloads.get(0).run();
+        CacheStats stats = cache.getNativeCache().stats();
+
+        //THEN
+        assertEquals(2, stats.hitCount());
+        assertEquals(2, stats.missCount());
+        assertEquals(2, stats.loadSuccessCount());
+        assertEquals(0, stats.loadFailureCount());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2020-01-13T10:00:00Z");
+
+        void advance(final Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.practice.web.unit;
+
+import com.practice.web.config.VirtualThreads;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsTest {
+
+    private static final int VIRTUAL_THREADS_JDK = 21;
+
+    @Test
+    void isSupported() {
+        //GIVEN
+        //WHEN
+        boolean supported = VirtualThreads.isSupported();
+
+        //THEN
+        assertEquals(Runtime.version().feature() >= VIRTUAL_THREADS_JDK, supported);
+    }
+
+    @Test
+    void threadFactoryFailsWithoutVirtualThreads() {
+        //GIVEN
+        assumeFalse(VirtualThreads.isSupported());
+
+        //WHEN
+        //THEN
+        assertThrows(IllegalStateException.class, () -> VirtualThreads.threadFactory("test-"));
+        assertThrows(IllegalStateException.class, () -> VirtualThreads.executor("test-"));
+    }
+
+    @Test
+    void executorRunsOnNamedVirtualThreads() throws Exception {
+        //GIVEN
+        assumeTrue(VirtualThreads.isSupported());
+        ExecutorService executor = VirtualThreads.executor("test-");
+
+        //WHEN
+        String name = CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), executor).get();
+        Object virtual = CompletableFuture.supplyAsync(() -> {
+            try {
+                return Thread.class.getMethod("isVirtual").invoke(Thread.currentThread());
+            } catch (ReflectiveOperationException e) {
+                return e;
+            }
+        }, executor).get();
+        executor.shutdown();
+
+        //THEN
+        assertTrue(name.startsWith("test-"));
+        assertEquals(Boolean.TRUE, virtual);
+    }
+}
@@ -1,3 +1,4 @@
+delete from alert_delivery;
 delete from rates_register_target;
 delete from rates_register;
 
@@ -1,3 +1,4 @@
+delete from alert_delivery;
 insert into rates_register(registration_id, employee_id, base) values(1, 1, 'HUF');
 insert into rates_register(registration_id, employee_id, base) values(2, 2, 'HUF');
 